@@ -0,0 +1,56 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioRequest;
+import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
+import com.dAdK.dubAI.services.audioanalysisservice.AudioAnalysisServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the Gemini analysis request for an upload, against a stubbed Gemini: the Base64 data URI the
+ * speech-to-text endpoint used to build, and the streamed request that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AudioAnalysisRequestBenchmark {
+
+    @Param({"1", "30"})
+    int seconds;
+
+    private byte[] audio;
+    private AudioAnalysisServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        audio = ProviderStubs.wav(seconds);
+        service = new AudioAnalysisServiceImpl(
+                ProviderStubs.geminiAnalysisRestTemplate(), new ObjectMapper(), ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(service, "apiKey", "benchmark");
+        ReflectionTestUtils.setField(service, "apiUrl", "http://gemini.stub/generate");
+    }
+
+    @Benchmark
+    public String buildDataUri() {
+        return "data:audio/wav;base64," + Base64.getEncoder().encodeToString(audio);
+    }
+
+    @Benchmark
+    public AnalyzeAudioResponse analyzeDataUri() {
+        return service.analyzeAudio(new AnalyzeAudioRequest(buildDataUri()));
+    }
+
+    @Benchmark
+    public AnalyzeAudioResponse analyzeStreamed() {
+        return service.analyzeAudio(new ByteArrayInputStream(audio), "audio/wav");
+    }
+}
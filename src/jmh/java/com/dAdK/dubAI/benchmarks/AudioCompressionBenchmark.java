@@ -0,0 +1,85 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.dto.ApiResponse;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressedAudio;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.services.tts.AudioCompressionService;
+import com.dAdK.dubAI.services.tts.AudioCompressionService.CompressionQuality;
+import com.dAdK.dubAI.services.tts.SynthesisMetrics;
+import com.dAdK.dubAI.services.tts.encoding.StreamingAudioEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opus and MP3 encodes of synthesized speech, through ffmpeg pipes and the JAVE temp-file encoder, and the
+ * whole generate-and-compress path with a stubbed TTS provider. compressTo* pipe the WAV's raw PCM;
+ * opusFromWavContainer pipes the whole WAV for ffmpeg to demux, as the service did before. Needs ffmpeg on the PATH (or
+ * -Daudio.encoder.ffmpeg-path) for the pipe encoder; without it compressTo* fall back to JAVE. The JAVE
+ * variants need the platform's jave-nativebin profile active alongside jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioCompressionBenchmark {
+
+    @Param({"5", "60"})
+    int seconds;
+
+    private byte[] wav;
+    private StreamingAudioEncoder encoder;
+    private AudioCompressionService compressionService;
+    private TtsRequest request;
+
+    @Setup
+    public void setUp() {
+        wav = ProviderStubs.wav(seconds);
+        encoder = new StreamingAudioEncoder(true, System.getProperty("audio.encoder.ffmpeg-path", ""), 8, 60, false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        compressionService = new AudioCompressionService(new ProviderStubs.StubTextToSpeechService(wav), encoder,
+                registry, new SynthesisMetrics(registry, ObservationRegistry.NOOP));
+        request = new TtsRequest("Benchmark speech", VoiceType.KORE, "en", "", "", "", false, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Benchmark
+    public byte[] opus() throws IOException {
+        return compressionService.compressToOpus(wav, "wav", CompressionQuality.VOICE_HIGH);
+    }
+
+    @Benchmark
+    public byte[] opusFromWavContainer() throws IOException {
+        return encoder.encodeToOpus(wav, "wav", CompressionQuality.VOICE_HIGH.getBitrate());
+    }
+
+    @Benchmark
+    public byte[] opusWithJave() throws IOException {
+        return compressionService.compressToOpusWithJave(wav, "wav", CompressionQuality.VOICE_HIGH);
+    }
+
+    @Benchmark
+    public byte[] mp3() throws IOException {
+        return compressionService.compressToMP3(wav, "wav", 128_000);
+    }
+
+    @Benchmark
+    public byte[] mp3WithJave() throws IOException {
+        return compressionService.compressToMP3WithJave(wav, "wav", 128_000);
+    }
+
+    @Benchmark
+    public ApiResponse<CompressedAudio> generateCompressedSpeech() {
+        return compressionService.generateCompressedSpeech(request, CompressionQuality.VOICE_HIGH);
+    }
+}
@@ -0,0 +1,31 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressionMetadata;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata computed and turned into response headers on every compressed audio response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionMetadataBenchmark {
+
+    private final CompressionMetadata metadata = CompressionMetadata.calculate(480_044, 60_311, "VOICE_HIGH", 96_000, "opus");
+
+    @Benchmark
+    public CompressionMetadata calculate() {
+        return CompressionMetadata.calculate(480_044, 60_311, "VOICE_HIGH", 96_000, "opus");
+    }
+
+    @Benchmark
+    public Map<String, String> toHeaderMap() {
+        return metadata.toHeaderMap();
+    }
+}
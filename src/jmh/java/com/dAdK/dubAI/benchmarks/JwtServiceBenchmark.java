@@ -0,0 +1,71 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.models.User;
+import com.dAdK.dubAI.util.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by JwtAuthFilter on every authenticated request: a cache hit, a full signature
+ * parse and validation (cache disabled), and as a baseline the verification JwtService did before it kept a
+ * prebuilt key and cache (key and parser rebuilt per parse, token parsed once for the subject and again for the expiry).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final JwtService cached = new JwtService(SECRET, 3600, 10_000);
+    private final JwtService uncached = new JwtService(SECRET, 3600, 0);
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = cached.generateToken(User.builder().id("user-1").username("alice").build());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken parseAndValidate() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken legacyParseTwice() {
+        Claims subject = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        Date expiration = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getExpiration();
+        if (expiration.before(new Date())) {
+            return null;
+        }
+        return new JwtService.VerifiedToken(subject.getSubject(), subject.get("username", String.class),
+                expiration.getTime());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(User.builder().id("user-1").username("alice").build());
+    }
+}
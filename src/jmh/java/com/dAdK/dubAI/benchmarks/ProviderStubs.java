@@ -0,0 +1,82 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.services.tts.TextToSpeechService;
+import com.dAdK.dubAI.util.WavConverter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Offline stand-ins for the AI providers, so service-level paths can be measured without network calls.
+ */
+final class ProviderStubs {
+
+    // Gemini TTS output: 24 kHz, 16-bit, mono
+    static final int BYTES_PER_SECOND = 48_000;
+
+    private static final String GEMINI_ANALYSIS_RESPONSE = """
+            {"candidates":[{"content":{"parts":[{"text":"```json\\n{\\"transcription\\":\\"hello\\",\\"sentiment\\":\\"Neutral\\",\\"tone\\":\\"Calm\\",\\"pitch\\":\\"Medium\\",\\"emotion\\":\\"Calm\\",\\"voiceType\\":\\"CHARON\\"}\\n```"}]}}]}""";
+
+    private ProviderStubs() {
+    }
+
+    /**
+     * A 440 Hz tone as raw Gemini-style PCM.
+     */
+    static byte[] pcm(int bytes) {
+        byte[] pcm = new byte[bytes & ~1];
+        for (int i = 0; i < pcm.length / 2; i++) {
+            short sample = (short) (Math.sin(2 * Math.PI * 440 * i / 24_000.0) * 8_000);
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    static byte[] wav(double seconds) {
+        return WavConverter.convertPcmToWav(pcm((int) (seconds * BYTES_PER_SECOND)));
+    }
+
+    /**
+     * A RestTemplate answered in-process with a canned Gemini audio analysis. Request bodies are written
+     * out in full, as they would be to the socket.
+     */
+    static RestTemplate geminiAnalysisRestTemplate() {
+        return new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(
+                    GEMINI_ANALYSIS_RESPONSE.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        });
+    }
+
+    /**
+     * Returns the same synthesized speech for every request, translating nothing.
+     */
+    static final class StubTextToSpeechService implements TextToSpeechService {
+
+        private final byte[] speech;
+
+        StubTextToSpeechService(byte[] speech) {
+            this.speech = speech;
+        }
+
+        @Override
+        public byte[] generateSpeech(TtsRequest request) {
+            return speech;
+        }
+
+        @Override
+        public String translateText(TranslateRequest translateRequest) {
+            return translateRequest.text();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.services.RateLimiting.LocalRateLimitBackend;
+import com.dAdK.dubAI.services.RateLimiting.RateLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimitService.isRateLimited on the local backend with eight threads: every thread hitting one key,
+ * threads spread over many clients, and a few hot clients mixed with one-off scanner addresses. The last
+ * workload also runs against the per-key deques the service used before the counter table, as a baseline.
+ * The limit is never reached, so each call records a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final int HOT_CLIENTS = 32;
+
+    private RateLimitService rateLimitService;
+    private LegacyRateLimitService legacy;
+    private String[] clientIps;
+    private final AtomicLong scanners = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        rateLimitService = new RateLimitService(new LocalRateLimitBackend(65_536, new SimpleMeterRegistry()), Optional.empty(), 5000);
+        legacy = new LegacyRateLimitService();
+        clientIps = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientIps[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public boolean sharedKey() {
+        return rateLimitService.isRateLimited("10.0.0.1", "register", Integer.MAX_VALUE, 60);
+    }
+
+    @Benchmark
+    public boolean distinctKeys() {
+        String ip = clientIps[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return rateLimitService.isRateLimited(ip, "register", Integer.MAX_VALUE, 60);
+    }
+
+    @Benchmark
+    public boolean hotKeysWithScanners() {
+        return rateLimitService.isRateLimited(hotOrScanner(), "register", Integer.MAX_VALUE, 1800);
+    }
+
+    @Benchmark
+    public boolean legacyHotKeysWithScanners() {
+        return legacy.isRateLimited(hotOrScanner(), "register", Integer.MAX_VALUE, 1800);
+    }
+
+    /**
+     * One call in sixteen comes from an address never seen again.
+     */
+    private String hotOrScanner() {
+        int pick = ThreadLocalRandom.current().nextInt(16 * HOT_CLIENTS);
+        return pick < HOT_CLIENTS ? "scan-" + scanners.incrementAndGet() : clientIps[pick % HOT_CLIENTS];
+    }
+
+    /**
+     * The previous implementation: a boxed-timestamp deque per ip:action, synchronized, never evicted.
+     */
+    private static final class LegacyRateLimitService {
+
+        private final ConcurrentHashMap<String, Deque<Long>> attempts = new ConcurrentHashMap<>();
+
+        boolean isRateLimited(String ipAddress, String action, int maxAttempts, long windowSeconds) {
+            String key = ipAddress + ":" + action;
+            long now = Instant.now().getEpochSecond();
+            attempts.putIfAbsent(key, new ConcurrentLinkedDeque<>());
+            Deque<Long> timestamps = attempts.get(key);
+            synchronized (timestamps) {
+                while (!timestamps.isEmpty() && now - timestamps.peekFirst() > windowSeconds) {
+                    timestamps.pollFirst();
+                }
+                if (timestamps.size() >= maxAttempts) {
+                    return true;
+                }
+                timestamps.addLast(now);
+                return false;
+            }
+        }
+    }
+}
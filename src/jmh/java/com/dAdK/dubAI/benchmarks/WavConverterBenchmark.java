@@ -0,0 +1,46 @@
+package com.dAdK.dubAI.benchmarks;
+
+import com.dAdK.dubAI.util.PcmFormat;
+import com.dAdK.dubAI.util.WavBody;
+import com.dAdK.dubAI.util.WavConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wrapping Gemini PCM in a WAV header, from a short phrase to a long-form read: flattened to a byte[], and
+ * written out as a {@link WavBody} without the copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WavConverterBenchmark {
+
+    // 0.1 s, 10 s and 100 s of 24 kHz 16-bit mono
+    @Param({"4800", "480000", "4800000"})
+    int pcmBytes;
+
+    private byte[] pcm;
+
+    @Setup
+    public void setUp() {
+        pcm = ProviderStubs.pcm(pcmBytes);
+    }
+
+    @Benchmark
+    public byte[] convertPcmToWav() {
+        return WavConverter.convertPcmToWav(pcm);
+    }
+
+    @Benchmark
+    public WavBody writeWavBody() throws IOException {
+        WavBody body = WavBody.of(pcm, PcmFormat.GEMINI);
+        body.writeTo(OutputStream.nullOutputStream());
+        return body;
+    }
+}
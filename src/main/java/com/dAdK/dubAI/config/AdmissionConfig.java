@@ -0,0 +1,48 @@
+package com.dAdK.dubAI.config;
+
+import com.dAdK.dubAI.services.RateLimiting.AdmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Charges every POST to the provider-backed endpoints against AdmissionService before the controller runs.
+ * Runs after the security filters, so authenticated requests are charged to their user. The client IP is the
+ * remote address, which server.forward-headers-strategy resolves from X-Forwarded-For only for trusted proxies.
+ * Batches are charged by TextToSpeechController once their variants are known.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionService admissionService;
+
+    public AdmissionConfig(AdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        if (HttpMethod.POST.matches(request.getMethod())) {
+                            admissionService.admit(AdmissionService.currentUserId(), request.getRemoteAddr(),
+                                    isMultipart(request), request.getContentLengthLong());
+                        }
+                        return true;
+                    }
+                })
+                .addPathPatterns("/api/v1/tts/**", "/api/v1/audio/**", "/api/v1/jobs/**", "/v3/ai/**")
+                .excludePathPatterns("/api/v1/tts/generate/speech/batch");
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dAdK.dubAI.config;
+
+import com.dAdK.dubAI.services.tts.SynthesisMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes byte[] bodies like the default converter, timing audio responses as the response-write stage of
+ * {@link SynthesisMetrics}. Format and quality come from the X-Format and X-Compression-Quality headers set by
+ * the controllers. Registered ahead of the default converter; without SynthesisMetrics it writes untimed.
+ */
+@Component
+public class AudioResponseMetricsConverter extends ByteArrayHttpMessageConverter {
+
+    private final SynthesisMetrics synthesisMetrics;
+
+    public AudioResponseMetricsConverter(ObjectProvider<SynthesisMetrics> synthesisMetrics) {
+        this.synthesisMetrics = synthesisMetrics.getIfAvailable();
+    }
+
+    @Override
+    public void write(byte[] bytes, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        MediaType type = contentType != null ? contentType : headers.getContentType();
+        if (synthesisMetrics == null || type == null || !"audio".equals(type.getType())) {
+            super.write(bytes, contentType, outputMessage);
+            return;
+        }
+
+        String format = headers.getFirst("X-Format");
+        SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.RESPONSE_WRITE)
+                .format(format != null ? format : type.getSubtype())
+                .quality(headers.getFirst("X-Compression-Quality"));
+        synthesisMetrics.time(stage, () -> {
+            super.write(bytes, contentType, outputMessage);
+            return null;
+        });
+        synthesisMetrics.payload(stage, bytes.length);
+    }
+}
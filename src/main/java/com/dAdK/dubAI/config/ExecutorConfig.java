@@ -0,0 +1,45 @@
+package com.dAdK.dubAI.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Worker pool for work fanned out from a single request (TTS segments, parallel encodes, long-form analysis chunks).
+     * With spring.threads.virtual.enabled each task gets its own virtual thread, and max-size caps
+     * how many run at once instead of how many threads exist.
+     * Tasks run in the trace context of the thread that submitted them.
+     */
+    @Bean(name = "ttsTaskExecutor")
+    public AsyncTaskExecutor ttsTaskExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${tts.executor.core-size:8}") int coreSize,
+            @Value("${tts.executor.max-size:32}") int maxSize,
+            @Value("${tts.executor.queue-capacity:500}") int queueCapacity) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("tts-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxSize);
+            executor.setTaskTerminationTimeout(30_000);
+            executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("tts-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+}
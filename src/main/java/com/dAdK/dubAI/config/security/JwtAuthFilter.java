@@ -9,6 +9,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,6 +28,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Build the principal from the token's claims alone; a deleted user keeps access until the token expires
+    @Value("${app.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) {
 
@@ -38,11 +46,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             final String token = authHeader.substring(7);
-            final String userId = jwtService.extractUserId(token);
+            // Invalid or expired tokens leave the request unauthenticated
+            final JwtService.VerifiedToken verified = jwtService.verify(token);
 
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userRepository.findById(userId).orElse(null);
-                if (user != null && jwtService.isTokenValid(token, user)) {
+            if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                User user = resolvePrincipal(verified);
+                if (user != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -57,6 +66,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    private User resolvePrincipal(JwtService.VerifiedToken verified) {
+        if (statelessPrincipal) {
+            return User.builder().id(verified.userId()).username(verified.username()).build();
+        }
+
+        User user = principalCache.get(verified.userId());
+        if (user == null) {
+            user = userRepository.findById(verified.userId()).orElse(null);
+            principalCache.put(user);
+        }
+        return user;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         return "OPTIONS".equalsIgnoreCase(request.getMethod());
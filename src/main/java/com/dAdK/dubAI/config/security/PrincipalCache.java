@@ -0,0 +1,86 @@
+package com.dAdK.dubAI.config.security;
+
+import com.dAdK.dubAI.models.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the users behind bearer tokens, so JwtAuthFilter does not read MongoDB on every request.
+ * Entries expire after a few seconds and are dropped as soon as the user is saved, updated or deleted
+ * through UserService; the TTL bounds staleness from writes that bypass it.
+ */
+@Component
+public class PrincipalCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private record Entry(User user, long expiresAt) {
+    }
+
+    public PrincipalCache(
+            @Value("${app.auth.principal-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.auth.principal-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.enabled = ttlSeconds > 0 && maxEntries > 0;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+
+        this.hits = Counter.builder("auth.principal.cache.hits")
+                .description("Bearer requests authenticated without a user lookup").register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.misses")
+                .description("Bearer requests that loaded the user from MongoDB").register(meterRegistry);
+        Gauge.builder("auth.principal.cache.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the cached user, or null if absent or expired
+     */
+    public User get(String userId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.user();
+        }
+        if (entry != null) {
+            entries.remove(userId, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(User user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        if (entries.size() < maxEntries) {
+            entries.put(user.getId(), new Entry(user, now + ttlMillis));
+        }
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+}
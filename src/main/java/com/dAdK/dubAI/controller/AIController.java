@@ -1,26 +1,28 @@
 package com.dAdK.dubAI.controller;
 
 import com.dAdK.dubAI.dto.TranslationRequestDto;
+import com.dAdK.dubAI.services.provider.ProviderHttpException;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.theokanning.openai.OpenAiService;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.entity.mime.MultipartEntityBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -29,17 +31,33 @@ import java.util.HashMap;
 @RequestMapping("/v3/ai")
 public class AIController {
 
+    private static final String GEMINI_MODEL = "gemini-2.5-flash";
+    private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com";
+    private static final String OPENAI_BASE_URL = "https://api.openai.com";
+
     @Value("${openai.api.key}")
     private String openAiApiKey;
 
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
+    // Empty for the public APIs; the load-test harness points these at local stubs
+    @Value("${gemini.base-url:}")
+    private String geminiBaseUrl;
+
+    @Value("${openai.base-url:}")
+    private String openAiBaseUrl;
+
     private final ObjectMapper mapper;
     private final OpenAiService openAiService;
+    private final CloseableHttpClient httpClient;
+    private final ProviderResilience providerResilience;
 
-    public AIController(OpenAiService openAiService) {
+    public AIController(OpenAiService openAiService, CloseableHttpClient httpClient,
+                        ProviderResilience providerResilience) {
         this.openAiService = openAiService;
+        this.httpClient = httpClient;
+        this.providerResilience = providerResilience;
         this.mapper = new ObjectMapper();
     }
 
@@ -110,23 +128,23 @@ public class AIController {
 
     // ========== 🤖 OPENAI IMPLEMENTATION ==========
     private String transcribeWithOpenAI(File file) throws Exception {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost("https://api.openai.com/v1/audio/transcriptions");
-            post.setHeader("Authorization", "Bearer " + openAiApiKey);
+        HttpPost post = new HttpPost(baseUrl(openAiBaseUrl, OPENAI_BASE_URL) + "/v1/audio/transcriptions");
+        post.setHeader("Authorization", "Bearer " + openAiApiKey);
 
-            HttpEntity entity = MultipartEntityBuilder.create()
-                    .addTextBody("model", "whisper-1")
-                    .addBinaryBody("file", file, ContentType.DEFAULT_BINARY, file.getName())
-                    .build();
+        HttpEntity entity = MultipartEntityBuilder.create()
+                .addTextBody("model", "whisper-1")
+                .addBinaryBody("file", file, ContentType.DEFAULT_BINARY, file.getName())
+                .build();
 
-            post.setEntity(entity);
+        post.setEntity(entity);
 
-            try (CloseableHttpResponse response = client.execute(post)) {
-                String result = EntityUtils.toString(response.getEntity());
-                JsonNode json = mapper.readTree(result);
-                return json.path("text").asText("Transcription unavailable");
-            }
-        }
+        // The response handler consumes the entity, which hands the connection back to the pool
+        return providerResilience.callChecked("openai", "whisper-1", () -> httpClient.execute(post, response -> {
+            checkStatus(response);
+            String result = EntityUtils.toString(response.getEntity());
+            JsonNode json = mapper.readTree(result);
+            return json.path("text").asText("Transcription unavailable");
+        }));
     }
 
     private String translateWithOpenAI(String text, String targetLanguage) {
@@ -138,7 +156,7 @@ public class AIController {
                 .messages(List.of(systemMessage, userMessage))
                 .build();
 
-        return openAiService.createChatCompletion(request)
+        return providerResilience.call("openai", "gpt-3.5-turbo", () -> openAiService.createChatCompletion(request))
                 .getChoices().get(0).getMessage().getContent();
     }
 
@@ -151,88 +169,99 @@ public class AIController {
                 .messages(List.of(systemMessage, userMessage))
                 .build();
 
-        return openAiService.createChatCompletion(request)
+        return providerResilience.call("openai", "gpt-3.5-turbo", () -> openAiService.createChatCompletion(request))
                 .getChoices().get(0).getMessage().getContent();
     }
 
     private String transcribeWithGemini(File file) throws Exception {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost(
-                    "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:transcribe?key=" + geminiApiKey);
-            HttpEntity entity = MultipartEntityBuilder.create()
-                    .addBinaryBody("file", file, ContentType.DEFAULT_BINARY, file.getName())
-                    .build();
-            post.setEntity(entity);
-
-            try (CloseableHttpResponse response = client.execute(post)) {
-                String result = EntityUtils.toString(response.getEntity());
-                JsonNode json = mapper.readTree(result);
-                return json.path("text").asText("Transcription unavailable");
-            }
-        }
+        HttpPost post = new HttpPost(
+                baseUrl(geminiBaseUrl, GEMINI_BASE_URL) + "/v1beta/models/" + GEMINI_MODEL + ":transcribe?key=" + geminiApiKey);
+        HttpEntity entity = MultipartEntityBuilder.create()
+                .addBinaryBody("file", file, ContentType.DEFAULT_BINARY, file.getName())
+                .build();
+        post.setEntity(entity);
+
+        return providerResilience.callChecked("gemini", GEMINI_MODEL, () -> httpClient.execute(post, response -> {
+            checkStatus(response);
+            String result = EntityUtils.toString(response.getEntity());
+            JsonNode json = mapper.readTree(result);
+            return json.path("text").asText("Transcription unavailable");
+        }));
     }
 
     private String translateWithGemini(String text, String targetLanguage) throws Exception {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost(
-                    "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + geminiApiKey);
-            post.setHeader("Content-Type", "application/json");
-
-            String json = String.format("""
-                    {
-                      "contents": [{
-                        "parts": [{"text": "Translate this text to %s: %s"}]
-                      }]
-                    }
-                    """, targetLanguage, text);
-
-            post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
-            try (CloseableHttpResponse response = client.execute(post)) {
-                String result = EntityUtils.toString(response.getEntity());
-                JsonNode root = mapper.readTree(result);
-
-                JsonNode candidates = root.path("candidates");
-                if (candidates.isArray() && candidates.size() > 0) {
-                    JsonNode parts = candidates.get(0).path("content").path("parts");
-                    if (parts.isArray() && parts.size() > 0) {
-                        return parts.get(0).path("text").asText();
-                    }
+        HttpPost post = new HttpPost(
+                baseUrl(geminiBaseUrl, GEMINI_BASE_URL) + "/v1beta/models/" + GEMINI_MODEL + ":generateContent?key=" + geminiApiKey);
+        post.setHeader("Content-Type", "application/json");
+
+        String json = String.format("""
+                {
+                  "contents": [{
+                    "parts": [{"text": "Translate this text to %s: %s"}]
+                  }]
+                }
+                """, targetLanguage, text);
+
+        post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        return providerResilience.callChecked("gemini", GEMINI_MODEL, () -> httpClient.execute(post, response -> {
+            checkStatus(response);
+            String result = EntityUtils.toString(response.getEntity());
+            JsonNode root = mapper.readTree(result);
+
+            JsonNode candidates = root.path("candidates");
+            if (candidates.isArray() && candidates.size() > 0) {
+                JsonNode parts = candidates.get(0).path("content").path("parts");
+                if (parts.isArray() && parts.size() > 0) {
+                    return parts.get(0).path("text").asText();
                 }
-
-                return "Translation unavailable: " + result;
             }
-        }
+
+            return "Translation unavailable: " + result;
+        }));
     }
 
     private String analyzeWithGemini(String prompt) throws Exception {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost(
-                    "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + geminiApiKey);
-            post.setHeader("Content-Type", "application/json");
-
-            String json = String.format("""
-                    {
-                      "contents": [{
-                        "parts": [{"text": "%s"}]
-                      }]
-                    }
-                    """, prompt.replace("\"", "\\\""));
-
-            post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
-            try (CloseableHttpResponse response = client.execute(post)) {
-                String result = EntityUtils.toString(response.getEntity());
-                JsonNode root = mapper.readTree(result);
-
-                JsonNode candidates = root.path("candidates");
-                if (candidates.isArray() && candidates.size() > 0) {
-                    JsonNode parts = candidates.get(0).path("content").path("parts");
-                    if (parts.isArray() && parts.size() > 0) {
-                        return parts.get(0).path("text").asText();
-                    }
+        HttpPost post = new HttpPost(
+                baseUrl(geminiBaseUrl, GEMINI_BASE_URL) + "/v1beta/models/" + GEMINI_MODEL + ":generateContent?key=" + geminiApiKey);
+        post.setHeader("Content-Type", "application/json");
+
+        String json = String.format("""
+                {
+                  "contents": [{
+                    "parts": [{"text": "%s"}]
+                  }]
+                }
+                """, prompt.replace("\"", "\\\""));
+
+        post.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        return providerResilience.callChecked("gemini", GEMINI_MODEL, () -> httpClient.execute(post, response -> {
+            checkStatus(response);
+            String result = EntityUtils.toString(response.getEntity());
+            JsonNode root = mapper.readTree(result);
+
+            JsonNode candidates = root.path("candidates");
+            if (candidates.isArray() && candidates.size() > 0) {
+                JsonNode parts = candidates.get(0).path("content").path("parts");
+                if (parts.isArray() && parts.size() > 0) {
+                    return parts.get(0).path("text").asText();
                 }
-
-                return "{\"sentiment\":\"unknown\",\"emotion\":\"unknown\"}";
             }
+
+            return "{\"sentiment\":\"unknown\",\"emotion\":\"unknown\"}";
+        }));
+    }
+
+    private static String baseUrl(String configured, String defaultUrl) {
+        return configured == null || configured.isBlank() ? defaultUrl : configured;
+    }
+
+    /**
+     * Turns throttling and server errors into IOExceptions so the call is retried; the client releases the connection.
+     */
+    private static void checkStatus(ClassicHttpResponse response) throws IOException {
+        int code = response.getCode();
+        if (code == 429 || code >= 500) {
+            throw new ProviderHttpException(code);
         }
     }
-}
\ No newline at end of file
+}
@@ -88,11 +88,10 @@ public class AuthController {
         }
     }
 
+    /**
+     * X-Forwarded-For is applied by server.forward-headers-strategy, and only when it comes from a trusted proxy.
+     */
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
         return request.getRemoteAddr();
     }
 
@@ -0,0 +1,105 @@
+package com.dAdK.dubAI.controller;
+
+import com.dAdK.dubAI.dto.ApiResponse;
+import com.dAdK.dubAI.dto.JobResponse;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.models.User;
+import com.dAdK.dubAI.services.jobs.JobService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Submits TTS and audio analysis as background jobs. A submission returns 202 with the job id;
+ * clients then poll the job, or subscribe to its completion event, and fetch the result.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping("/tts")
+    public ResponseEntity<ApiResponse<JobResponse>> submitTts(@RequestBody TtsRequest request,
+                                                              Authentication authentication) {
+        Job job = jobService.submitTts(request, userId(authentication));
+        return accepted(job);
+    }
+
+    @PostMapping(value = "/analysis", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<JobResponse>> submitAnalysis(
+            @RequestParam("audioFile") MultipartFile file,
+            @RequestParam(defaultValue = "standard") String mode,        // standard | long
+            Authentication authentication) throws IOException {
+        Job job = jobService.submitAnalysis(file, "long".equalsIgnoreCase(mode), userId(authentication));
+        return accepted(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<JobResponse>> getJob(@PathVariable String jobId, Authentication authentication) {
+        Job job = jobService.getJob(jobId, userId(authentication));
+        return ResponseEntity.ok(ApiResponse.success(JobResponse.from(job)));
+    }
+
+    /**
+     * Emits a single "job" event when the job finishes.
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String jobId, Authentication authentication) {
+        return jobService.subscribe(jobService.getJob(jobId, userId(authentication)));
+    }
+
+    /**
+     * Audio for TTS jobs, the analysis as JSON for analysis jobs.
+     */
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getResult(@PathVariable String jobId, Authentication authentication) {
+        Job job = jobService.getJobWithResult(jobId, userId(authentication));
+
+        if (job.getStatus() == JobStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Job failed: " + job.getError()));
+        }
+        if (job.getStatus() != JobStatus.SUCCEEDED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Job is " + job.getStatus() + ", result not ready"));
+        }
+
+        if (job.getType() == JobType.TTS) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.valueOf(job.getResultContentType()));
+            headers.setContentLength(job.getResultAudio().length);
+            headers.setContentDispositionFormData("attachment",
+                    "audio." + ("audio/mpeg".equals(job.getResultContentType()) ? "mp3" : "wav"));
+            return new ResponseEntity<>(job.getResultAudio(), headers, HttpStatus.OK);
+        }
+        return ResponseEntity.ok(ApiResponse.success(job.getAnalysis()));
+    }
+
+    private ResponseEntity<ApiResponse<JobResponse>> accepted(Job job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/v1/jobs/" + job.getId())
+                .body(ApiResponse.success(JobResponse.from(job), "Job " + job.getStatus().name().toLowerCase()));
+    }
+
+    /**
+     * Jobs submitted without a token are anonymous and visible to anyone holding the id.
+     */
+    private static String userId(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
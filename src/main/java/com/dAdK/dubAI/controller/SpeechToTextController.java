@@ -1,18 +1,22 @@
 package com.dAdK.dubAI.controller;
 
 
-import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioRequest;
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
 import com.dAdK.dubAI.services.audioanalysisservice.AudioAnalysisService;
+import com.dAdK.dubAI.services.audioanalysisservice.LongAudioAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -23,8 +27,14 @@ import java.util.List;
 public class SpeechToTextController {
 
     private final AudioAnalysisService audioAnalysisService;
+    private final LongAudioAnalysisService longAudioAnalysisService;
 
-    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
+    // Uploads are streamed to the provider, so this limit no longer bounds heap use
+    @Value("${audio.analysis.max-file-size:5MB}")
+    private DataSize maxFileSize;
+
+    @Value("${audio.analysis.long.max-file-size:200MB}")
+    private DataSize maxLongFileSize;
 
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<AnalyzeAudioResponse> analyzeAudio(
@@ -33,33 +43,55 @@ public class SpeechToTextController {
         log.info("Received audio analysis request for file: {}", file.getOriginalFilename());
 
         // Validate file
-        validateAudioFile(file);
-
-        // Convert file to base64 data URI
-        String audioDataUri = convertToDataUri(file);
-
-        // Create request object
-        AnalyzeAudioRequest request = new AnalyzeAudioRequest(audioDataUri);
+        validateAudioFile(file, maxFileSize);
 
-        // Perform analysis (service layer will throw AudioAnalysisException if it fails)
-        AnalyzeAudioResponse response = audioAnalysisService.analyzeAudio(request);
+        // Stream the upload straight into the outbound request (service layer will throw AudioAnalysisException if it fails)
+        AnalyzeAudioResponse response;
+        try (InputStream audio = file.getInputStream()) {
+            response = audioAnalysisService.analyzeAudio(audio, resolveMimeType(file));
+        }
 
         log.info("Audio analysis completed successfully for file: {}", file.getOriginalFilename());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Long-form analysis for recordings such as podcasts: the audio is split at silences and the chunks are
+     * analyzed in parallel. The response carries a timestamped transcript in {@code segments}.
+     */
+    @PostMapping(value = "/analyze/long", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AnalyzeAudioResponse> analyzeLongAudio(
+            @RequestParam("audioFile") MultipartFile file) throws IOException {
+
+        log.info("Received long-form audio analysis request for file: {}", file.getOriginalFilename());
+
+        validateAudioFile(file, maxLongFileSize);
+
+        // ffmpeg needs a seekable file for mp4/m4a, so the upload is moved to a temp file of our own
+        Path audioFile = Files.createTempFile("dubai-analysis-", ".audio");
+        try {
+            file.transferTo(audioFile);
+            AnalyzeAudioResponse response = longAudioAnalysisService.analyzeLongAudio(audioFile);
+
+            log.info("Long-form audio analysis completed for file: {}", file.getOriginalFilename());
+            return ResponseEntity.ok(response);
+        } finally {
+            Files.deleteIfExists(audioFile);
+        }
+    }
+
     /**
      * Validates the uploaded audio file.
      * Throws IllegalArgumentException for validation failures.
      */
-    private void validateAudioFile(MultipartFile file) {
+    private void validateAudioFile(MultipartFile file, DataSize maxSize) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Please upload an audio file.");
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("Max file size is 5MB.");
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new IllegalArgumentException("Max file size is " + maxSize.toMegabytes() + "MB.");
         }
 
         String contentType = file.getContentType();
@@ -94,28 +126,16 @@ public class SpeechToTextController {
     }
 
     /**
-     * Converts the uploaded file to a base64 data URI.
-     * Throws IOException if file reading fails.
+     * Returns the upload's MIME type, falling back to audio/mpeg if the client did not send one.
      */
-    private String convertToDataUri(MultipartFile file) throws IOException {
-        try {
-            byte[] fileContent = file.getBytes();
-            String base64Encoded = Base64.getEncoder().encodeToString(fileContent);
-            String mimeType = file.getContentType();
-
-            // Fallback MIME type if not detected
-            if (mimeType == null) {
-                mimeType = "audio/mpeg"; // default fallback
-                log.warn("MIME type not detected, using default: {}", mimeType);
-            }
-
-            String dataUri = String.format("data:%s;base64,%s", mimeType, base64Encoded);
-            log.debug("Converted file to data URI (length: {} chars)", dataUri.length());
+    private String resolveMimeType(MultipartFile file) {
+        String mimeType = file.getContentType();
 
-            return dataUri;
-        } catch (IOException e) {
-            log.error("Failed to read audio file: {}", e.getMessage(), e);
-            throw new IOException("Failed to read the audio file. Please try again.", e);
+        // Fallback MIME type if not detected
+        if (mimeType == null) {
+            mimeType = "audio/mpeg"; // default fallback
+            log.warn("MIME type not detected, using default: {}", mimeType);
         }
+        return mimeType;
     }
 }
\ No newline at end of file
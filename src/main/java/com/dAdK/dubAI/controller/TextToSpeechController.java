@@ -2,10 +2,16 @@ package com.dAdK.dubAI.controller;
 
 import com.dAdK.dubAI.dto.ApiResponse;
 import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsBatchRequest;
 import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.dto.TtsVariantResult;
 import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressedAudio;
+import com.dAdK.dubAI.services.RateLimiting.AdmissionService;
 import com.dAdK.dubAI.services.tts.AudioCompressionService;
+import com.dAdK.dubAI.services.tts.SpeechBatchService;
+import com.dAdK.dubAI.services.tts.SpeechStreamingService;
 import com.dAdK.dubAI.services.tts.TextToSpeechService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -13,6 +19,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/tts")
@@ -20,10 +30,18 @@ public class TextToSpeechController {
     private static final Logger logger = LoggerFactory.getLogger(TextToSpeechController.class);
     private final TextToSpeechService textToSpeechService;
     private final AudioCompressionService audioCompressionService;
+    private final SpeechStreamingService speechStreamingService;
+    private final SpeechBatchService speechBatchService;
+    private final AdmissionService admissionService;
 
-    public TextToSpeechController(TextToSpeechService textToSpeechService, AudioCompressionService audioCompressionService) {
+    public TextToSpeechController(TextToSpeechService textToSpeechService, AudioCompressionService audioCompressionService,
+                                  SpeechStreamingService speechStreamingService, SpeechBatchService speechBatchService,
+                                  AdmissionService admissionService) {
         this.textToSpeechService = textToSpeechService;
         this.audioCompressionService = audioCompressionService;
+        this.speechStreamingService = speechStreamingService;
+        this.speechBatchService = speechBatchService;
+        this.admissionService = admissionService;
     }
 
     @PostMapping("/translate")
@@ -36,12 +54,16 @@ public class TextToSpeechController {
     @PostMapping("/generate/speech")
     public ResponseEntity<?> generateSpeech(
             @RequestBody TtsRequest request,
-            @RequestParam(defaultValue = "original") String mode,        // original | compressed
+            @RequestParam(defaultValue = "original") String mode,        // original | compressed | stream
             @RequestParam(defaultValue = "opus") String format,          // opus | mp3
             @RequestParam(required = false) Integer bitrate,             // only for mp3
             @RequestParam(defaultValue = "VOICE_HIGH")
             AudioCompressionService.CompressionQuality quality) {
 
+        if ("stream".equalsIgnoreCase(mode)) {
+            return buildStreamingResponse(request);
+        }
+
         ApiResponse<CompressedAudio> response;
 
         if ("compressed".equalsIgnoreCase(mode)) {
@@ -74,6 +96,25 @@ public class TextToSpeechController {
         return buildAudioResponse(audio, contentType);
     }
 
+    /**
+     * Generates one text in several voice/mode variants. Audio is returned base64-encoded per variant.
+     * Charged here rather than by the admission interceptor, since each variant is a synthesis of its own.
+     */
+    @PostMapping("/generate/speech/batch")
+    public ResponseEntity<ApiResponse<List<TtsVariantResult>>> generateSpeechBatch(@RequestBody TtsBatchRequest request,
+                                                                                   HttpServletRequest httpRequest) {
+        admissionService.admit(AdmissionService.currentUserId(), httpRequest.getRemoteAddr(), false,
+                httpRequest.getContentLengthLong(), request.variants() == null ? 1 : request.variants().size());
+        List<TtsVariantResult> results = speechBatchService.generate(request);
+        long succeeded = results.stream().filter(TtsVariantResult::success).count();
+
+        if (succeeded == 0) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, results, "All variants failed", LocalDateTime.now()));
+        }
+        return ResponseEntity.ok(ApiResponse.success(results, succeeded + " of " + results.size() + " variants generated"));
+    }
 
     /**
      * Health check endpoint
@@ -91,6 +132,19 @@ public class TextToSpeechController {
         }
     }
 
+    /**
+     * Streams segment audio as it is synthesized. No Content-Length is set, so the response uses chunked transfer.
+     */
+    private ResponseEntity<StreamingResponseBody> buildStreamingResponse(TtsRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf(speechStreamingService.contentType(request)));
+        headers.setCacheControl("no-store");
+        headers.setContentDispositionFormData("attachment", "audio." + speechStreamingService.fileExtension(request));
+
+        StreamingResponseBody body = out -> speechStreamingService.streamSpeech(request, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
     /**
      * Helper method to build audio response with proper headers
      */
@@ -0,0 +1,25 @@
+package com.dAdK.dubAI.dto;
+
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.models.Job;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job state as returned to clients. Results are fetched separately from /api/v1/jobs/{id}/result.
+ */
+public record JobResponse(
+        String id,
+        JobType type,
+        JobStatus status,
+        String error,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss") LocalDateTime createdAt,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss") LocalDateTime completedAt) {
+
+    public static JobResponse from(Job job) {
+        return new JobResponse(job.getId(), job.getType(), job.getStatus(), job.getError(),
+                job.getCreatedAt(), job.getCompletedAt());
+    }
+}
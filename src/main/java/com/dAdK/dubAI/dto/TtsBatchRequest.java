@@ -0,0 +1,6 @@
+package com.dAdK.dubAI.dto;
+
+import java.util.List;
+
+public record TtsBatchRequest(String text, String language, String userPrompt, String emotion, String translatedText, Boolean bypassCache, List<TtsVariant> variants) {
+}
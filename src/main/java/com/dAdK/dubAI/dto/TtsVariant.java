@@ -0,0 +1,10 @@
+package com.dAdK.dubAI.dto;
+
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.services.tts.AudioCompressionService.CompressionQuality;
+
+/**
+ * One output of a batch synthesis: a voice plus the same mode/format/bitrate/quality options as /generate/speech.
+ */
+public record TtsVariant(VoiceType voiceType, String mode, String format, Integer bitrate, CompressionQuality quality) {
+}
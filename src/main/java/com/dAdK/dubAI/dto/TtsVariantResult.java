@@ -0,0 +1,17 @@
+package com.dAdK.dubAI.dto;
+
+import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressedAudio;
+
+/**
+ * Outcome of one batch variant. A failed variant carries the error message and no audio.
+ */
+public record TtsVariantResult(TtsVariant variant, boolean success, CompressedAudio audio, String message) {
+
+    public static TtsVariantResult of(TtsVariant variant, ApiResponse<CompressedAudio> response) {
+        return new TtsVariantResult(variant, response.isSuccess(), response.getData(), response.getMessage());
+    }
+
+    public static TtsVariantResult failed(TtsVariant variant, String message) {
+        return new TtsVariantResult(variant, false, null, message);
+    }
+}
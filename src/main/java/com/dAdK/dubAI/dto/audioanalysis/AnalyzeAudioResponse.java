@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -17,4 +19,6 @@ public class AnalyzeAudioResponse {
     private String pitch;
     private String emotion;
     private String voiceType;
+    // Timestamped transcription, only filled in by long-form analysis
+    private List<TranscriptSegment> segments;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.dAdK.dubAI.dto.audioanalysis;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TranscriptSegment {
+    private double startSeconds;
+    private double endSeconds;
+    private String text;
+}
@@ -0,0 +1,7 @@
+package com.dAdK.dubAI.enums;
+
+public enum JobType {
+    TTS,
+    AUDIO_ANALYSIS,
+    LONG_AUDIO_ANALYSIS
+}
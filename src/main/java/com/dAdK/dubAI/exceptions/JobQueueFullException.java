@@ -0,0 +1,11 @@
+package com.dAdK.dubAI.exceptions;
+
+public class JobQueueFullException extends RuntimeException {
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+
+    public JobQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
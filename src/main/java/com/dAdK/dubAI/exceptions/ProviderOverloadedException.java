@@ -0,0 +1,11 @@
+package com.dAdK.dubAI.exceptions;
+
+public class ProviderOverloadedException extends RuntimeException {
+    public ProviderOverloadedException(String message) {
+        super(message);
+    }
+
+    public ProviderOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
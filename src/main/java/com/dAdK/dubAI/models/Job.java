@@ -0,0 +1,67 @@
+package com.dAdK.dubAI.models;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.enums.JobType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "jobs")
+public class Job {
+    @Id
+    private String id;
+
+    private JobType type;
+
+    @Indexed
+    private JobStatus status;
+
+    @Indexed
+    private String userId; // null for anonymous submissions
+
+    // Hash of the job type, owner and input; identical in-flight submissions share one job
+    @Indexed
+    private String dedupeKey;
+
+    // Input: a TTS request, or an uploaded audio file spooled to disk
+    private TtsRequest ttsRequest;
+    private String inputPath;
+    private String inputMimeType;
+
+    // Result: synthesized audio, or the analysis
+    private byte[] resultAudio;
+    private String resultContentType;
+    private AnalyzeAudioResponse analysis;
+
+    private String error;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime completedAt;
+
+    // Refreshed by the instance holding the job while it is queued or running
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime heartbeatAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    @Indexed
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,29 @@
+package com.dAdK.dubAI.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Hits recorded cluster-wide for one rate-limit key in one fixed window.
+ * Kept until the end of the following window, when it stops contributing to the sliding estimate;
+ * the TTL index on expiresAt then removes it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rate_limits")
+public class RateLimitBucket {
+    @Id
+    private String id; // scope:key:windowNumber
+
+    private long count;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,36 @@
+package com.dAdK.dubAI.repository;
+
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.models.Job;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends MongoRepository<Job, String> {
+    // Status polls skip the stored audio, which can be several MB
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'resultAudio': 0 }")
+    Optional<Job> findWithoutResultById(String id);
+
+    Optional<Job> findFirstByDedupeKeyAndStatusInAndHeartbeatAtAfter(String dedupeKey, Collection<JobStatus> statuses,
+                                                                   LocalDateTime heartbeatAt);
+
+    @Query("{ '_id': { '$in': ?0 } }")
+    @Update("{ '$set': { 'heartbeatAt': ?1 } }")
+    long updateHeartbeatAtByIdIn(Collection<String> ids, LocalDateTime heartbeatAt);
+
+    // Jobs from before heartbeats were recorded have none
+    @Query(value = "{ 'status': { '$in': ?0 }, '$or': [ { 'heartbeatAt': { '$lt': ?1 } }, { 'heartbeatAt': null } ] }",
+            fields = "{ 'resultAudio': 0 }")
+    List<Job> findAbandoned(Collection<JobStatus> statuses, LocalDateTime heartbeatBefore);
+
+    List<Job> findByExpiresAtBefore(LocalDateTime expiresAt);
+
+    void deleteByExpiresAtBefore(LocalDateTime expiresAt);
+}
@@ -1,6 +1,7 @@
 package com.dAdK.dubAI.scheduler;
 
 import com.dAdK.dubAI.models.User;
+import com.dAdK.dubAI.services.jobs.JobService;
 import com.dAdK.dubAI.services.otp.OtpService;
 import com.dAdK.dubAI.services.userservice.UserService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class CleanupScheduler {
 
     private final UserService userService;
     private final OtpService otpService;
+    private final JobService jobService;
 
     @Scheduled(cron = "0 */15 * * * *") // Every 15 minutes
     public void cleanupUnverifiedUsers() {
@@ -41,4 +43,23 @@ public class CleanupScheduler {
 
         log.info("Cleanup completed. Removed {} unverified users", unverifiedUsers.size());
     }
-}
\ No newline at end of file
+
+    @Scheduled(fixedDelayString = "${jobs.heartbeat-interval-ms:30000}")
+    public void heartbeatJobs() {
+        try {
+            jobService.heartbeat();
+            jobService.failAbandonedJobs();
+        } catch (Exception e) {
+            log.error("Error refreshing job heartbeats", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 * * * *") // Every hour
+    public void cleanupExpiredJobs() {
+        try {
+            jobService.deleteExpiredJobs();
+        } catch (Exception e) {
+            log.error("Error cleaning up expired jobs", e);
+        }
+    }
+}
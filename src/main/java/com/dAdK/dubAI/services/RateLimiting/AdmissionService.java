@@ -0,0 +1,129 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import com.dAdK.dubAI.exceptions.RateLimitExceededException;
+import com.dAdK.dubAI.models.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Admission quotas for the provider-backed endpoints, charged in cost units per request.
+ * A text request costs one unit per text-bytes-per-unit of body, an audio upload one unit per
+ * audio-bytes-per-unit, times the number of syntheses it asks for (batch variants), capped at max-request-cost.
+ * Every request is charged to its client IP and,
+ * when authenticated, to its user; each quota is a sliding window in RateLimitService, so it is
+ * shared across replicas when the MongoDB backend is enabled.
+ */
+@Service
+@Slf4j
+public class AdmissionService {
+
+    private static final String USER_SCOPE = "admission:user";
+    private static final String IP_SCOPE = "admission:ip";
+
+    private final RateLimitService rateLimitService;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int userLimit;
+    private final int ipLimit;
+    private final long textBytesPerUnit;
+    private final long audioBytesPerUnit;
+    private final int maxRequestCost;
+
+    private final Counter userRejections;
+    private final Counter ipRejections;
+
+    public AdmissionService(RateLimitService rateLimitService,
+                            @Value("${admission.enabled:true}") boolean enabled,
+                            @Value("${admission.window-seconds:60}") long windowSeconds,
+                            @Value("${admission.user.limit:120}") int userLimit,
+                            @Value("${admission.ip.limit:240}") int ipLimit,
+                            @Value("${admission.text.bytes-per-unit:500}") long textBytesPerUnit,
+                            @Value("${admission.audio.bytes-per-unit:262144}") long audioBytesPerUnit,
+                            @Value("${admission.max-request-cost:60}") int maxRequestCost,
+                            MeterRegistry meterRegistry) {
+        this.rateLimitService = rateLimitService;
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000;
+        this.userLimit = userLimit;
+        this.ipLimit = ipLimit;
+        this.textBytesPerUnit = textBytesPerUnit;
+        this.audioBytesPerUnit = audioBytesPerUnit;
+        this.maxRequestCost = Math.min(maxRequestCost, Math.min(userLimit, ipLimit));
+
+        this.userRejections = Counter.builder("admission.rejected").tag("quota", "user")
+                .description("Requests refused by the per-user quota").register(meterRegistry);
+        this.ipRejections = Counter.builder("admission.rejected").tag("quota", "ip")
+                .description("Requests refused by the per-IP quota").register(meterRegistry);
+    }
+
+    /**
+     * The request's cost in units.
+     *
+     * @param contentLength body size in bytes, or -1 if unknown, which is charged the maximum
+     */
+    public int cost(boolean audio, long contentLength) {
+        return cost(audio, contentLength, 1);
+    }
+
+    /**
+     * The cost of a request whose body is worked on {@code syntheses} times, like a batch of variants.
+     */
+    public int cost(boolean audio, long contentLength, int syntheses) {
+        if (contentLength < 0) {
+            return maxRequestCost;
+        }
+        long perUnit = audio ? audioBytesPerUnit : textBytesPerUnit;
+        return (int) Math.min(maxRequestCost, (1 + contentLength / perUnit) * Math.max(1, syntheses));
+    }
+
+    /**
+     * Charges the request to its user and client IP.
+     *
+     * @param userId null for anonymous requests
+     * @throws RateLimitExceededException if either quota is exhausted
+     */
+    public void admit(String userId, String clientIp, boolean audio, long contentLength) {
+        admit(userId, clientIp, audio, contentLength, 1);
+    }
+
+    /**
+     * Charges a request that asks for {@code syntheses} syntheses of its body.
+     */
+    public void admit(String userId, String clientIp, boolean audio, long contentLength, int syntheses) {
+        if (!enabled) {
+            return;
+        }
+
+        int cost = cost(audio, contentLength, syntheses);
+        if (userId != null && !rateLimitService.tryAcquire(USER_SCOPE, userId, userLimit, windowMillis, cost)) {
+            userRejections.increment();
+            log.warn("User {} over quota, request cost {}", userId, cost);
+            throw new RateLimitExceededException("Request quota exceeded for this account", retryAfterSeconds(cost, userLimit));
+        }
+        if (!rateLimitService.tryAcquire(IP_SCOPE, clientIp, ipLimit, windowMillis, cost)) {
+            ipRejections.increment();
+            log.warn("Client {} over quota, request cost {}", clientIp, cost);
+            throw new RateLimitExceededException("Request quota exceeded for this address", retryAfterSeconds(cost, ipLimit));
+        }
+    }
+
+    /**
+     * @return the authenticated user's id, or null for anonymous requests
+     */
+    public static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+
+    /**
+     * How long the quota's average rate takes to free the request's cost.
+     */
+    private long retryAfterSeconds(int cost, int limit) {
+        return Math.max(1, (long) Math.ceil((double) windowMillis * cost / limit / 1000));
+    }
+}
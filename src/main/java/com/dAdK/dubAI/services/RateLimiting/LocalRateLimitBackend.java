@@ -0,0 +1,43 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-JVM counters in a fixed-size lock-free table; keys idle for two windows are released by a background sweep.
+ * Limits are enforced per instance, so N replicas admit up to N times the configured limit.
+ */
+@Component
+@Slf4j
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final SlidingWindowCounters counters;
+
+    public LocalRateLimitBackend(@Value("${ratelimit.local.slots:65536}") int slots, MeterRegistry meterRegistry) {
+        this.counters = new SlidingWindowCounters(slots);
+
+        Gauge.builder("ratelimit.keys", counters, SlidingWindowCounters::size)
+                .description("Rate-limit keys currently tracked").register(meterRegistry);
+        FunctionCounter.builder("ratelimit.saturated", counters, SlidingWindowCounters::saturatedLookups)
+                .description("Lookups that shared another key's counter because the table was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(String scope, String key, int limit, long windowMillis, int permits) {
+        return counters.tryAcquire(scope, key, limit, windowMillis, permits, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.local.eviction-interval-ms:60000}")
+    public void evictIdleKeys() {
+        int evicted = counters.evictIdle(System.currentTimeMillis());
+        if (evicted > 0) {
+            log.debug("Released {} idle rate-limit keys", evicted);
+        }
+    }
+}
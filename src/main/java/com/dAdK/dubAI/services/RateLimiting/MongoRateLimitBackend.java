@@ -0,0 +1,302 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import com.dAdK.dubAI.models.RateLimitBucket;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Cluster-wide counters in the "rate_limits" collection: one document per key and fixed window, incremented
+ * atomically and removed by a TTL index. The limit applies a sliding window over the current and previous bucket.
+ * <p>
+ * Each instance keeps a view of the keys it has seen recently: the last counts read from MongoDB plus hits it
+ * admitted since. While a key is far enough under its limit, a request is admitted from the view and its hit is
+ * written later, in the next round trip for that key or the periodic flush. Between syncs an instance spends at
+ * most local-share of the headroom it last saw, which bounds how far the cluster can overshoot; once the headroom
+ * share drops below one request (always, for small limits like registration) every decision goes to MongoDB.
+ * <p>
+ * Decisions are made on the request path, so this backend has its own client with timeouts in milliseconds
+ * rather than the application client's 30-second server selection: an unreachable MongoDB fails fast and
+ * {@link RateLimitService} falls back to local counters.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "mongo")
+@Slf4j
+public class MongoRateLimitBackend implements RateLimitBackend {
+
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+    private final double localShare;
+    private final long syncIntervalMillis;
+    private final int maxViews;
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+
+    private final Counter localAdmits;
+    private final Counter roundTrips;
+
+    /**
+     * This instance's knowledge of one key. Guarded by its own monitor.
+     */
+    private static final class View {
+        private final String name;
+        private final long windowMillis;
+        private long window = -1;
+        private long previousCount = -1; // -1 until read for the current window
+        private long currentCount;
+        private long pending;            // admitted here, not yet written
+        private long syncedAt;
+        private long lastSeen;
+        private boolean retired;         // removed from the map; callers holding it must look again
+
+        private View(String name, long windowMillis) {
+            this.name = name;
+            this.windowMillis = windowMillis;
+        }
+    }
+
+    @Autowired
+    public MongoRateLimitBackend(@Value("${spring.data.mongodb.uri}") String uri,
+                                 @Value("${ratelimit.mongo.timeout-ms:500}") int timeoutMillis,
+                                 @Value("${ratelimit.mongo.local-share:0.1}") double localShare,
+                                 @Value("${ratelimit.mongo.sync-interval-ms:1000}") long syncIntervalMillis,
+                                 @Value("${ratelimit.mongo.max-local-keys:10000}") int maxViews,
+                                 MeterRegistry meterRegistry) {
+        this(fastFailingClient(new ConnectionString(uri), timeoutMillis),
+                Objects.requireNonNullElse(new ConnectionString(uri).getDatabase(), "test"),
+                localShare, syncIntervalMillis, maxViews, meterRegistry);
+    }
+
+    /**
+     * Uses the given client, which is closed with this backend.
+     */
+    MongoRateLimitBackend(MongoClient client, String database, double localShare, long syncIntervalMillis,
+                          int maxViews, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.mongoTemplate = new MongoTemplate(client, database);
+        this.localShare = localShare;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.maxViews = maxViews;
+
+        this.localAdmits = Counter.builder("ratelimit.mongo.decisions").tag("path", "local")
+                .description("Rate-limit decisions made without a MongoDB round trip").register(meterRegistry);
+        this.roundTrips = Counter.builder("ratelimit.mongo.decisions").tag("path", "remote")
+                .description("Rate-limit decisions made against MongoDB").register(meterRegistry);
+        Gauge.builder("ratelimit.mongo.local-keys", views, Map::size).register(meterRegistry);
+    }
+
+    private static MongoClient fastFailingClient(ConnectionString uri, int timeoutMillis) {
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .applyToClusterSettings(cluster ->
+                        cluster.serverSelectionTimeout(timeoutMillis, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                        .readTimeout(timeoutMillis, TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(pool -> pool.maxWaitTime(timeoutMillis, TimeUnit.MILLISECONDS))
+                .build());
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+
+    @PostConstruct
+    public void ensureTtlIndex() {
+        try {
+            mongoTemplate.indexOps(RateLimitBucket.class)
+                    .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+        } catch (DataAccessException e) {
+            log.warn("Could not create the rate_limits TTL index, expired buckets will not be removed: {}",
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String scope, String key, int limit, long windowMillis, int permits) {
+        long now = System.currentTimeMillis();
+        String name = scope + ":" + key;
+
+        while (true) {
+            View view = views.get(name);
+            if (view == null && views.size() < maxViews) {
+                view = views.computeIfAbsent(name, ignored -> new View(name, windowMillis));
+            }
+            if (view == null) {
+                // Too many keys to track here; decide against MongoDB without a view
+                return admitRemotely(new View(name, windowMillis), limit, permits, now);
+            }
+            synchronized (view) {
+                if (!view.retired) {
+                    return tryAcquire(view, limit, permits, now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called holding the view's monitor.
+     */
+    private boolean tryAcquire(View view, int limit, int permits, long now) {
+        view.lastSeen = now;
+        long window = now / view.windowMillis;
+        if (view.window != window) {
+            flush(view);
+            view.window = window;
+            view.previousCount = -1;
+            view.currentCount = 0;
+            view.syncedAt = 0;
+        }
+
+        boolean fresh = view.previousCount >= 0 && now - view.syncedAt < syncIntervalMillis;
+        if (fresh) {
+            double headroom = limit - estimate(view, now);
+            if (view.pending + permits <= headroom * localShare) {
+                view.pending += permits;
+                localAdmits.increment();
+                return true;
+            }
+        }
+        return admitRemotely(view, limit, permits, now);
+    }
+
+    /**
+     * Writes hits admitted locally and forgets keys idle for two windows. Stops at the first failure, so an
+     * unreachable MongoDB costs one timeout per pass rather than one per key.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.mongo.sync-interval-ms:1000}")
+    public void flushPending() {
+        long now = System.currentTimeMillis();
+        for (View view : views.values()) {
+            synchronized (view) {
+                try {
+                    flush(view);
+                } catch (DataAccessException e) {
+                    log.warn("Failed to flush rate-limit hits for {}: {}", view.name, e.getMessage());
+                    return;
+                }
+                if (now - view.lastSeen > 2 * view.windowMillis) {
+                    view.retired = true;
+                    views.remove(view.name, view);
+                }
+            }
+        }
+    }
+
+    private boolean admitRemotely(View view, int limit, int permits, long now) {
+        roundTrips.increment();
+        long window = now / view.windowMillis;
+        String bucketId = bucketId(view.name, window);
+        if (view.window != window) {
+            view.window = window;
+            view.previousCount = -1;
+        }
+        if (view.previousCount < 0) {
+            // The previous bucket no longer changes once its window has ended, so it is read once per window
+            RateLimitBucket previous = mongoTemplate.findById(bucketId(view.name, window - 1), RateLimitBucket.class);
+            view.previousCount = previous == null ? 0 : previous.getCount();
+        }
+
+        double previousWeighted = view.previousCount * unelapsed(now, view.windowMillis);
+        long increment = view.pending + permits;
+        long maxCurrentBefore = (long) Math.floor(limit - previousWeighted - increment);
+
+        RateLimitBucket bucket = null;
+        if (maxCurrentBefore >= 0) {
+            bucket = incrementIf(bucketId, increment, maxCurrentBefore, expiresAt(window, view.windowMillis));
+        }
+        boolean admitted = bucket != null;
+        if (!admitted) {
+            // Hits already admitted from the view are written regardless
+            bucket = view.pending > 0
+                    ? increment(bucketId, view.pending, expiresAt(window, view.windowMillis))
+                    : mongoTemplate.findById(bucketId, RateLimitBucket.class);
+        }
+
+        view.pending = 0;
+        view.currentCount = bucket == null ? 0 : bucket.getCount();
+        view.syncedAt = now;
+        return admitted;
+    }
+
+    private void flush(View view) {
+        if (view.pending > 0 && view.window >= 0) {
+            RateLimitBucket bucket = increment(
+                    bucketId(view.name, view.window), view.pending, expiresAt(view.window, view.windowMillis));
+            view.pending = 0;
+            view.currentCount = bucket.getCount();
+        }
+    }
+
+    /**
+     * Adds {@code n} to the bucket only if its count is at most {@code maxBefore}.
+     *
+     * @return the updated bucket, or null if the count was too high
+     */
+    private RateLimitBucket incrementIf(String bucketId, long n, long maxBefore, Instant expiresAt) {
+        Query query = Query.query(where("_id").is(bucketId).and("count").lte(maxBefore));
+        try {
+            return mongoTemplate.findAndModify(query,
+                    new Update().inc("count", n).setOnInsert("expiresAt", expiresAt),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    RateLimitBucket.class);
+        } catch (DuplicateKeyException e) {
+            // The bucket exists but is over the threshold, so the upsert tried to insert a second one
+            return null;
+        }
+    }
+
+    private RateLimitBucket increment(String bucketId, long n, Instant expiresAt) {
+        return mongoTemplate.findAndModify(Query.query(where("_id").is(bucketId)),
+                new Update().inc("count", n).setOnInsert("expiresAt", expiresAt),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                RateLimitBucket.class);
+    }
+
+    private static double estimate(View view, long now) {
+        return view.previousCount * unelapsed(now, view.windowMillis) + view.currentCount;
+    }
+
+    private static double unelapsed(long now, long windowMillis) {
+        return 1.0 - (double) (now % windowMillis) / windowMillis;
+    }
+
+    private static String bucketId(String name, long window) {
+        return name + ":" + window;
+    }
+
+    /**
+     * A bucket still weighs on the sliding window until the end of the window after it.
+     */
+    private static Instant expiresAt(long window, long windowMillis) {
+        return Instant.ofEpochMilli((window + 2) * windowMillis);
+    }
+}
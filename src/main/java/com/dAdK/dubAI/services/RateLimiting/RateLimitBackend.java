@@ -0,0 +1,14 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+/**
+ * Where rate-limit counters are kept. Implementations approximate a sliding window over {@code windowMillis}.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Records {@code permits} hits for the key if that keeps it within {@code limit} over the window.
+     *
+     * @return true if admitted and recorded, false if over the limit
+     */
+    boolean tryAcquire(String scope, String key, int limit, long windowMillis, int permits);
+}
@@ -1,19 +1,34 @@
 package com.dAdK.dubAI.services.RateLimiting;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.Deque;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Optional;
 
+/**
+ * Attempt limits over a sliding window.
+ * Counters are per instance by default; with ratelimit.backend=mongo they are shared by every replica
+ * through MongoDB, falling back to the local counters while MongoDB is unreachable. After a failure MongoDB is
+ * left alone for ratelimit.mongo.retry-after-ms, so requests are not each held up by a timeout while it is down.
+ */
 @Service
 @Slf4j
 public class RateLimitService {
 
-    // Map: key = IP + action, value = timestamps of attempts
-    private final ConcurrentHashMap<String, Deque<Long>> attempts = new ConcurrentHashMap<>();
+    private final LocalRateLimitBackend localBackend;
+    private final RateLimitBackend backend;
+    private final long retryAfterMillis;
+    private volatile long remoteDownUntil;
+
+    public RateLimitService(LocalRateLimitBackend localBackend, Optional<MongoRateLimitBackend> clusterBackend,
+                            @Value("${ratelimit.mongo.retry-after-ms:5000}") long retryAfterMillis) {
+        this.localBackend = localBackend;
+        this.retryAfterMillis = retryAfterMillis;
+        this.backend = clusterBackend.isPresent() ? clusterBackend.get() : localBackend;
+        log.info("Rate limiting with the {} backend", backend.getClass().getSimpleName());
+    }
 
     /**
      * Check if the given IP + action is rate limited.
@@ -25,26 +40,29 @@ public class RateLimitService {
      * @return true if rate limited
      */
     public boolean isRateLimited(String ipAddress, String action, int maxAttempts, long windowSeconds) {
-        String key = ipAddress + ":" + action;
-        long now = Instant.now().getEpochSecond();
-
-        attempts.putIfAbsent(key, new ConcurrentLinkedDeque<>());
-        Deque<Long> timestamps = attempts.get(key);
-
-        synchronized (timestamps) {
-            // Remove timestamps older than the window
-            while (!timestamps.isEmpty() && now - timestamps.peekFirst() > windowSeconds) {
-                timestamps.pollFirst();
-            }
-
-            if (timestamps.size() >= maxAttempts) {
-                log.warn("Rate limit exceeded for {} on action {}", ipAddress, action);
-                return true;
-            }
+        boolean admitted = tryAcquire(action, ipAddress, maxAttempts, windowSeconds * 1000, 1);
+        if (!admitted) {
+            log.warn("Rate limit exceeded for {} on action {}", ipAddress, action);
+        }
+        return !admitted;
+    }
 
-            // Record this attempt
-            timestamps.addLast(now);
-            return false;
+    /**
+     * Records {@code permits} hits for scope + key if that keeps it within {@code limit} over the window.
+     *
+     * @return true if admitted
+     */
+    public boolean tryAcquire(String scope, String key, int limit, long windowMillis, int permits) {
+        if (backend == localBackend || System.currentTimeMillis() < remoteDownUntil) {
+            return localBackend.tryAcquire(scope, key, limit, windowMillis, permits);
+        }
+        try {
+            return backend.tryAcquire(scope, key, limit, windowMillis, permits);
+        } catch (DataAccessException e) {
+            remoteDownUntil = System.currentTimeMillis() + retryAfterMillis;
+            log.warn("Cluster rate limiting unavailable, using local counters for {}ms: {}",
+                    retryAfterMillis, e.getMessage());
+            return localBackend.tryAcquire(scope, key, limit, windowMillis, permits);
         }
     }
 }
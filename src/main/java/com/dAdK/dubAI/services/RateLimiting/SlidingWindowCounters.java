@@ -0,0 +1,222 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free table of sliding-window counters.
+ * <p>
+ * Each key hashes to a slot in three parallel primitive arrays: a 64-bit key fingerprint, the packed
+ * window state (window number, previous window count, current window count) and the time after which
+ * the slot is idle. A request is admitted when previous * (unelapsed share of the window) + current
+ * stays within the limit, and is recorded with a single compare-and-set, so keys never share a lock.
+ * <p>
+ * Memory is fixed at construction. Keys probe a few neighbouring slots; when all of them belong to
+ * active keys the request is counted against the home slot, which can only make limiting stricter.
+ * Idle slots are released by {@link #evictIdle(long)}. Two threads seeing a new key at the same instant
+ * can rarely claim two slots for it; the spare one goes idle and is evicted.
+ */
+public class SlidingWindowCounters {
+
+    private static final int MAX_PROBES = 8;
+    private static final long EMPTY = 0L;
+
+    private static final int WINDOW_BITS = 24;
+    private static final int COUNT_BITS = 20;
+    private static final long WINDOW_MASK = (1L << WINDOW_BITS) - 1;
+    static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+
+    private final int mask;
+    private final AtomicLongArray fingerprints;
+    private final AtomicLongArray states;
+    private final AtomicLongArray idleAfter;
+    private final LongAdder saturated = new LongAdder();
+
+    /**
+     * @param slots table size, rounded up to a power of two; each slot costs 24 bytes
+     */
+    public SlidingWindowCounters(int slots) {
+        int size = slots <= 16 ? 16 : Integer.highestOneBit(slots - 1) << 1;
+        this.mask = size - 1;
+        this.fingerprints = new AtomicLongArray(size);
+        this.states = new AtomicLongArray(size);
+        this.idleAfter = new AtomicLongArray(size);
+    }
+
+    /**
+     * Records {@code permits} hits for the key if that keeps it within {@code limit} over the sliding window.
+     *
+     * @return true if admitted and recorded, false if over the limit (nothing is recorded)
+     */
+    public boolean tryAcquire(String scope, String key, int limit, long windowMillis, int permits, long nowMillis) {
+        int slot = slotFor(fingerprint(scope, key));
+        idleAfter.lazySet(slot, nowMillis + 2 * windowMillis);
+        return tryAcquire(slot, Math.min(limit, MAX_COUNT), windowMillis, permits, nowMillis);
+    }
+
+    /**
+     * The key's weighted hit count over the sliding window ending now, without recording anything.
+     */
+    public double estimate(String scope, String key, long windowMillis, long nowMillis) {
+        long fp = fingerprint(scope, key);
+        int home = home(fp);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (fingerprints.get(slot) == fp) {
+                return estimate(states.get(slot), windowMillis, nowMillis);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Releases slots whose keys have not been seen for two windows.
+     *
+     * @return the number of slots released
+     */
+    public int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            long fp = fingerprints.get(slot);
+            if (fp == EMPTY || idleAfter.get(slot) > nowMillis) {
+                continue;
+            }
+            // State is cleared before the slot is released, so a new owner always starts from zero
+            states.set(slot, 0L);
+            if (fingerprints.compareAndSet(slot, fp, EMPTY)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int occupied = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (fingerprints.get(slot) != EMPTY) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Lookups that found no free slot and shared another key's counter.
+     */
+    public long saturatedLookups() {
+        return saturated.sum();
+    }
+
+    private boolean tryAcquire(int slot, int limit, long windowMillis, int permits, long nowMillis) {
+        long window = (nowMillis / windowMillis) & WINDOW_MASK;
+        while (true) {
+            long state = states.get(slot);
+            long stateWindow = state >>> (2 * COUNT_BITS);
+            int previous = (int) (state >>> COUNT_BITS) & MAX_COUNT;
+            int current = (int) state & MAX_COUNT;
+
+            long elapsedWindows = (window - stateWindow) & WINDOW_MASK;
+            if (elapsedWindows == 1) {
+                previous = current;
+                current = 0;
+            } else if (elapsedWindows != 0) {
+                previous = 0;
+                current = 0;
+            }
+
+            if (weighted(previous, current, windowMillis, nowMillis) + permits > limit) {
+                return false;
+            }
+
+            long next = (window << (2 * COUNT_BITS))
+                    | ((long) previous << COUNT_BITS)
+                    | Math.min(current + permits, MAX_COUNT);
+            if (states.compareAndSet(slot, state, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static double estimate(long state, long windowMillis, long nowMillis) {
+        long window = (nowMillis / windowMillis) & WINDOW_MASK;
+        long elapsedWindows = (window - (state >>> (2 * COUNT_BITS))) & WINDOW_MASK;
+        int previous = (int) (state >>> COUNT_BITS) & MAX_COUNT;
+        int current = (int) state & MAX_COUNT;
+        if (elapsedWindows == 0) {
+            return weighted(previous, current, windowMillis, nowMillis);
+        }
+        return elapsedWindows == 1 ? weighted(current, 0, windowMillis, nowMillis) : 0;
+    }
+
+    private static double weighted(int previous, int current, long windowMillis, long nowMillis) {
+        double unelapsed = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+        return previous * unelapsed + current;
+    }
+
+    /**
+     * Finds the key's slot, claiming a free one for a new key.
+     * Falls back to the home slot when every probed slot belongs to another key.
+     */
+    private int slotFor(long fp) {
+        int home = home(fp);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (fingerprints.get(slot) == fp) {
+                return slot;
+            }
+        }
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (fingerprints.get(slot) == EMPTY && fingerprints.compareAndSet(slot, EMPTY, fp)) {
+                return settle(fp, home, i);
+            }
+            if (fingerprints.get(slot) == fp) {
+                return slot;
+            }
+        }
+        saturated.increment();
+        return home;
+    }
+
+    /**
+     * After claiming probe {@code claimed}, defers to an earlier slot another thread claimed for the same key.
+     */
+    private int settle(long fp, int home, int claimed) {
+        for (int i = 0; i < claimed; i++) {
+            int slot = (home + i) & mask;
+            if (fingerprints.get(slot) == fp) {
+                fingerprints.compareAndSet((home + claimed) & mask, fp, EMPTY);
+                return slot;
+            }
+        }
+        return (home + claimed) & mask;
+    }
+
+    private int home(long fp) {
+        return (int) (fp ^ (fp >>> 32)) & mask;
+    }
+
+    /**
+     * 64-bit FNV-1a over scope and key with a final avalanche, computed without building a combined string.
+     */
+    static long fingerprint(String scope, String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < scope.length(); i++) {
+            h = (h ^ scope.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ 0xFFFF) * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb33d0fd3f6dbL;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+}
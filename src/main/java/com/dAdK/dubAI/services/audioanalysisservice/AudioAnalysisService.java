@@ -3,6 +3,8 @@ package com.dAdK.dubAI.services.audioanalysisservice;
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioRequest;
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
 
+import java.io.InputStream;
+
 /**
  * Service interface for audio analysis operations.
  */
@@ -17,4 +19,14 @@ public interface AudioAnalysisService {
      * @throws RuntimeException         if the analysis fails
      */
     AnalyzeAudioResponse analyzeAudio(AnalyzeAudioRequest request);
+
+    /**
+     * Analyzes raw audio read from a stream, without first building a data URI in memory.
+     *
+     * @param audio    The audio bytes; read once and not closed
+     * @param mimeType The audio MIME type, e.g. audio/mpeg
+     * @return AnalyzeAudioResponse containing the analysis results
+     * @throws RuntimeException if the analysis fails
+     */
+    AnalyzeAudioResponse analyzeAudio(InputStream audio, String mimeType);
 }
@@ -3,15 +3,28 @@ package com.dAdK.dubAI.services.audioanalysisservice;
 
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioRequest;
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.services.jobs.JobHandler;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +32,35 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AudioAnalysisServiceImpl implements AudioAnalysisService {
+public class AudioAnalysisServiceImpl implements AudioAnalysisService, JobHandler {
+
+    private static final String ANALYSIS_PROMPT = """
+            You are an expert audio analyst. For each audio input, perform complete analysis and return structured JSON.
+            
+            **Tasks:**
+            1. **Transcription** – Convert audio to accurate text
+            2. **Speech Analysis** – Assess pace, loudness, clarity, intonation, expressiveness
+            3. **Sentiment** – Classify as: Positive, Negative, or Neutral
+            4. **Tone** – Identify: Joyful, Angry, Sad, Calm, or Excited
+            5. **Pitch** – Categorize: High, Medium, or Low
+            6. **Emotion** – Select best match: Neutral, Joyful, Somber, Excited, Angry, Sad, Fearful, Surprised, Calm, Whispering
+            7. **Voice Type** – Select the best matching voice name. Output format: just the name (e.g., CHARON, DESPINA).
+               - **Female:** AOEDE (Storyteller/silky), CALLIRRHOE (Warm/friendly), DESPINA (Comforting), KORE (Executive/commanding), LEDA (Millennial/energetic), VINDEMIATRIX (Sophisticated/wise), ZEPHYR (Bubbly/enthusiastic)
+               - **Male:** ACHIRD (High-energy), ALGENIB (Deep bass), CHARON (Authoritative), ENCELADUS (Intimate/ASMR), FENRIR (Sports hype), IAPETUS (Trustworthy), ORUS (Distinguished/luxury), PUCK (Playful/comedy), UMBRIEL (Easygoing/podcast)
+            
+            **Output JSON:**
+            {
+              "transcription": "",
+              "sentiment": "",
+              "tone": "",
+              "pitch": "",
+              "emotion": "",
+              "voiceType": ""
+            }""";
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${gemini.api.key}")
     private String apiKey;
@@ -31,6 +69,29 @@ public class AudioAnalysisServiceImpl implements AudioAnalysisService {
     private String apiUrl;
 
     public AnalyzeAudioResponse analyzeAudio(AnalyzeAudioRequest request) {
+        return observation("data-uri").observe(() -> analyzeDataUri(request));
+    }
+
+    /**
+     * Streams the audio into the request body, Base64-encoding it on the fly.
+     * Neither the raw upload nor its encoded form is ever held in memory as a whole.
+     */
+    @Override
+    public AnalyzeAudioResponse analyzeAudio(InputStream audio, String mimeType) {
+        return observation("stream")
+                .highCardinalityKeyValue("mime-type", String.valueOf(mimeType))
+                .observe(() -> analyzeStream(audio, mimeType));
+    }
+
+    /**
+     * The whole analysis, Gemini round trip included, is one audio.analysis span.
+     */
+    private Observation observation(String input) {
+        return Observation.createNotStarted("audio.analysis", observationRegistry)
+                .lowCardinalityKeyValue("input", input);
+    }
+
+    private AnalyzeAudioResponse analyzeDataUri(AnalyzeAudioRequest request) {
         try {
             // Prepare the API request
             Map<String, Object> requestBody = buildGeminiRequest(request.getAudioDataUri());
@@ -59,30 +120,75 @@ public class AudioAnalysisServiceImpl implements AudioAnalysisService {
         }
     }
 
+    private AnalyzeAudioResponse analyzeStream(InputStream audio, String mimeType) {
+        try {
+            String url = apiUrl + "?key=" + apiKey;
+            String responseBody = restTemplate.execute(
+                    url,
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        if (request instanceof StreamingHttpOutputMessage streaming) {
+                            streaming.setBody(out -> writeGeminiRequest(out, audio, mimeType));
+                        } else {
+                            writeGeminiRequest(request.getBody(), audio, mimeType);
+                        }
+                    },
+                    response -> StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8)
+            );
+
+            return parseGeminiResponse(responseBody);
+
+        } catch (Exception e) {
+            log.error("Error calling Gemini API: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to analyze audio", e);
+        }
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.AUDIO_ANALYSIS;
+    }
+
+    @Override
+    public void runJob(Job job) throws IOException {
+        try (InputStream audio = Files.newInputStream(Path.of(job.getInputPath()))) {
+            job.setAnalysis(analyzeAudio(audio, job.getInputMimeType()));
+        }
+    }
+
+    /**
+     * Writes the same request body as {@link #buildGeminiRequest}, with the inline audio streamed through Jackson's Base64 encoder.
+     */
+    private void writeGeminiRequest(OutputStream out, InputStream audio, String mimeType) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("contents");
+            json.writeStartObject();
+            json.writeArrayFieldStart("parts");
+
+            json.writeStartObject();
+            json.writeStringField("text", ANALYSIS_PROMPT);
+            json.writeEndObject();
+
+            json.writeStartObject();
+            json.writeObjectFieldStart("inlineData");
+            json.writeStringField("mimeType", mimeType);
+            json.writeFieldName("data");
+            json.writeBinary(audio, -1);
+            json.writeEndObject();
+            json.writeEndObject();
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
     private Map<String, Object> buildGeminiRequest(String audioDataUri) {
-        String prompt = """
-                You are an expert audio analyst. For each audio input, perform complete analysis and return structured JSON.
-                
-                **Tasks:**
-                1. **Transcription** – Convert audio to accurate text
-                2. **Speech Analysis** – Assess pace, loudness, clarity, intonation, expressiveness
-                3. **Sentiment** – Classify as: Positive, Negative, or Neutral
-                4. **Tone** – Identify: Joyful, Angry, Sad, Calm, or Excited
-                5. **Pitch** – Categorize: High, Medium, or Low
-                6. **Emotion** – Select best match: Neutral, Joyful, Somber, Excited, Angry, Sad, Fearful, Surprised, Calm, Whispering
-                7. **Voice Type** – Select the best matching voice name. Output format: just the name (e.g., CHARON, DESPINA).
-                   - **Female:** AOEDE (Storyteller/silky), CALLIRRHOE (Warm/friendly), DESPINA (Comforting), KORE (Executive/commanding), LEDA (Millennial/energetic), VINDEMIATRIX (Sophisticated/wise), ZEPHYR (Bubbly/enthusiastic)
-                   - **Male:** ACHIRD (High-energy), ALGENIB (Deep bass), CHARON (Authoritative), ENCELADUS (Intimate/ASMR), FENRIR (Sports hype), IAPETUS (Trustworthy), ORUS (Distinguished/luxury), PUCK (Playful/comedy), UMBRIEL (Easygoing/podcast)
-                
-                **Output JSON:**
-                {
-                  "transcription": "",
-                  "sentiment": "",
-                  "tone": "",
-                  "pitch": "",
-                  "emotion": "",
-                  "voiceType": ""
-                }""";
+        String prompt = ANALYSIS_PROMPT;
 
         // Parse data URI
         String[] parts = audioDataUri.split(",");
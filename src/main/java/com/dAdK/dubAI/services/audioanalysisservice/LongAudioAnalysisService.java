@@ -0,0 +1,199 @@
+package com.dAdK.dubAI.services.audioanalysisservice;
+
+import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
+import com.dAdK.dubAI.dto.audioanalysis.TranscriptSegment;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.exceptions.AudioAnalysisException;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.services.jobs.JobHandler;
+import com.dAdK.dubAI.services.tts.encoding.StreamingAudioEncoder;
+import com.dAdK.dubAI.util.PcmFormat;
+import com.dAdK.dubAI.util.SilenceSegmenter;
+import com.dAdK.dubAI.util.WavBody;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes recordings too long for a single inline Gemini request.
+ * The file is decoded to PCM, split at silences into bounded chunks, and the chunks are analyzed
+ * concurrently in a sliding window. Transcriptions are joined with their offsets; sentiment, tone,
+ * pitch, emotion and voice type are the values covering the most audio.
+ */
+@Service
+@Slf4j
+public class LongAudioAnalysisService implements JobHandler {
+
+    // Speech models gain nothing above 16 kHz, and it keeps each chunk a third smaller than 24 kHz
+    private static final int SAMPLE_RATE = 16000;
+
+    private final AudioAnalysisService audioAnalysisService;
+    private final StreamingAudioEncoder streamingAudioEncoder;
+    private final Executor ttsTaskExecutor;
+
+    @Value("${audio.analysis.long.chunk-seconds:45}")
+    private int chunkSeconds;
+
+    @Value("${audio.analysis.long.max-chunk-seconds:60}")
+    private int maxChunkSeconds;
+
+    @Value("${audio.analysis.long.min-silence-ms:300}")
+    private int minSilenceMillis;
+
+    @Value("${audio.analysis.long.silence-threshold:500}")
+    private int silenceThreshold;
+
+    @Value("${audio.analysis.long.max-parallel-chunks:4}")
+    private int maxParallelChunks;
+
+    public LongAudioAnalysisService(AudioAnalysisService audioAnalysisService,
+                                    StreamingAudioEncoder streamingAudioEncoder,
+                                    @Qualifier("ttsTaskExecutor") Executor ttsTaskExecutor) {
+        this.audioAnalysisService = audioAnalysisService;
+        this.streamingAudioEncoder = streamingAudioEncoder;
+        this.ttsTaskExecutor = ttsTaskExecutor;
+    }
+
+    private record ChunkResult(double startSeconds, double endSeconds, AnalyzeAudioResponse analysis) {
+    }
+
+    /**
+     * @param audioFile the upload on disk; any container ffmpeg can decode
+     */
+    public AnalyzeAudioResponse analyzeLongAudio(Path audioFile) {
+        SilenceSegmenter segmenter = new SilenceSegmenter(
+                SAMPLE_RATE, chunkSeconds * 1000, maxChunkSeconds * 1000, minSilenceMillis, silenceThreshold);
+        Deque<CompletableFuture<ChunkResult>> inFlight = new ArrayDeque<>();
+        List<ChunkResult> results = new ArrayList<>();
+        // Cancelling a CompletableFuture does not stop its task, so queued chunks check this before calling Gemini
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        try {
+            // Chunks are submitted as the decoded PCM is read; the oldest is awaited once the window is full
+            streamingAudioEncoder.decodeToPcm(audioFile, SAMPLE_RATE, pcm -> {
+                SilenceSegmenter.Chunk chunk;
+                while ((chunk = segmenter.next(pcm)) != null) {
+                    if (inFlight.size() >= maxParallelChunks) {
+                        results.add(inFlight.poll().join());
+                    }
+                    inFlight.add(submit(chunk, cancelled));
+                }
+                return null;
+            });
+            while (!inFlight.isEmpty()) {
+                results.add(inFlight.poll().join());
+            }
+        } catch (IOException e) {
+            cancel(cancelled, inFlight);
+            throw new AudioAnalysisException("Failed to decode audio: " + e.getMessage(), e);
+        } catch (CompletionException e) {
+            cancel(cancelled, inFlight);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Chunk analysis failed, aborting long-form analysis: {}", cause.getMessage());
+            throw new AudioAnalysisException("Failed to analyze audio chunk: " + cause.getMessage(), cause);
+        }
+
+        if (results.isEmpty()) {
+            throw new AudioAnalysisException("The uploaded file contains no audio");
+        }
+        log.info("Long-form analysis merged {} chunks ({} s)",
+                results.size(), Math.round(results.get(results.size() - 1).endSeconds()));
+        return merge(results);
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.LONG_AUDIO_ANALYSIS;
+    }
+
+    @Override
+    public void runJob(Job job) {
+        job.setAnalysis(analyzeLongAudio(Path.of(job.getInputPath())));
+    }
+
+    private static void cancel(AtomicBoolean cancelled, Deque<CompletableFuture<ChunkResult>> inFlight) {
+        cancelled.set(true);
+        inFlight.forEach(future -> future.cancel(false));
+    }
+
+    private CompletableFuture<ChunkResult> submit(SilenceSegmenter.Chunk chunk, AtomicBoolean cancelled) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (cancelled.get()) {
+                throw new CancellationException("Analysis aborted before this chunk started");
+            }
+            // The chunk's PCM is streamed behind a WAV header, never copied into a WAV array
+            WavBody wav = WavBody.of(chunk.pcm(), PcmFormat.mono16(SAMPLE_RATE));
+            AnalyzeAudioResponse analysis = audioAnalysisService.analyzeAudio(wav.inputStream(), "audio/wav");
+            return new ChunkResult(chunk.startSeconds(), chunk.endSeconds(), analysis);
+        }, ttsTaskExecutor);
+    }
+
+    private static AnalyzeAudioResponse merge(List<ChunkResult> results) {
+        List<TranscriptSegment> segments = results.stream()
+                .map(result -> TranscriptSegment.builder()
+                        .startSeconds(result.startSeconds())
+                        .endSeconds(result.endSeconds())
+                        .text(result.analysis().getTranscription())
+                        .build())
+                .toList();
+
+        String transcription = segments.stream()
+                .map(TranscriptSegment::getText)
+                .filter(text -> text != null && !text.isBlank())
+                .map(String::trim)
+                .collect(Collectors.joining(" "));
+
+        return AnalyzeAudioResponse.builder()
+                .transcription(transcription)
+                .sentiment(dominant(results, AnalyzeAudioResponse::getSentiment))
+                .tone(dominant(results, AnalyzeAudioResponse::getTone))
+                .pitch(dominant(results, AnalyzeAudioResponse::getPitch))
+                .emotion(dominant(results, AnalyzeAudioResponse::getEmotion))
+                .voiceType(dominant(results, AnalyzeAudioResponse::getVoiceType))
+                .segments(segments)
+                .build();
+    }
+
+    /**
+     * The label covering the most audio, compared case-insensitively; ties go to the earliest.
+     */
+    private static String dominant(List<ChunkResult> results, Function<AnalyzeAudioResponse, String> field) {
+        Map<String, Double> seconds = new LinkedHashMap<>();
+        Map<String, String> firstSpelling = new LinkedHashMap<>();
+        for (ChunkResult result : results) {
+            String value = field.apply(result.analysis());
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            String key = value.trim().toLowerCase(Locale.ROOT);
+            firstSpelling.putIfAbsent(key, value.trim());
+            seconds.merge(key, result.endSeconds() - result.startSeconds(), Double::sum);
+        }
+
+        String best = null;
+        for (Map.Entry<String, Double> entry : seconds.entrySet()) {
+            if (best == null || entry.getValue() > seconds.get(best)) {
+                best = entry.getKey();
+            }
+        }
+        return best == null ? null : firstSpelling.get(best);
+    }
+}
@@ -21,8 +21,17 @@ public class EmailService {
     @Value("${app.email.sender}")
     private String senderEmail;
 
-    public EmailService(@Value("${sendgrid.api.key}") String sendgridApiKey) {
-        this.sendGrid = new SendGrid(sendgridApiKey);
+    /**
+     * @param sendgridHost host[:port] of a plain-HTTP SendGrid stand-in, such as the load-test stub; empty for SendGrid
+     */
+    public EmailService(@Value("${sendgrid.api.key}") String sendgridApiKey,
+                        @Value("${sendgrid.host:}") String sendgridHost) {
+        if (sendgridHost == null || sendgridHost.isBlank()) {
+            this.sendGrid = new SendGrid(sendgridApiKey);
+        } else {
+            this.sendGrid = new SendGrid(sendgridApiKey, true);
+            this.sendGrid.setHost(sendgridHost);
+        }
     }
 
     public void sendOtpEmail(String to, String otp) throws IOException {
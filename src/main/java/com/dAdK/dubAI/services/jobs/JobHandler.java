@@ -0,0 +1,17 @@
+package com.dAdK.dubAI.services.jobs;
+
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.models.Job;
+
+/**
+ * A service that can run queued jobs of one type.
+ */
+public interface JobHandler {
+
+    JobType jobType();
+
+    /**
+     * Runs the job on a worker thread and stores its result on the job. Any exception fails the job.
+     */
+    void runJob(Job job) throws Exception;
+}
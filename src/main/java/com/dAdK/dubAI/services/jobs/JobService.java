@@ -0,0 +1,371 @@
+package com.dAdK.dubAI.services.jobs;
+
+import com.dAdK.dubAI.dto.JobResponse;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.exceptions.InvalidInputException;
+import com.dAdK.dubAI.exceptions.JobQueueFullException;
+import com.dAdK.dubAI.exceptions.ResourceNotFoundException;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.repository.JobRepository;
+import com.dAdK.dubAI.services.tts.cache.CacheKeys;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs TTS and audio analysis as background jobs so clients do not hold a connection open for the whole run.
+ * Job state and results live in MongoDB; work runs on a fixed worker pool behind a bounded queue.
+ * A submission identical to one still queued or running returns the existing job instead of a new one.
+ * The instance holding a job refreshes its heartbeat; a queued or running job whose heartbeat has gone stale was
+ * lost with its instance, so it is never deduplicated onto and is failed by {@link #failAbandonedJobs()}.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private static final List<JobStatus> IN_FLIGHT = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    // MongoDB documents are capped at 16MB; leave room for the rest of the job
+    private static final int MAX_RESULT_BYTES = 15 * 1024 * 1024;
+
+    private final JobRepository jobRepository;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
+    private final ThreadPoolExecutor workers;
+    private final Path inputDir;
+    private final Duration retention;
+    private final long subscribeTimeoutMillis;
+    private final Duration staleAfter;
+
+    // dedupe key -> job queued or running on this instance
+    private final Map<String, Job> inFlightByKey = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${jobs.analysis.max-file-size:5MB}")
+    private DataSize maxAnalysisFileSize;
+
+    @Value("${audio.analysis.long.max-file-size:200MB}")
+    private DataSize maxLongAnalysisFileSize;
+
+    public JobService(JobRepository jobRepository,
+                      List<JobHandler> jobHandlers,
+                      @Value("${jobs.workers:4}") int workerCount,
+                      @Value("${jobs.queue-capacity:100}") int queueCapacity,
+                      @Value("${jobs.input-dir:${java.io.tmpdir}/dubai-jobs}") String inputDir,
+                      @Value("${jobs.retention-hours:24}") long retentionHours,
+                      @Value("${jobs.subscribe-timeout-ms:300000}") long subscribeTimeoutMillis,
+                      @Value("${jobs.stale-after-seconds:120}") long staleAfterSeconds,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.jobRepository = jobRepository;
+        jobHandlers.forEach(handler -> handlers.put(handler.jobType(), handler));
+        this.inputDir = Files.createDirectories(Path.of(inputDir));
+        this.retention = Duration.ofHours(retentionHours);
+        this.subscribeTimeoutMillis = subscribeTimeoutMillis;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("job-worker-", 0).factory()
+                : Thread.ofPlatform().name("job-worker-", 0).factory();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public Job submitTts(TtsRequest request, String userId) {
+        if (request == null || request.text() == null || request.text().isBlank()) {
+            throw new InvalidInputException("Text is required.");
+        }
+        if (request.voiceType() == null) {
+            throw new InvalidInputException("voiceType is required.");
+        }
+
+        Job job = newJob(JobType.TTS, userId, CacheKeys.sha256(
+                JobType.TTS.name(), userId, request.text(), request.voiceType().name(), request.language(),
+                request.userPrompt(), request.emotion(), request.translatedText(),
+                String.valueOf(request.previewOnly()), String.valueOf(request.bypassCache())));
+        job.setTtsRequest(request);
+        return enqueue(job);
+    }
+
+    /**
+     * Spools the upload to the job input directory, hashing it on the way for deduplication.
+     */
+    public Job submitAnalysis(MultipartFile file, boolean longForm, String userId) throws IOException {
+        DataSize maxSize = longForm ? maxLongAnalysisFileSize : maxAnalysisFileSize;
+        if (file == null || file.isEmpty()) {
+            throw new InvalidInputException("Please upload an audio file.");
+        }
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new InvalidInputException("Max file size is " + maxSize.toMegabytes() + "MB.");
+        }
+
+        JobType type = longForm ? JobType.LONG_AUDIO_ANALYSIS : JobType.AUDIO_ANALYSIS;
+        String mimeType = file.getContentType() != null ? file.getContentType() : "audio/mpeg";
+        Path input = inputDir.resolve(UUID.randomUUID().toString());
+
+        MessageDigest digest = newSha256();
+        try (InputStream upload = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(upload, input);
+        }
+
+        Job job = newJob(type, userId, CacheKeys.sha256(
+                type.name(), userId, mimeType, HexFormat.of().formatHex(digest.digest())));
+        job.setInputPath(input.toString());
+        job.setInputMimeType(mimeType);
+
+        Job submitted = enqueue(job);
+        if (!submitted.getId().equals(job.getId())) {
+            deleteInput(job);
+        }
+        return submitted;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the job does not exist or belongs to another user
+     */
+    public Job getJob(String jobId, String userId) {
+        return ownedBy(jobRepository.findWithoutResultById(jobId), jobId, userId);
+    }
+
+    /**
+     * Like {@link #getJob} but also loads the stored result audio.
+     */
+    public Job getJobWithResult(String jobId, String userId) {
+        return ownedBy(jobRepository.findById(jobId), jobId, userId);
+    }
+
+    private Job ownedBy(Optional<Job> job, String jobId, String userId) {
+        return job.filter(found -> found.getUserId() == null || found.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found: " + jobId));
+    }
+
+    /**
+     * Sends one "job" event once the job finishes, then completes the stream.
+     * Completion is pushed by the instance running the job; a subscriber on another instance times out and polls.
+     */
+    public SseEmitter subscribe(Job job) {
+        SseEmitter emitter = new SseEmitter(subscribeTimeoutMillis);
+        if (job.getStatus().isFinished()) {
+            send(emitter, job);
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(job.getId(), id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+
+        // The job may have finished between the caller's read and registration above
+        jobRepository.findWithoutResultById(job.getId())
+                .filter(latest -> latest.getStatus().isFinished())
+                .ifPresent(this::notifySubscribers);
+        return emitter;
+    }
+
+    /**
+     * Removes finished and abandoned jobs past their retention, along with any spooled input.
+     */
+    public void deleteExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> expired = jobRepository.findByExpiresAtBefore(now);
+        expired.forEach(this::deleteInput);
+        jobRepository.deleteByExpiresAtBefore(now);
+        if (!expired.isEmpty()) {
+            logger.info("Removed {} expired jobs", expired.size());
+        }
+    }
+
+    /**
+     * Refreshes the heartbeat of every job queued or running on this instance.
+     */
+    public void heartbeat() {
+        List<String> ids = inFlightByKey.values().stream().map(Job::getId).toList();
+        if (!ids.isEmpty()) {
+            jobRepository.updateHeartbeatAtByIdIn(ids, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Jobs lost in a restart or crash are failed once the application is up. A MongoDB outage does not stop the
+     * startup; the periodic sweep catches up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverAbandonedJobs() {
+        try {
+            failAbandonedJobs();
+        } catch (RuntimeException e) {
+            logger.warn("Could not fail abandoned jobs at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fails queued and running jobs whose heartbeat has stopped, so clients polling or subscribing to them get an
+     * answer instead of waiting until retention removes them.
+     */
+    public void failAbandonedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> abandoned = jobRepository.findAbandoned(IN_FLIGHT, now.minus(staleAfter));
+        for (Job job : abandoned) {
+            deleteInput(job);
+            job.setInputPath(null);
+            job.setStatus(JobStatus.FAILED);
+            job.setError("The job was lost when the instance running it stopped, please resubmit");
+            job.setCompletedAt(now);
+            job.setExpiresAt(now.plus(retention));
+            jobRepository.save(job);
+        }
+        if (!abandoned.isEmpty()) {
+            logger.warn("Failed {} jobs abandoned by a stopped instance", abandoned.size());
+        }
+    }
+
+    private Job newJob(JobType type, String userId, String dedupeKey) {
+        if (!handlers.containsKey(type)) {
+            throw new IllegalStateException("No handler registered for job type " + type);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return Job.builder()
+                .id(UUID.randomUUID().toString())
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .userId(userId)
+                .dedupeKey(dedupeKey)
+                .createdAt(now)
+                .heartbeatAt(now)
+                .expiresAt(now.plus(retention))
+                .build();
+    }
+
+    private Job enqueue(Job job) {
+        String key = job.getDedupeKey();
+
+        Job local = inFlightByKey.putIfAbsent(key, job);
+        if (local != null) {
+            logger.info("Deduplicated {} submission onto in-flight job {}", job.getType(), local.getId());
+            return local;
+        }
+
+        // Jobs submitted to other instances, as long as the instance holding them is still alive
+        Job remote = jobRepository.findFirstByDedupeKeyAndStatusInAndHeartbeatAtAfter(
+                key, IN_FLIGHT, LocalDateTime.now().minus(staleAfter)).orElse(null);
+        if (remote != null) {
+            inFlightByKey.remove(key, job);
+            logger.info("Deduplicated {} submission onto in-flight job {}", job.getType(), remote.getId());
+            return remote;
+        }
+
+        jobRepository.save(job);
+        try {
+            // The job runs in the trace of the request that submitted it
+            workers.execute(contextSnapshots.captureAll().wrap(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            inFlightByKey.remove(key, job);
+            jobRepository.deleteById(job.getId());
+            deleteInput(job);
+            throw new JobQueueFullException("Job queue is full, retry later", e);
+        }
+        logger.info("Queued {} job {}", job.getType(), job.getId());
+        return job;
+    }
+
+    private void run(Job job) {
+        try {
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            jobRepository.save(job);
+
+            handlers.get(job.getType()).runJob(job);
+            if (job.getResultAudio() != null && job.getResultAudio().length > MAX_RESULT_BYTES) {
+                job.setResultAudio(null);
+                throw new IllegalStateException("Result is too large to store");
+            }
+            job.setStatus(JobStatus.SUCCEEDED);
+        } catch (Exception e) {
+            logger.error("Job {} ({}) failed: {}", job.getId(), job.getType(), e.getMessage());
+            job.setStatus(JobStatus.FAILED);
+            job.setError(Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        job.setCompletedAt(now);
+        job.setExpiresAt(now.plus(retention));
+        deleteInput(job);
+        job.setInputPath(null);
+        try {
+            jobRepository.save(job);
+            logger.info("Job {} finished with status {}", job.getId(), job.getStatus());
+        } finally {
+            inFlightByKey.remove(job.getDedupeKey(), job);
+            notifySubscribers(job);
+        }
+    }
+
+    private void notifySubscribers(Job job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(emitter, job));
+        }
+    }
+
+    private void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event().name("job").data(JobResponse.from(job)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Subscriber went away
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void deleteInput(Job job) {
+        if (job.getInputPath() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(job.getInputPath()));
+        } catch (IOException e) {
+            logger.warn("Could not delete job input {}: {}", job.getInputPath(), e.getMessage());
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.dAdK.dubAI.services.provider;
+
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent calls to one provider model with a limit that adapts to how the provider responds (AIMD).
+ * <p>
+ * Each success whose latency stays within {@code latencyTolerance} times the running baseline adds 1/limit,
+ * so the limit grows by about one per round of calls while the provider keeps up. A quota or rate-limit
+ * error cuts the limit by {@code backoffRatio}; latency beyond the tolerance cuts it by
+ * {@code latencyBackoffRatio}. Cuts happen at most once per cooldown, so a burst of failures from the
+ * same moment counts once. Calls over the limit wait in a bounded queue for up to {@code maxWaitMillis};
+ * beyond that they are shed with {@link ProviderOverloadedException} without reaching the provider.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, int maxQueue, long maxWaitMillis,
+                           double backoffRatio, double latencyTolerance, double latencyBackoffRatio,
+                           long cooldownMillis) {
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private double baselineNanos;
+    private long lastDecreaseNanos;
+    private long shed;
+    private long overloads;
+
+    public AdaptiveConcurrencyLimiter(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+        this.lastDecreaseNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.cooldownMillis());
+    }
+
+    /**
+     * Runs the call once a slot is free, feeding its latency or overload error back into the limit.
+     *
+     * @param isOverload recognises the provider's quota and rate-limit errors
+     * @throws ProviderOverloadedException if no slot frees up in time; the call is not made
+     */
+    public <T> T execute(Supplier<T> call, Predicate<Throwable> isOverload) {
+        acquire();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (isOverload.test(e)) {
+                onOverload();
+            } else {
+                release();
+            }
+            throw e;
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long shed() {
+        lock.lock();
+        try {
+            return shed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long overloads() {
+        lock.lock();
+        try {
+            return overloads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.maxWaitMillis());
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return;
+            }
+            if (queued >= settings.maxQueue()) {
+                throw shedCall("queue full");
+            }
+            queued++;
+            try {
+                while (inFlight >= currentLimit()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw shedCall("timed out waiting for a slot");
+                    }
+                    slotFreed.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw shedCall("interrupted waiting for a slot");
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long latencyNanos) {
+        lock.lock();
+        try {
+            boolean congested = baselineNanos > 0 && latencyNanos > baselineNanos * settings.latencyTolerance();
+            // The baseline drifts slowly towards every sample, so a lasting change in the provider becomes the norm
+            baselineNanos = baselineNanos == 0 ? latencyNanos : baselineNanos * 0.95 + latencyNanos * 0.05;
+
+            if (congested) {
+                decrease(settings.latencyBackoffRatio());
+            } else if (inFlight >= currentLimit() / 2) {
+                // Only grow while the current limit is actually being used
+                limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+            }
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onOverload() {
+        lock.lock();
+        try {
+            overloads++;
+            decrease(settings.backoffRatio());
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(double ratio) {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < TimeUnit.MILLISECONDS.toNanos(settings.cooldownMillis())) {
+            return;
+        }
+        limit = Math.max(settings.minLimit(), limit * ratio);
+        lastDecreaseNanos = now;
+    }
+
+    private int currentLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    private ProviderOverloadedException shedCall(String reason) {
+        shed++;
+        return new ProviderOverloadedException(
+                name + " is at its concurrency limit of " + currentLimit() + " (" + reason + "), try again shortly");
+    }
+}
@@ -0,0 +1,127 @@
+package com.dAdK.dubAI.services.provider;
+
+/**
+ * Count-based circuit breaker over the outcomes of the last {@code windowSize} calls.
+ * Opens when at least {@code minCalls} have been recorded and the failure share reaches {@code failureThreshold};
+ * while open, calls are refused for {@code openMillis}. It then lets a single probe through (half-open):
+ * a success closes it, a failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureThreshold;
+    private final long openMillis;
+
+    // Guarded by this
+    private final boolean[] failures;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int windowSize, int minCalls, double failureThreshold, long openMillis) {
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.failures = new boolean[windowSize];
+    }
+
+    /**
+     * @return true if the call may proceed; the caller must then record its outcome
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minCalls && (double) failureCount / recorded >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Returns a permit without an outcome, e.g. for a call that was refused before reaching the provider.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Failure share of the recorded window, 0 when nothing is recorded.
+     */
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0 : (double) failureCount / recorded;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+    }
+}
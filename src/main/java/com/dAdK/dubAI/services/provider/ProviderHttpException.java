@@ -0,0 +1,38 @@
+package com.dAdK.dubAI.services.provider;
+
+import java.io.IOException;
+
+/**
+ * An HTTP error status returned by a provider called over plain HTTP.
+ */
+public class ProviderHttpException extends IOException {
+
+    private final int statusCode;
+
+    public ProviderHttpException(int statusCode) {
+        super("HTTP " + statusCode + " from provider");
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * The HTTP status carried by a provider client's exception: ours, the Gemini SDK's or the OpenAI client's.
+     *
+     * @return the status, or -1 if the exception carries none
+     */
+    public static int statusOf(Throwable e) {
+        if (e instanceof ProviderHttpException http) {
+            return http.statusCode();
+        }
+        if (e instanceof com.google.genai.errors.ApiException gemini) {
+            return gemini.code();
+        }
+        if (e instanceof com.theokanning.openai.OpenAiHttpException openAi) {
+            return openAi.statusCode;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dAdK.dubAI.services.provider;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per provider and model, created on first use.
+ * Publishes provider.concurrency.limit, .in-flight and .queued gauges and .shed and .overloads counters,
+ * tagged by provider and model.
+ */
+@Component
+public class ProviderLimiters {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter.Settings settings;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ProviderLimiters(MeterRegistry meterRegistry,
+                            @Value("${provider.limiter.enabled:true}") boolean enabled,
+                            @Value("${provider.limiter.initial-limit:8}") int initialLimit,
+                            @Value("${provider.limiter.min-limit:1}") int minLimit,
+                            @Value("${provider.limiter.max-limit:64}") int maxLimit,
+                            @Value("${provider.limiter.max-queue:100}") int maxQueue,
+                            @Value("${provider.limiter.max-wait-ms:10000}") long maxWaitMillis,
+                            @Value("${provider.limiter.backoff-ratio:0.5}") double backoffRatio,
+                            @Value("${provider.limiter.latency-tolerance:3.0}") double latencyTolerance,
+                            @Value("${provider.limiter.latency-backoff-ratio:0.9}") double latencyBackoffRatio,
+                            @Value("${provider.limiter.cooldown-ms:1000}") long cooldownMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.settings = new AdaptiveConcurrencyLimiter.Settings(initialLimit, minLimit, maxLimit, maxQueue,
+                maxWaitMillis, backoffRatio, latencyTolerance, latencyBackoffRatio, cooldownMillis);
+    }
+
+    /**
+     * Runs a provider call under that provider and model's limiter.
+     */
+    public <T> T call(String provider, String model, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return limiter(provider, model).execute(call, ProviderLimiters::isOverload);
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(String provider, String model) {
+        return limiters.computeIfAbsent(provider + "/" + model, name -> register(name, provider, model));
+    }
+
+    /**
+     * Quota and rate-limit errors: an HTTP 429 status or gRPC RESOURCE_EXHAUSTED, anywhere in the cause chain.
+     * Judged by exception type and status code only, never by message text.
+     */
+    public static boolean isOverload(Throwable error) {
+        Throwable e = error;
+        for (int depth = 0; e != null && depth < 10; depth++, e = e.getCause()) {
+            if (e instanceof com.google.api.gax.rpc.ResourceExhaustedException
+                    || ProviderHttpException.statusOf(e) == 429) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AdaptiveConcurrencyLimiter register(String name, String provider, String model) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, settings);
+        Tags tags = Tags.of("provider", provider, "model", model);
+        Gauge.builder("provider.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit).tags(tags)
+                .description("Current adaptive concurrency limit").register(meterRegistry);
+        Gauge.builder("provider.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::inFlight).tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("provider.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::queued).tags(tags)
+                .description("Calls waiting for a slot").register(meterRegistry);
+        FunctionCounter.builder("provider.concurrency.shed", limiter, AdaptiveConcurrencyLimiter::shed).tags(tags)
+                .description("Calls refused before reaching the provider").register(meterRegistry);
+        FunctionCounter.builder("provider.concurrency.overloads", limiter, AdaptiveConcurrencyLimiter::overloads)
+                .tags(tags).description("Quota or rate-limit errors returned by the provider").register(meterRegistry);
+        return limiter;
+    }
+}
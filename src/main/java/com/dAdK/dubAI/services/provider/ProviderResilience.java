@@ -0,0 +1,312 @@
+package com.dAdK.dubAI.services.provider;
+
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retries, deadlines, hedging and circuit breaking for calls to an AI provider, applied per provider
+ * (gemini, wavenet, openai). Each attempt also runs under the provider model's concurrency limiter.
+ * <p>
+ * Transient failures (HTTP 408, 429 and 5xx statuses, retryable gRPC codes, I/O errors) are retried with
+ * exponential backoff and jitter, within max-attempts and the call's overall deadline. Other failures are
+ * the caller's problem and are thrown at once. Calls made with {@link #callHedged} are also hedged: with
+ * hedge-after-ms set, an attempt still running after that delay is raced against a second identical request
+ * and the first success wins; only calls that are safe to run twice at once should be. Transient failures feed
+ * a circuit breaker per provider; while it is open calls fail fast with {@link ProviderUnavailableException}.
+ * <p>
+ * Each call is traced as a provider.call span, with a provider.request child per launched request (retries and
+ * hedges included). Attempts run on another thread, which inherits the caller's trace context.
+ * <p>
+ * Settings are provider.resilience.&lt;provider&gt;.&lt;setting&gt;, defaulting to provider.resilience.&lt;setting&gt;.
+ */
+@Component
+@Slf4j
+public class ProviderResilience {
+
+    public record Policy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, long deadlineMillis,
+                         long hedgeAfterMillis) {
+    }
+
+    private final ProviderLimiters providerLimiters;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    // Attempts run on their own virtual threads so a deadline can abandon them and a hedge can run beside them
+    private final ExecutorService executor;
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public ProviderResilience(ProviderLimiters providerLimiters, Environment environment, MeterRegistry meterRegistry,
+                              ObservationRegistry observationRegistry) {
+        this.providerLimiters = providerLimiters;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.executor = ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor(), () -> snapshots.captureAll());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a provider call with retries, deadline and circuit breaking.
+     */
+    public <T> T call(String provider, String model, Supplier<T> call) {
+        return observation("provider.call", provider, model).observe(() -> execute(provider, model, call::get, false));
+    }
+
+    /**
+     * As {@link #call}, hedged after the provider's hedge-after-ms. The supplier may run on two threads at once.
+     */
+    public <T> T callHedged(String provider, String model, Supplier<T> call) {
+        return observation("provider.call", provider, model).observe(() -> execute(provider, model, call::get, true));
+    }
+
+    /**
+     * As {@link #call}, for calls that throw checked exceptions; the last failure is rethrown as is.
+     */
+    public <T> T callChecked(String provider, String model, Callable<T> call) throws Exception {
+        try {
+            return observation("provider.call", provider, model).observe(() -> execute(provider, model, call, false));
+        } catch (CheckedFailure e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    public CircuitBreaker breaker(String provider) {
+        return breakers.computeIfAbsent(provider, name -> {
+            CircuitBreaker breaker = new CircuitBreaker(
+                    setting(name, "breaker.window-size", 20L).intValue(),
+                    setting(name, "breaker.min-calls", 10L).intValue(),
+                    setting(name, "breaker.failure-rate", 50L) / 100.0,
+                    setting(name, "breaker.open-ms", 30_000L));
+            Gauge.builder("provider.circuit.state", breaker, b -> b.state().ordinal())
+                    .tag("provider", name)
+                    .description("0 closed, 1 open, 2 half-open").register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    public Policy policy(String provider) {
+        return policies.computeIfAbsent(provider, name -> new Policy(
+                setting(name, "max-attempts", 3L).intValue(),
+                setting(name, "base-backoff-ms", 200L),
+                setting(name, "max-backoff-ms", 5_000L),
+                setting(name, "deadline-ms", 60_000L),
+                setting(name, "hedge-after-ms", 0L)));
+    }
+
+    /**
+     * Failures worth another attempt: server errors, throttling, timeouts and I/O errors, anywhere in the cause chain.
+     * Judged by exception type and status code only, never by message text. Requests refused by our own limiter
+     * are not, since retrying them only adds load.
+     */
+    public static boolean isTransient(Throwable error) {
+        Throwable e = error;
+        for (int depth = 0; e != null && depth < 10; depth++, e = e.getCause()) {
+            if (e instanceof ProviderOverloadedException) {
+                return false;
+            }
+            if (e instanceof com.google.api.gax.rpc.ApiException apiException) {
+                return apiException.isRetryable()
+                        || apiException instanceof com.google.api.gax.rpc.ResourceExhaustedException;
+            }
+            int status = ProviderHttpException.statusOf(e);
+            if (status > 0) {
+                return status == 408 || status == 429 || status >= 500;
+            }
+            if (e instanceof IOException || e instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T execute(String provider, String model, Callable<T> call, boolean hedged) {
+        Policy policy = policy(provider);
+        CircuitBreaker breaker = breaker(provider);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.deadlineMillis());
+        RuntimeException last = null;
+
+        for (int attempt = 1; attempt <= policy.maxAttempts(); attempt++) {
+            if (!breaker.tryAcquire()) {
+                count(provider, "rejected");
+                throw new ProviderUnavailableException(provider + " is failing, calls are paused (circuit open)", last);
+            }
+            try {
+                T result = attempt(provider, model, call, hedged ? policy.hedgeAfterMillis() : 0, deadline);
+                breaker.recordSuccess();
+                count(provider, "success");
+                return result;
+            } catch (DeadlineExceeded e) {
+                breaker.recordFailure();
+                count(provider, "timeout");
+                throw new ProviderUnavailableException(
+                        provider + " did not answer within " + policy.deadlineMillis() + " ms", last);
+            } catch (RuntimeException e) {
+                if (e instanceof ProviderOverloadedException) {
+                    breaker.release();
+                    throw e;
+                }
+                if (!isTransient(e)) {
+                    // The provider answered; the request itself was refused
+                    breaker.recordSuccess();
+                    throw e;
+                }
+                breaker.recordFailure();
+                last = e;
+            }
+
+            long backoff = backoffMillis(policy, attempt);
+            if (attempt == policy.maxAttempts() || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+                break;
+            }
+            log.warn("{} call failed (attempt {}/{}), retrying in {} ms: {}",
+                    provider, attempt, policy.maxAttempts(), backoff, last.getMessage());
+            meterRegistry.counter("provider.retries", "provider", provider).increment();
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        count(provider, "failure");
+        throw last;
+    }
+
+    /**
+     * One attempt, hedged if it is still running after hedgeAfterMillis (0 = never); waits no longer than the deadline.
+     */
+    private <T> T attempt(String provider, String model, Callable<T> call, long hedgeAfterMillis, long deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<Future<?>> launched = new CopyOnWriteArrayList<>();
+        // Counted before each submit, so a request that fails at once still waits for the ones launched with it
+        AtomicInteger expected = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Runnable task = () -> {
+            try {
+                result.complete(observation("provider.request", provider, model)
+                        .observe(() -> providerLimiters.call(provider, model, () -> invoke(call))));
+            } catch (Throwable e) {
+                // The attempt fails once every launched request has failed
+                if (failures.incrementAndGet() >= expected.get()) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        try {
+            expected.incrementAndGet();
+            launched.add(executor.submit(task));
+            long hedgeAfter = TimeUnit.MILLISECONDS.toNanos(hedgeAfterMillis);
+            if (hedgeAfter > 0 && hedgeAfter < deadline - System.nanoTime()) {
+                try {
+                    return result.get(hedgeAfter, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException slow) {
+                    if (!result.isDone()) {
+                        meterRegistry.counter("provider.hedges", "provider", provider).increment();
+                        expected.incrementAndGet();
+                        launched.add(executor.submit(task));
+                    }
+                }
+            }
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceeded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CheckedFailure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException("Interrupted while waiting for " + provider, e);
+        } finally {
+            // Losing hedges and abandoned attempts are interrupted
+            launched.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static <T> T invoke(Callable<T> call) {
+        try {
+            return call.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CheckedFailure(e);
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half the step is fixed, the other half random.
+     */
+    private static long backoffMillis(Policy policy, int attempt) {
+        long step = Math.min(policy.maxBackoffMillis(), policy.baseBackoffMillis() << Math.min(attempt - 1, 20));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+
+    private Observation observation(String name, String provider, String model) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(name + " " + provider)
+                .lowCardinalityKeyValue("provider", provider)
+                .lowCardinalityKeyValue("model", model);
+    }
+
+    private void count(String provider, String outcome) {
+        meterRegistry.counter("provider.calls", "provider", provider, "outcome", outcome).increment();
+    }
+
+    private Long setting(String provider, String name, long defaultValue) {
+        Long fallback = environment.getProperty("provider.resilience." + name, Long.class, defaultValue);
+        return environment.getProperty("provider.resilience." + provider + "." + name, Long.class, fallback);
+    }
+
+    /**
+     * Carries a checked exception from the provider call through the retry loop.
+     */
+    private static final class CheckedFailure extends RuntimeException {
+        private CheckedFailure(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private static final class DeadlineExceeded extends RuntimeException {
+        private DeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -4,6 +4,12 @@ import com.dAdK.dubAI.dto.ApiResponse;
 import com.dAdK.dubAI.dto.TtsRequest;
 import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressedAudio;
 import com.dAdK.dubAI.dto.audioanalysis.compressedaudio.CompressionMetadata;
+import com.dAdK.dubAI.services.tts.cache.CacheKeys;
+import com.dAdK.dubAI.services.tts.cache.SpeechCache;
+import com.dAdK.dubAI.services.tts.encoding.StreamingAudioEncoder;
+import com.dAdK.dubAI.util.SingleFlight;
+import com.dAdK.dubAI.util.WavConverter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,9 +34,16 @@ public class AudioCompressionService {
     private static final Logger logger = LoggerFactory.getLogger(AudioCompressionService.class);
 
     private final TextToSpeechService textToSpeechService;
+    private final StreamingAudioEncoder streamingAudioEncoder;
+    private final SingleFlight<ApiResponse<CompressedAudio>> inFlightEncodes;
+    private final SynthesisMetrics synthesisMetrics;
 
-    public AudioCompressionService(TextToSpeechService textToSpeechService) {
+    public AudioCompressionService(TextToSpeechService textToSpeechService, StreamingAudioEncoder streamingAudioEncoder,
+                                   MeterRegistry meterRegistry, SynthesisMetrics synthesisMetrics) {
         this.textToSpeechService = textToSpeechService;
+        this.streamingAudioEncoder = streamingAudioEncoder;
+        this.inFlightEncodes = new SingleFlight<>("encode", meterRegistry);
+        this.synthesisMetrics = synthesisMetrics;
     }
 
 
@@ -41,7 +54,11 @@ public class AudioCompressionService {
     public ApiResponse<CompressedAudio> generateCompressedSpeech(
             TtsRequest request,
             CompressionQuality quality) {
+        return inFlightEncodes.execute(encodeKey(request, "opus", quality.name()),
+                () -> doGenerateCompressedSpeech(request, quality));
+    }
 
+    private ApiResponse<CompressedAudio> doGenerateCompressedSpeech(TtsRequest request, CompressionQuality quality) {
         logger.debug("Generating compressed speech: text='{}', quality={}", request.text(), quality);
 
         // Step 1: Generate audio from TTS
@@ -59,11 +76,17 @@ public class AudioCompressionService {
         }
 
         // Step 2: Determine format and compress
-        String voiceId = request.voiceType().getVoiceIdentifier();
-        String inputFormat = voiceId.contains("Wavenet") ? "mp3" : "wav";
-        int originalSize = audioData.length;
+        String inputFormat = sourceFormat(request);
+        logger.info("Generated audio: {} bytes, format: {}", audioData.length, inputFormat);
+
+        return compressSpeech(audioData, inputFormat, quality);
+    }
 
-        logger.info("Generated audio: {} bytes, format: {}", originalSize, inputFormat);
+    /**
+     * Compress already synthesized audio to Opus and wrap it with compression metadata
+     */
+    public ApiResponse<CompressedAudio> compressSpeech(byte[] audioData, String inputFormat, CompressionQuality quality) {
+        int originalSize = audioData.length;
 
         try {
             byte[] compressedAudio = compressToOpus(audioData, inputFormat, quality);
@@ -91,7 +114,11 @@ public class AudioCompressionService {
     public ApiResponse<CompressedAudio> generateCompressedMP3(
             TtsRequest request,
             int bitrate) {
+        return inFlightEncodes.execute(encodeKey(request, "mp3", String.valueOf(bitrate)),
+                () -> doGenerateCompressedMP3(request, bitrate));
+    }
 
+    private ApiResponse<CompressedAudio> doGenerateCompressedMP3(TtsRequest request, int bitrate) {
         logger.debug("Generating MP3 compressed speech: text='{}', bitrate={}kbps",
                 request.text(), bitrate / 1000);
 
@@ -109,9 +136,14 @@ public class AudioCompressionService {
         }
 
         // Step 2: Compress to MP3
+        return compressMP3(audioData, sourceFormat(request), bitrate);
+    }
+
+    /**
+     * Compress already synthesized audio to MP3 and wrap it with compression metadata
+     */
+    public ApiResponse<CompressedAudio> compressMP3(byte[] audioData, String inputFormat, int bitrate) {
         try {
-            String voiceId = request.voiceType().getVoiceIdentifier();
-            String inputFormat = voiceId.contains("Wavenet") ? "mp3" : "wav";
             int originalSize = audioData.length;
 
             byte[] compressedAudio = compressToMP3(audioData, inputFormat, bitrate);
@@ -147,25 +179,7 @@ public class AudioCompressionService {
                 return ApiResponse.error("Failed to generate audio data");
             }
 
-            String voiceId = request.voiceType().getVoiceIdentifier();
-            String format = voiceId.contains("Wavenet") ? "mp3" : "wav";
-
-            CompressionMetadata metadata = CompressionMetadata.builder()
-                    .originalSize(audioData.length)
-                    .compressedSize(audioData.length)
-                    .compressionRatio(0.0)
-                    .bytesSaved(0)
-                    .quality("ORIGINAL")
-                    .bitrate(0)
-                    .format(format)
-                    .build();
-
-            CompressedAudio result = CompressedAudio.builder()
-                    .audioData(audioData)
-                    .metadata(metadata)
-                    .build();
-
-            return ApiResponse.success(result, "Original audio generated successfully");
+            return originalAudio(audioData, sourceFormat(request));
 
         } catch (Exception e) {
             logger.error("Audio generation failed", e);
@@ -173,16 +187,94 @@ public class AudioCompressionService {
         }
     }
 
+    /**
+     * Wrap already synthesized audio, unchanged, with metadata describing it
+     */
+    public ApiResponse<CompressedAudio> originalAudio(byte[] audioData, String format) {
+        CompressionMetadata metadata = CompressionMetadata.builder()
+                .originalSize(audioData.length)
+                .compressedSize(audioData.length)
+                .compressionRatio(0.0)
+                .bytesSaved(0)
+                .quality("ORIGINAL")
+                .bitrate(0)
+                .format(format)
+                .build();
+
+        CompressedAudio result = CompressedAudio.builder()
+                .audioData(audioData)
+                .metadata(metadata)
+                .build();
+
+        return ApiResponse.success(result, "Original audio generated successfully");
+    }
+
+    /**
+     * Identical request, output format and quality; synthesis itself is coalesced separately in the TTS service.
+     */
+    private static String encodeKey(TtsRequest request, String format, String quality) {
+        return CacheKeys.sha256(format, quality, SpeechCache.keyFor(request, ""));
+    }
+
+    /**
+     * WaveNet synthesizes MP3, Gemini synthesizes WAV
+     */
+    public static String sourceFormat(TtsRequest request) {
+        return request.voiceType().getVoiceIdentifier().contains("Wavenet") ? "mp3" : "wav";
+    }
+
     // ============================================
     // LOW-LEVEL COMPRESSION METHODS
     // ============================================
 
     /**
      * Compress audio bytes to Opus format
-     * Low-level method for direct compression
+     * Low-level method for direct compression.
+     * Pipes through ffmpeg without temp files when possible, falling back to the JAVE encoder. WAV input is piped
+     * as its raw PCM, which ffmpeg resamples to 48 kHz without parsing a container.
+     * Timed as the encode stage of {@link SynthesisMetrics}.
      */
     public byte[] compressToOpus(byte[] inputAudioData, String inputFormat, CompressionQuality quality)
             throws IOException {
+        SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.ENCODE)
+                .format("opus").quality(quality.name());
+        byte[] compressedAudio = synthesisMetrics.time(stage, () -> encodeOpus(inputAudioData, inputFormat, quality));
+        synthesisMetrics.payload(stage, compressedAudio.length);
+        return compressedAudio;
+    }
+
+    private byte[] encodeOpus(byte[] inputAudioData, String inputFormat, CompressionQuality quality)
+            throws IOException {
+        if (streamingAudioEncoder.isAvailable()) {
+            try {
+                WavConverter.PcmData pcm = pcmOf(inputAudioData, inputFormat);
+                byte[] compressedAudio = pcm != null
+                        ? streamingAudioEncoder.encodePcmToOpus(inputAudioData, pcm.offset(), pcm.length(), pcm.format(),
+                        quality.getBitrate())
+                        : streamingAudioEncoder.encodeToOpus(inputAudioData, inputFormat, quality.getBitrate());
+                logger.info("✓ Streaming Opus compression: {} → {} bytes at {} kbps",
+                        inputAudioData.length, compressedAudio.length, quality.getBitrate() / 1000);
+                return compressedAudio;
+            } catch (IOException e) {
+                logger.warn("Streaming Opus encode failed, falling back to JAVE: {}", e.getMessage());
+            }
+        }
+        return compressToOpusWithJave(inputAudioData, inputFormat, quality);
+    }
+
+    /**
+     * The PCM inside WAV input, Gemini's and WaveNet's LINEAR16 alike, so the encoder is fed the samples in place
+     * rather than a container to parse. Null for anything else, which goes to ffmpeg as is.
+     */
+    private static WavConverter.PcmData pcmOf(byte[] inputAudioData, String inputFormat) {
+        return "wav".equals(inputFormat) ? WavConverter.pcmData(inputAudioData) : null;
+    }
+
+    /**
+     * Compress audio bytes to Opus format through JAVE, using temp files on disk
+     */
+    public byte[] compressToOpusWithJave(byte[] inputAudioData, String inputFormat, CompressionQuality quality)
+            throws IOException {
 
         Path inputFile = null;
         Path outputFile = null;
@@ -253,10 +345,42 @@ public class AudioCompressionService {
 
     /**
      * Compress audio bytes to MP3 format
-     * Low-level method for direct compression
+     * Low-level method for direct compression.
+     * Pipes through ffmpeg without temp files when possible, falling back to the JAVE encoder.
+     * Timed as the encode stage of {@link SynthesisMetrics}.
      */
     public byte[] compressToMP3(byte[] inputAudioData, String inputFormat, int bitrate)
             throws IOException {
+        // Tagged with the "MP3" quality label of the compression metadata rather than the bitrate
+        SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.ENCODE)
+                .format("mp3").quality("MP3");
+        byte[] compressedAudio = synthesisMetrics.time(stage, () -> encodeMp3(inputAudioData, inputFormat, bitrate));
+        synthesisMetrics.payload(stage, compressedAudio.length);
+        return compressedAudio;
+    }
+
+    private byte[] encodeMp3(byte[] inputAudioData, String inputFormat, int bitrate)
+            throws IOException {
+        if (streamingAudioEncoder.isAvailable()) {
+            try {
+                WavConverter.PcmData pcm = pcmOf(inputAudioData, inputFormat);
+                byte[] compressedAudio = pcm != null
+                        ? streamingAudioEncoder.encodePcmToMp3(inputAudioData, pcm.offset(), pcm.length(), pcm.format(), bitrate)
+                        : streamingAudioEncoder.encodeToMp3(inputAudioData, inputFormat, bitrate);
+                logger.info("✓ Streaming MP3 compression: {} → {} bytes", inputAudioData.length, compressedAudio.length);
+                return compressedAudio;
+            } catch (IOException e) {
+                logger.warn("Streaming MP3 encode failed, falling back to JAVE: {}", e.getMessage());
+            }
+        }
+        return compressToMP3WithJave(inputAudioData, inputFormat, bitrate);
+    }
+
+    /**
+     * Compress audio bytes to MP3 format through JAVE, using temp files on disk
+     */
+    public byte[] compressToMP3WithJave(byte[] inputAudioData, String inputFormat, int bitrate)
+            throws IOException {
 
         Path inputFile = null;
         Path outputFile = null;
@@ -0,0 +1,191 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsBatchRequest;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.dto.TtsVariant;
+import com.dAdK.dubAI.dto.TtsVariantResult;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.InvalidInputException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.tts.AudioCompressionService.CompressionQuality;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Synthesizes one text in several voices and output modes for side-by-side previews.
+ * The text is translated once, each distinct voice is synthesized once, and every variant is
+ * encoded from that audio. Synthesis and encodes share a per-batch concurrency limit.
+ */
+@Service
+public class SpeechBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeechBatchService.class);
+
+    private final TextToSpeechService textToSpeechService;
+    private final AudioCompressionService audioCompressionService;
+    private final Executor ttsTaskExecutor;
+
+    @Value("${tts.batch.max-variants:12}")
+    private int maxVariants;
+
+    @Value("${tts.batch.max-parallel:4}")
+    private int maxParallel;
+
+    public SpeechBatchService(TextToSpeechService textToSpeechService,
+                              AudioCompressionService audioCompressionService,
+                              @Qualifier("ttsTaskExecutor") Executor ttsTaskExecutor) {
+        this.textToSpeechService = textToSpeechService;
+        this.audioCompressionService = audioCompressionService;
+        this.ttsTaskExecutor = ttsTaskExecutor;
+    }
+
+    /**
+     * @return one result per requested variant, in request order. A failed variant does not fail the batch.
+     */
+    public List<TtsVariantResult> generate(TtsBatchRequest batch) {
+        validate(batch);
+
+        // Warms the translation cache, so every synthesis below reuses this one translation
+        textToSpeechService.translateText(new TranslateRequest(
+                batch.text(), batch.language(), orEmpty(batch.userPrompt()), orEmpty(batch.translatedText()), false));
+
+        Semaphore permits = new Semaphore(maxParallel);
+
+        Map<VoiceType, CompletableFuture<byte[]>> syntheses = new LinkedHashMap<>();
+        for (TtsVariant variant : batch.variants()) {
+            if (!syntheses.containsKey(variant.voiceType())) {
+                TtsRequest request = toRequest(batch, variant.voiceType());
+                syntheses.put(variant.voiceType(), submit(permits, () -> synthesize(request)));
+            }
+        }
+        logger.info("Batch of {} variants over {} voices", batch.variants().size(), syntheses.size());
+
+        List<CompletableFuture<TtsVariantResult>> results = new ArrayList<>();
+        for (TtsVariant variant : batch.variants()) {
+            byte[] audio;
+            try {
+                audio = syntheses.get(variant.voiceType()).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.add(CompletableFuture.completedFuture(
+                        TtsVariantResult.failed(variant, "Failed to generate speech: " + cause.getMessage())));
+                continue;
+            }
+
+            String inputFormat = AudioCompressionService.sourceFormat(toRequest(batch, variant.voiceType()));
+            if ("compressed".equalsIgnoreCase(variant.mode())) {
+                results.add(submit(permits, () -> encode(variant, audio, inputFormat)));
+            } else {
+                results.add(CompletableFuture.completedFuture(
+                        TtsVariantResult.of(variant, audioCompressionService.originalAudio(audio, inputFormat))));
+            }
+        }
+
+        List<TtsVariantResult> completed = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            TtsVariant variant = batch.variants().get(i);
+            completed.add(results.get(i)
+                    .exceptionally(e -> TtsVariantResult.failed(variant, "Audio encoding failed: " + e.getMessage()))
+                    .join());
+        }
+        return completed;
+    }
+
+    private void validate(TtsBatchRequest batch) {
+        if (batch.text() == null || batch.text().isBlank()) {
+            throw new InvalidInputException("Text is required.");
+        }
+        if (batch.variants() == null || batch.variants().isEmpty()) {
+            throw new InvalidInputException("At least one variant is required.");
+        }
+        if (batch.variants().size() > maxVariants) {
+            throw new InvalidInputException("A batch can contain at most " + maxVariants + " variants.");
+        }
+        for (TtsVariant variant : batch.variants()) {
+            if (variant.voiceType() == null) {
+                throw new InvalidInputException("Every variant needs a voiceType.");
+            }
+            if ("stream".equalsIgnoreCase(variant.mode())) {
+                throw new InvalidInputException("Streaming mode is not supported in a batch.");
+            }
+        }
+    }
+
+    /**
+     * Runs the task on the TTS executor once one of this batch's permits is free.
+     * The caller thread waits for the permit, so a large batch never parks pool threads.
+     */
+    private <T> CompletableFuture<T> submit(Semaphore permits, Supplier<T> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TtsProcessingException("Interrupted while scheduling batch synthesis", e);
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    permits.release();
+                }
+            }, ttsTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new TtsProcessingException("TTS executor is saturated, retry later", e);
+        }
+    }
+
+    private byte[] synthesize(TtsRequest request) {
+        byte[] audio = textToSpeechService.generateSpeech(request);
+        if (audio == null || audio.length == 0) {
+            throw new TtsProcessingException("Speech generation returned no audio data for voiceType " + request.voiceType());
+        }
+        return audio;
+    }
+
+    private TtsVariantResult encode(TtsVariant variant, byte[] audio, String inputFormat) {
+        if ("mp3".equalsIgnoreCase(variant.format())) {
+            int bitrate = variant.bitrate() != null ? variant.bitrate() : 128_000;
+            return TtsVariantResult.of(variant, audioCompressionService.compressMP3(audio, inputFormat, bitrate));
+        }
+        CompressionQuality quality = variant.quality() != null ? variant.quality() : CompressionQuality.VOICE_HIGH;
+        return TtsVariantResult.of(variant, audioCompressionService.compressSpeech(audio, inputFormat, quality));
+    }
+
+    /**
+     * Same fields for every voice, so each voice's synthesis hits the translation warmed above.
+     */
+    private TtsRequest toRequest(TtsBatchRequest batch, VoiceType voiceType) {
+        return new TtsRequest(
+                batch.text(),
+                voiceType,
+                batch.language(),
+                orEmpty(batch.userPrompt()),
+                orEmpty(batch.emotion()),
+                orEmpty(batch.translatedText()),
+                false,
+                batch.bypassCache()
+        );
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,155 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.util.TextSegmenter;
+import com.dAdK.dubAI.util.WavConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Synthesizes long text as a sequence of sentence-sized segments and writes the audio
+ * to the client in order as soon as each segment is ready.
+ * A sliding window keeps a bounded number of segments in flight per request.
+ */
+@Service
+public class SpeechStreamingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeechStreamingService.class);
+
+    private final TextToSpeechService textToSpeechService;
+    private final Executor ttsTaskExecutor;
+
+    @Value("${tts.streaming.segment-max-chars:300}")
+    private int segmentMaxChars;
+
+    @Value("${tts.streaming.max-parallel-segments:4}")
+    private int maxParallelSegments;
+
+    public SpeechStreamingService(TextToSpeechService textToSpeechService,
+                                  @Qualifier("ttsTaskExecutor") Executor ttsTaskExecutor) {
+        this.textToSpeechService = textToSpeechService;
+        this.ttsTaskExecutor = ttsTaskExecutor;
+    }
+
+    /**
+     * WaveNet produces MP3, whose frames can be concatenated; Gemini produces WAV, streamed as one open-ended file.
+     */
+    public String contentType(TtsRequest request) {
+        return isWaveNet(request) ? "audio/mpeg" : "audio/wav";
+    }
+
+    public String fileExtension(TtsRequest request) {
+        return isWaveNet(request) ? "mp3" : "wav";
+    }
+
+    /**
+     * Splits the request into segments and streams their audio to the output in order.
+     * If the caller already has a translation, the translation is what gets split.
+     */
+    public void streamSpeech(TtsRequest request, OutputStream out) throws IOException {
+        boolean hasTranslation = request.translatedText() != null && !request.translatedText().isBlank();
+        List<String> segments = TextSegmenter.splitIntoSegments(
+                hasTranslation ? request.translatedText() : request.text(), segmentMaxChars);
+        logger.info("Streaming speech in {} segments for voiceType {}", segments.size(), request.voiceType());
+
+        Iterator<String> pending = segments.iterator();
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        // Cancelling a CompletableFuture does not stop its task, so queued segments check this before synthesizing
+        AtomicBoolean cancelled = new AtomicBoolean();
+        try {
+            // The first window is submitted before anything is written, so a saturated executor can still be a 503
+            while (inFlight.size() < maxParallelSegments && pending.hasNext()) {
+                inFlight.add(submit(request, pending.next(), hasTranslation, cancelled));
+            }
+
+            boolean waveNet = isWaveNet(request);
+            if (!waveNet) {
+                out.write(WavConverter.createStreamingWavHeader());
+                out.flush();
+            }
+
+            while (!inFlight.isEmpty()) {
+                byte[] audio = inFlight.poll().join();
+                if (pending.hasNext()) {
+                    inFlight.add(submit(request, pending.next(), hasTranslation, cancelled));
+                }
+
+                if (waveNet) {
+                    out.write(audio);
+                } else {
+                    int offset = WavConverter.findPcmDataOffset(audio);
+                    out.write(audio, offset, audio.length - offset);
+                }
+                out.flush();
+            }
+        } catch (CompletionException e) {
+            cancel(cancelled, inFlight);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.error("Segment synthesis failed, aborting stream: {}", cause.getMessage());
+            throw new IOException("Speech streaming aborted: " + cause.getMessage(), cause);
+        } catch (IOException e) {
+            // Client went away; segments that have not started yet are skipped
+            cancel(cancelled, inFlight);
+            throw e;
+        } catch (RuntimeException e) {
+            cancel(cancelled, inFlight);
+            throw e;
+        }
+    }
+
+    private static void cancel(AtomicBoolean cancelled, Deque<CompletableFuture<byte[]>> inFlight) {
+        cancelled.set(true);
+        inFlight.forEach(future -> future.cancel(false));
+    }
+
+    private CompletableFuture<byte[]> submit(TtsRequest request, String segment, boolean hasTranslation,
+                                             AtomicBoolean cancelled) {
+        TtsRequest segmentRequest = new TtsRequest(
+                segment,
+                request.voiceType(),
+                request.language(),
+                request.userPrompt(),
+                request.emotion(),
+                hasTranslation ? segment : request.translatedText(),
+                request.previewOnly(),
+                request.bypassCache()
+        );
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (cancelled.get()) {
+                    throw new CancellationException("Stream aborted before this segment started");
+                }
+                byte[] audio = textToSpeechService.generateSpeech(segmentRequest);
+                if (audio == null || audio.length == 0) {
+                    throw new TtsProcessingException("Speech generation returned no audio data for a segment");
+                }
+                return audio;
+            }, ttsTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ProviderOverloadedException("TTS executor is saturated, retry later", e);
+        }
+    }
+
+    private boolean isWaveNet(TtsRequest request) {
+        return request.voiceType().getVoiceIdentifier().contains("Wavenet");
+    }
+}
@@ -0,0 +1,130 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.enums.VoiceType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Per-stage timings and payload sizes for the synthesis pipeline: tts.stage.duration timers (with an outcome tag)
+ * and tts.stage.payload byte summaries. Both carry the same stage, voice, provider, format and quality tags,
+ * "none" where one does not apply, and fixed histogram buckets for Prometheus. Timed stages are also traced as
+ * tts.stage spans.
+ */
+@Component
+public class SynthesisMetrics {
+
+    public static final String TRANSLATION = "translation";
+    public static final String SYNTHESIS = "synthesis";
+    public static final String PCM_EXTRACTION = "pcm-extraction";
+    public static final String WAV_CONVERSION = "wav-conversion";
+    public static final String ENCODE = "encode";
+    public static final String RESPONSE_WRITE = "response-write";
+
+    private static final String NONE = "none";
+
+    private static final Duration[] DURATION_BUCKETS = {
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5),
+            Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60)
+    };
+
+    // 1 KB to 16 MB in powers of four
+    private static final double[] PAYLOAD_BUCKETS = {
+            1 << 10, 1 << 12, 1 << 14, 1 << 16, 1 << 18, 1 << 20, 1 << 22, 1 << 24
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public SynthesisMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * The tags of one pipeline stage; start from {@link #of} and fill in what the stage knows.
+     */
+    public record Stage(String name, String voice, String provider, String format, String quality) {
+
+        public static Stage of(String name) {
+            return new Stage(name, NONE, NONE, NONE, NONE);
+        }
+
+        public Stage voice(VoiceType voiceType) {
+            return new Stage(name, voiceType != null ? voiceType.name() : NONE, provider, format, quality);
+        }
+
+        public Stage provider(String provider) {
+            return new Stage(name, voice, orNone(provider), format, quality);
+        }
+
+        public Stage format(String format) {
+            return new Stage(name, voice, provider, orNone(format).toLowerCase(Locale.ROOT), quality);
+        }
+
+        public Stage quality(String quality) {
+            return new Stage(name, voice, provider, format, orNone(quality));
+        }
+
+        Tags tags() {
+            return Tags.of("stage", name, "voice", voice, "provider", provider, "format", format, "quality", quality);
+        }
+
+        private static String orNone(String value) {
+            return value == null || value.isBlank() ? NONE : value;
+        }
+    }
+
+    @FunctionalInterface
+    public interface StageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Runs the stage in its own span and records its duration, tagged with whether it succeeded.
+     */
+    public <T, E extends Exception> T time(Stage stage, StageCall<T, E> call) throws E {
+        Observation observation = Observation.createNotStarted("tts.stage", observationRegistry)
+                .contextualName(stage.name())
+                .lowCardinalityKeyValue("stage", stage.name())
+                .highCardinalityKeyValue("voice", stage.voice())
+                .highCardinalityKeyValue("provider", stage.provider())
+                .highCardinalityKeyValue("format", stage.format())
+                .highCardinalityKeyValue("quality", stage.quality());
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = observation.observeChecked(call::call);
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("tts.stage.duration")
+                    .description("Time spent in one stage of the synthesis pipeline")
+                    .tags(stage.tags()).tag("outcome", outcome)
+                    .serviceLevelObjectives(DURATION_BUCKETS)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Records the size of what the stage produced.
+     */
+    public void payload(Stage stage, long bytes) {
+        DistributionSummary.builder("tts.stage.payload")
+                .description("Size of the output of one stage of the synthesis pipeline")
+                .baseUnit("bytes")
+                .tags(stage.tags())
+                .serviceLevelObjectives(PAYLOAD_BUCKETS)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+}
@@ -2,103 +2,135 @@ package com.dAdK.dubAI.services.tts;
 
 import com.dAdK.dubAI.dto.TranslateRequest;
 import com.dAdK.dubAI.dto.TtsRequest;
-import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
 import com.dAdK.dubAI.exceptions.TtsProcessingException;
-import com.google.api.gax.core.FixedCredentialsProvider;
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.cloud.texttospeech.v1.*;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.services.jobs.JobHandler;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
+import com.dAdK.dubAI.services.tts.cache.SpeechCache;
+import com.dAdK.dubAI.services.tts.cache.TranslationCache;
+import com.dAdK.dubAI.services.tts.routing.TtsRouter;
+import com.dAdK.dubAI.util.Languages;
+import com.dAdK.dubAI.util.SingleFlight;
 import com.google.genai.Client;
-import com.google.genai.errors.ClientException;
 import com.google.genai.types.*;
-import com.google.protobuf.ByteString;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import static com.dAdK.dubAI.util.WavConverter.convertPcmToWav;
-
 @Service
-public class TextToSpeechServiceImpl implements TextToSpeechService {
+public class TextToSpeechServiceImpl implements TextToSpeechService, JobHandler {
 
     private static final Logger log = LoggerFactory.getLogger(TextToSpeechServiceImpl.class);
 
-    private TextToSpeechClient gcTtsClient;
+    private final SpeechCache speechCache;
+    private final TranslationCache translationCache;
+    private final SingleFlight<byte[]> inFlightSyntheses;
+    private final ProviderResilience providerResilience;
+    private final TtsRouter ttsRouter;
+    private final SynthesisMetrics synthesisMetrics;
+
     private Client geminiClient;
 
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
-    @Value("${gcp.credentials.path}")
-    private String gcpCredentialsPath;
-
-    @Value("${gemini.tts.model}")
-    private String GEMINI_TTS_MODEL;
+    @Value("${gemini.base-url:}")
+    private String geminiBaseUrl;
 
     @Value("${gemini.translation.model}")
     private String GEMINI_TRANSLATION_MODEL;
 
+    /**
+     * The four translation prompts built by {@link #buildPrompt}. Part of the translation cache key.
+     */
+    private enum PromptCase {
+        PREVIEW_TRANSLATE,
+        PREVIEW_EXISTING,
+        ROMANIZE_EXISTING,
+        TRANSLATE_AND_ROMANIZE
+    }
+
+    public TextToSpeechServiceImpl(SpeechCache speechCache, TranslationCache translationCache,
+                                   MeterRegistry meterRegistry, SynthesisMetrics synthesisMetrics,
+                                   ProviderResilience providerResilience, TtsRouter ttsRouter) {
+        this.speechCache = speechCache;
+        this.translationCache = translationCache;
+        this.inFlightSyntheses = new SingleFlight<>("synthesis", meterRegistry);
+        this.providerResilience = providerResilience;
+        this.ttsRouter = ttsRouter;
+        this.synthesisMetrics = synthesisMetrics;
+    }
 
     @PostConstruct
     public void init() {
-        initializeGoogleCloudTtsClient();
         initializeGeminiClient();
     }
 
-    private void initializeGoogleCloudTtsClient() {
-        try {
-            GoogleCredentials credentials = GoogleCredentials.fromStream(new FileInputStream(gcpCredentialsPath));
-            TextToSpeechSettings settings = TextToSpeechSettings.newBuilder()
-                    .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
-                    .build();
-            this.gcTtsClient = TextToSpeechClient.create(settings);
-            log.info("Google Cloud TextToSpeechClient initialized successfully.");
-        } catch (IOException e) {
-            log.error("Failed to initialize Google Cloud TextToSpeechClient.", e);
-        }
-    }
-
     private void initializeGeminiClient() {
         try {
             if (geminiApiKey != null && !geminiApiKey.isBlank()) {
-                this.geminiClient = new Client.Builder()
-                        .apiKey(geminiApiKey)
-                        .build();
+                Client.Builder builder = new Client.Builder().apiKey(geminiApiKey);
+                if (geminiBaseUrl != null && !geminiBaseUrl.isBlank()) {
+                    builder.httpOptions(HttpOptions.builder().baseUrl(geminiBaseUrl).build());
+                }
+                this.geminiClient = builder.build();
                 log.info("Gemini Client initialized successfully.");
             } else {
-                log.warn("Gemini API key is not configured. Gemini TTS will not be available.");
+                log.warn("Gemini API key is not configured. Translation will not be available.");
             }
         } catch (Exception e) {
             log.error("Failed to initialize Gemini Client.", e);
         }
     }
 
-    @PreDestroy
-    public void cleanup() {
-        if (gcTtsClient != null) {
-            gcTtsClient.close();
-            log.info("Google Cloud TextToSpeechClient closed.");
-        }
-    }
-
     @Override
     public byte[] generateSpeech(TtsRequest request) {
 
         String voiceId = request.voiceType().getVoiceIdentifier();
-        log.info("Generating speech for text ({} chars) with voiceType ID: {}", request.text().length(), voiceId);
+
+        // bypassCache forces a fresh synthesis; the result still replaces the cached entry
+        String cacheKey = SpeechCache.keyFor(request, ttsRouter.primary(request.voiceType()).model());
+        if (!Boolean.TRUE.equals(request.bypassCache())) {
+            byte[] cached = speechCache.get(cacheKey);
+            if (cached != null) {
+                log.info("Serving {} bytes of cached audio for voiceType ID: {}", cached.length, voiceId);
+                return cached;
+            }
+        }
+
+        // Identical requests arriving while this one is synthesized wait for it instead of calling the provider again
+        return inFlightSyntheses.execute(cacheKey, () -> synthesize(request, cacheKey));
+    }
+
+    private byte[] synthesize(TtsRequest request, String cacheKey) {
+        log.info("Generating speech for text ({} chars) with voiceType ID: {}",
+                request.text().length(), request.voiceType().getVoiceIdentifier());
 
         try {
-            return voiceId.contains("Wavenet")
-                    ? generateWaveNetSpeech(request.text(), request.voiceType(), request.language(), request.userPrompt(), request.translatedText(), false)
-                    : generateGeminiSpeech(request.text(), request.voiceType(), GEMINI_TTS_MODEL, request.language(), request.userPrompt(), request.emotion(), request.translatedText(), false);
+            // Translated once, whichever provider ends up reading it
+            SynthesisMetrics.Stage translation = SynthesisMetrics.Stage.of(SynthesisMetrics.TRANSLATION)
+                    .voice(request.voiceType()).provider("gemini").format("text");
+            String textForTts = synthesisMetrics.time(translation, () -> getTranslatedText(new TranslateRequest(
+                    request.text(), request.language(), request.userPrompt(), request.translatedText(), false)));
+            synthesisMetrics.payload(translation, textForTts.getBytes(StandardCharsets.UTF_8).length);
+            TtsRouter.Result result = ttsRouter.synthesize(request, textForTts, AudioCompressionService.sourceFormat(request));
+            // Audio from a substitute voice is not cached, so the requested voice is served again once it recovers
+            if (!result.fallback()) {
+                speechCache.put(cacheKey, result.audio());
+            }
+            return result.audio();
         } catch (Exception e) {
-            if (e instanceof TtsProcessingException) {
+            if (e instanceof TtsProcessingException || e instanceof ProviderOverloadedException
+                    || e instanceof ProviderUnavailableException) {
                 throw e;
             }
             log.error("Unexpected error in generateSpeech: {}", e.getMessage(), e);
@@ -108,234 +140,91 @@ public class TextToSpeechServiceImpl implements TextToSpeechService {
 
 
     @Override
-    public String translateText(TranslateRequest translateRequest) {
-        try {
-            return getTranslatedText(translateRequest);
-        } catch (Exception e) {
-            log.error("Error translating text: {}", e.getMessage(), e);
-            return translateRequest.text(); // Fallback to original text on error
-        }
+    public JobType jobType() {
+        return JobType.TTS;
     }
 
-    /**
-     * Generates speech using Google Cloud Text-to-Speech (WaveNet) API.
-     */
-    private byte[] generateWaveNetSpeech(String text, VoiceType voiceType, String language, String userPrompt, String translatedText, Boolean previewOnly) {
-        try {
-            TranslateRequest translateRequest = new TranslateRequest(
-                    text,
-                    language,
-                    userPrompt,
-                    translatedText,
-                    previewOnly
-            );
-
-            String textForTts = getTranslatedText(translateRequest);
-
-            SynthesisInput input = SynthesisInput.newBuilder().setText(textForTts).build();
-
-            VoiceSelectionParams voice = VoiceSelectionParams.newBuilder()
-                    .setLanguageCode(getLanguageCode(voiceType))
-                    .setName(voiceType.getVoiceIdentifier())
-                    .setSsmlGender(mapGender(voiceType.getGender()))
-                    .build();
-
-            AudioConfig audioConfig = AudioConfig.newBuilder()
-                    .setAudioEncoding(AudioEncoding.MP3)
-                    .build();
-
-            com.google.cloud.texttospeech.v1.SynthesizeSpeechResponse response =
-                    gcTtsClient.synthesizeSpeech(input, voice, audioConfig);
-
-            ByteString audioContents = response.getAudioContent();
-            byte[] audioData = audioContents.toByteArray();
-
-            if (audioData.length == 0) {
-                log.warn("WaveNet TTS returned empty audio data for voiceType {}.", voiceType.name());
-                return null;
-            }
-
-            log.info("Successfully generated {} bytes of WaveNet audio data for voiceType {}.",
-                    audioData.length, voiceType.name());
-            return audioData;
-
-        } catch (Exception e) {
-            log.error("Error generating WaveNet speech for voiceType {}: {}",
-                    voiceType.name(), e.getMessage(), e);
-            return null;
+    @Override
+    public void runJob(Job job) {
+        byte[] audio = generateSpeech(job.getTtsRequest());
+        if (audio == null || audio.length == 0) {
+            throw new TtsProcessingException("Speech generation returned no audio data");
         }
+        job.setResultAudio(audio);
+        job.setResultContentType("mp3".equals(AudioCompressionService.sourceFormat(job.getTtsRequest())) ? "audio/mpeg" : "audio/wav");
     }
 
-    /**
-     * Generates speech using Gemini TTS API and converts PCM to WAV format.
-     */
-    private byte[] generateGeminiSpeech(String text, VoiceType voiceType, String modelId, String language, String userPrompt, String emotion, String translatedText, Boolean previewOnly) {
-        if (geminiClient == null) {
-            log.error("Gemini client is not initialized. Cannot generate Gemini speech.");
-            throw new TtsProcessingException("Gemini TTS service is not available. Please check API configuration.");
-        }
-
-        try {
-            GenerateContentResponse response = callGeminiTtsApi(text, voiceType, modelId, language, userPrompt, emotion, translatedText, previewOnly);
-            byte[] pcmData = extractPcmDataFromResponse(response, voiceType);
-
-            if (pcmData == null) {
-                throw new TtsProcessingException("Failed to extract audio data from Gemini TTS response for voiceType: " + voiceType.name());
-            }
-
-            byte[] wavData = convertPcmToWav(pcmData);
-            log.info("Successfully generated {} bytes of Gemini WAV audio data for voiceType {}.",
-                    wavData.length, voiceType.name());
-            return wavData;
-
-        } catch (ClientException e) {
-            // Handle specific Gemini API errors
-            String errorMessage = e.getMessage() != null ? e.getMessage() : "Unknown Gemini API error";
-            log.error("Gemini TTS API error for voiceType {}: {}", voiceType.name(), errorMessage, e);
-
-            if (errorMessage.contains("429") || errorMessage.contains("quota exceeded") || errorMessage.contains("RATE_LIMIT_EXCEEDED")) {
-                throw new TtsProcessingException("Gemini TTS quota exceeded. " +
-                        "Please check your billing plan or retry after the quota resets.", e);
-            } else if (errorMessage.contains("rate limit") || errorMessage.contains("QUOTA_EXCEEDED")) {
-                throw new TtsProcessingException("Gemini TTS rate limit exceeded. " +
-                        "Please reduce request frequency or upgrade your plan.", e);
-            } else if (errorMessage.contains("PERMISSION_DENIED") || errorMessage.contains("401")) {
-                throw new TtsProcessingException("Gemini TTS authentication failed. Please check your API key.", e);
-            } else if (errorMessage.contains("RESOURCE_EXHAUSTED")) {
-                throw new TtsProcessingException("Gemini TTS resources are currently unavailable. Please try again later.", e);
-            } else if (errorMessage.contains("INVALID_ARGUMENT") || errorMessage.contains("400")) {
-                throw new TtsProcessingException("Invalid request to Gemini TTS. Please check your input parameters.", e);
-            } else if (errorMessage.contains("INTERNAL") || errorMessage.contains("500")) {
-                throw new TtsProcessingException("Gemini TTS service internal error. Please try again later.", e);
-            } else {
-                throw new TtsProcessingException("Gemini TTS request failed: " + errorMessage, e);
-            }
-        } catch (Exception e) {
-            log.error("Unexpected error generating Gemini speech for voiceType {}: {}",
-                    voiceType.name(), e.getMessage(), e);
-            throw new TtsProcessingException("Unexpected error in Gemini TTS processing: " + e.getMessage(), e);
-        }
+    @Override
+    public String translateText(TranslateRequest translateRequest) {
+        return getTranslatedText(translateRequest);
     }
 
-    private GenerateContentResponse callGeminiTtsApi(
-            String text,
-            VoiceType voiceType,
-            String modelId,
-            String language,
-            String userPrompt,
-            String emotion,
-            String translatedText,
-            Boolean previewOnly
-    ) {
-        TranslateRequest translateRequest = new TranslateRequest(
-                text,
-                language,
-                userPrompt,
-                translatedText,
-                previewOnly
-        );
-        // --- STEP 1: Translate the text to the specified language ---
-        // This ensures the TTS model receives text in the correct script.
-        String textForTts = getTranslatedText(translateRequest);
-
-        // --- Configure the voiceType ---
-        PrebuiltVoiceConfig prebuiltVoiceConfig = PrebuiltVoiceConfig.builder()
-                .voiceName(voiceType.getVoiceIdentifier())
-                .build();
-
-        VoiceConfig voiceConfig = VoiceConfig.builder()
-                .prebuiltVoiceConfig(prebuiltVoiceConfig)
-                .build();
-
-        // --- Configure speech with optional language ---
-        SpeechConfig.Builder speechConfigBuilder = SpeechConfig.builder()
-                .voiceConfig(voiceConfig);
-
-        if (language != null && !language.isBlank()) {
-            // Crucial: Set the language code for the TTS engine configuration
-            speechConfigBuilder.languageCode(language);
+    private String getTranslatedText(TranslateRequest translateRequest) {
+        // Early returns for invalid inputs
+        if (translateRequest.language() == null || translateRequest.language().isBlank() || translateRequest.text() == null || translateRequest.text().isBlank()) {
+            return translateRequest.text();
         }
 
-        SpeechConfig speechConfig = speechConfigBuilder.build();
-
-        // --- Build the generation config for audio output ---
-        GenerateContentConfig config = GenerateContentConfig.builder()
-                .responseModalities("AUDIO")
-                .speechConfig(speechConfig)
-                .build();
-
-        // --- Construct the prompt dynamically ---
-        StringBuilder promptBuilder = new StringBuilder();
-
-        // Note: The specific language instruction is now less critical since the text is already translated,
-        // but it still serves as a reinforcement for the TTS model's accent/reading.
-        // Define the desired role and core task upfront
-        String basePrompt = "You are a professional Text-to-Speech (TTS) voice generator. Your task is to vocalize the provided text exactly, adhering to all style, emotion, and language instructions.";
-        promptBuilder.append(basePrompt);
-
-        // 1. Language Instruction (Highest Priority for correct pronunciation)
-        if (language != null && !language.isBlank()) {
-            String languageName = getLanguageName(language);
-            promptBuilder.append(" Please generate the audio in **")
-                    .append(languageName)
-                    .append("**.")
-                    .append(" Speak naturally in this language.");
+        // Build prompt based on conditions
+        PromptCase promptCase = resolvePromptCase(translateRequest);
+        String prompt = buildPrompt(translateRequest, promptCase);
+        if (prompt == null) {
+            return translateRequest.text();
         }
 
-        // 2. Emotion/Tone/Style Instructions (Combined for clarity)
-        boolean addedTone = false;
-        if (emotion != null && !emotion.isBlank()) {
-            promptBuilder.append(" Convey the **emotion** of '")
-                    .append(emotion)
-                    .append("' in your voice.");
-            addedTone = true;
+        // Romanization works on the existing translation, every other case on the source text
+        String sourceText = promptCase == PromptCase.ROMANIZE_EXISTING
+                ? translateRequest.translatedText()
+                : translateRequest.text();
+        String cacheKey = TranslationCache.keyFor(promptCase.name(), translateRequest.language(),
+                sourceText, translateRequest.userPrompt(), GEMINI_TRANSLATION_MODEL);
+
+        String cached = translationCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("Translation cache hit for {} ({})", promptCase, translateRequest.language());
+            return cached;
         }
-        if (userPrompt != null && !userPrompt.isBlank()) {
-            if (!addedTone) { // Add a separator only if emotion wasn't just added
-                promptBuilder.append(" Also,");
+
+        // A preview already translated this text: romanize that translation rather than translating again.
+        // The result is cached under the romanization of the preview, so it is shared with clients that send
+        // the preview back as translatedText.
+        if (promptCase == PromptCase.TRANSLATE_AND_ROMANIZE) {
+            String preview = translationCache.get(TranslationCache.keyFor(PromptCase.PREVIEW_TRANSLATE.name(),
+                    translateRequest.language(), translateRequest.text(), translateRequest.userPrompt(),
+                    GEMINI_TRANSLATION_MODEL));
+            if (preview != null) {
+                log.debug("Romanizing cached preview translation ({})", translateRequest.language());
+                String romanized = getTranslatedText(new TranslateRequest(translateRequest.text(),
+                        translateRequest.language(), translateRequest.userPrompt(), preview, false));
+                translationCache.put(cacheKey, romanized);
+                return romanized;
             }
-            // UserPrompt gives the speaking style, tone, or delivery instruction
-            promptBuilder.append(" Read the text in a way that matches this **delivery instruction**: '")
-                    .append(userPrompt)
-                    .append("'.");
         }
 
-        // 3. The Text to Be Read (Clear call-to-action)
-        promptBuilder.append(" Here is the text to convert into speech: \"")
-                .append(textForTts)
-                .append("\".");
-
-        // Add a final instruction for clarity/completion
-        promptBuilder.append(" Do not add any commentary or extra text.");
+        // Failures propagate rather than silently passing the untranslated text on to synthesis
+        String translated = callGeminiAPI(prompt, GEMINI_TRANSLATION_MODEL);
 
-        Content content = Content.builder()
-                .parts(Part.fromText(promptBuilder.toString()))
-                .build();
-
-        // --- Call the model ---
-        return geminiClient.models.generateContent(modelId, List.of(content), config);
+        translationCache.put(cacheKey, translated);
+        return translated;
     }
 
-
-    private String getTranslatedText(TranslateRequest translateRequest) {
-        // Early returns for invalid inputs
-        if (translateRequest.language() == null || translateRequest.language().isBlank() || translateRequest.text() == null || translateRequest.text().isBlank()) {
-            return translateRequest.text();
+    private PromptCase resolvePromptCase(TranslateRequest translateRequest) {
+        if (translateRequest.previewOnly() && translateRequest.translatedText().isEmpty()) {
+            return PromptCase.PREVIEW_TRANSLATE;
+        } else if (translateRequest.previewOnly() && !translateRequest.translatedText().isEmpty()) {
+            return PromptCase.PREVIEW_EXISTING;
+        } else if (!translateRequest.previewOnly() && !translateRequest.translatedText().isEmpty()) {
+            return PromptCase.ROMANIZE_EXISTING;
         }
-
-        // Build prompt based on conditions
-        String prompt = buildPrompt(translateRequest);
-
-        // Call Gemini API
-        return callGeminiAPI(prompt, translateRequest.text(), GEMINI_TRANSLATION_MODEL);
+        return PromptCase.TRANSLATE_AND_ROMANIZE;
     }
 
-    private String buildPrompt(TranslateRequest translateRequest) {
+    private String buildPrompt(TranslateRequest translateRequest, PromptCase promptCase) {
         StringBuilder prompt = new StringBuilder();
-        String languageName = getLanguageName(translateRequest.language());
+        String languageName = Languages.displayName(translateRequest.language());
 
         // Case 1: Preview mode with no existing translation
-        if (translateRequest.previewOnly() && translateRequest.translatedText().isEmpty()) {
+        if (promptCase == PromptCase.PREVIEW_TRANSLATE) {
             prompt.append(String.format("""
                     You are an expert translator. Translate the text below into %s.
                     
@@ -355,11 +244,11 @@ public class TextToSpeechServiceImpl implements TextToSpeechService {
                     **Text:** %s""", languageName, translateRequest.text()));
         }
         // Case 2: Preview mode with existing translation - return early in parent method
-        else if (translateRequest.previewOnly() && !translateRequest.translatedText().isEmpty()) {
+        else if (promptCase == PromptCase.PREVIEW_EXISTING) {
             return null; // Signal to return translatedText directly
         }
         // Case 3: Non-preview with existing translation - romanize
-        else if (!translateRequest.previewOnly() && !translateRequest.translatedText().isEmpty()) {
+        else if (promptCase == PromptCase.ROMANIZE_EXISTING) {
             prompt.append(String.format("""
                     You are a translation assistant.
                     
@@ -396,12 +285,14 @@ public class TextToSpeechServiceImpl implements TextToSpeechService {
         return prompt.toString();
     }
 
-    private String callGeminiAPI(String prompt, String fallbackText, String modelId) {
-        // Handle early return case
-        if (prompt == null) {
-            return fallbackText;
-        }
-
+    /**
+     * Sends a translation prompt to Gemini, retrying transient failures.
+     *
+     * @return the model output
+     * @throws TtsProcessingException if the call failed or returned no text
+     */
+    String callGeminiAPI(String prompt, String modelId) {
+        String text;
         try {
             Content content = Content.builder()
                     .parts(Part.fromText(prompt))
@@ -409,124 +300,19 @@ public class TextToSpeechServiceImpl implements TextToSpeechService {
 
             GenerateContentConfig config = GenerateContentConfig.builder().build();
 
-            GenerateContentResponse response = geminiClient.models.generateContent(
-                    modelId,
-                    List.of(content),
-                    config
-            );
-
-            return response.text();
+            GenerateContentResponse response = providerResilience.call("gemini", modelId,
+                    () -> geminiClient.models.generateContent(modelId, List.of(content), config));
+            text = response.text();
 
+        } catch (ProviderOverloadedException | ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error during translation: " + e.getMessage());
-            e.printStackTrace(); // Added for better debugging
-            return fallbackText;
+            log.error("Error during translation: {}", e.getMessage(), e);
+            throw new TtsProcessingException("Translation failed: " + e.getMessage(), e);
         }
-    }
-
-    /**
-     * Maps language code to human-readable language name for prompts.
-     */
-    private String getLanguageName(String languageCode) {
-        if (languageCode == null) {
-            return "English";
-        }
-        return switch (languageCode.toLowerCase()) {
-            case "en-in" -> "English (India)";
-            case "en-us" -> "English (United States)";
-            case "en" -> "English";
-            case "es" -> "Spanish";
-            case "fr" -> "French";
-            case "de" -> "German";
-            case "zh" -> "Chinese";
-            case "hi", "hin" -> "Hindi";
-            case "ja", "jp" -> "Japanese";
-            case "ko" -> "Korean";
-            case "gu-in" -> "Gujarati (India)";
-            case "kn-in" -> "Kannada (India)";
-            case "kok-in" -> "Konkani (India)";
-            case "mai-in" -> "Maithili (India)";
-            case "ml-in" -> "Malayalam (India)";
-            case "or-in" -> "Odia (India)";
-            case "pa-in" -> "Punjabi (India)";
-            case "sd-in" -> "Sindhi (India)";
-
-            // Fallback for short codes without region
-            case "gu" -> "Gujarati (India)";
-            case "kn" -> "Kannada (India)";
-            case "kok" -> "Konkani (India)";
-            case "mai" -> "Maithili (India)";
-            case "ml" -> "Malayalam (India)";
-            case "or" -> "Odia (India)";
-            case "pa" -> "Punjabi (India)";
-            case "sd" -> "Sindhi (India)";
-
-            default -> "English";
-        };
-    }
-
-
-    /**
-     * Extracts PCM audio data from Gemini API response.
-     */
-    private byte[] extractPcmDataFromResponse(GenerateContentResponse response, VoiceType voiceType) {
-        if (response.parts() == null || response.parts().isEmpty()) {
-            log.warn("No parts found in Gemini TTS response for voiceType {}", voiceType.name());
-            return null;
-        }
-
-        Part firstPart = response.parts().get(0);
-
-        if (firstPart.inlineData().isEmpty() || firstPart.inlineData().get().data().isEmpty()) {
-            log.warn("No inline data found in Gemini TTS response for voiceType {}", voiceType.name());
-            return null;
-        }
-
-        byte[] pcmData = firstPart.inlineData().get().data().get();
-
-        if (pcmData.length == 0) {
-            log.warn("Gemini TTS returned empty audio data for voiceType {}.", voiceType.name());
-            return null;
+        if (text == null || text.isBlank()) {
+            throw new TtsProcessingException("Translation returned no text");
         }
-
-        log.info("Extracted {} bytes of PCM data from Gemini response", pcmData.length);
-        return pcmData;
-    }
-
-
-    /**
-     * Maps gender string to Google Cloud TTS gender enum.
-     */
-    private SsmlVoiceGender mapGender(String gender) {
-        return switch (gender.toUpperCase()) {
-            case "MALE" -> SsmlVoiceGender.MALE;
-            case "FEMALE" -> SsmlVoiceGender.FEMALE;
-            default -> SsmlVoiceGender.NEUTRAL;
-        };
-    }
-
-    /**
-     * Extracts language code from voiceType type identifier.
-     */
-    private String getLanguageCode(VoiceType voiceType) {
-        String id = voiceType.getVoiceIdentifier();
-
-        // Parse WaveNet voiceType IDs (e.g., "en-US-Wavenet-D" -> "en-US")
-        if (id.contains("Wavenet")) {
-            int secondDashIndex = id.indexOf('-');
-            int thirdDashIndex = id.indexOf('-', secondDashIndex + 1);
-            if (thirdDashIndex > 0) {
-                return id.substring(0, thirdDashIndex);
-            }
-        }
-
-        // Fallback for specific voiceType types
-        return switch (voiceType) {
-            case EN_US_MALE, EN_US_FEMALE -> "en-US";
-            case EN_GB_FEMALE -> "en-GB";
-            case ES_ES_MALE -> "es-ES";
-            case JA_JP_FEMALE -> "ja-JP";
-            default -> "en-US";
-        };
+        return text;
     }
 }
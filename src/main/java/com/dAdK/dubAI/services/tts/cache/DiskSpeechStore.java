@@ -0,0 +1,144 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Disk tier of the speech cache. One file per entry, named after the cache key,
+ * with an in-memory LRU index so eviction never has to walk the directory.
+ */
+class DiskSpeechStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskSpeechStore.class);
+    private static final String SUFFIX = ".audio";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    DiskSpeechStore(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    /**
+     * Rebuilds the index from files left by a previous run, oldest first so they are evicted first.
+     */
+    private void loadIndex() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+
+        List<Map.Entry<Path, FileTime>> ordered = new ArrayList<>();
+        for (Path file : files) {
+            ordered.add(Map.entry(file, Files.getLastModifiedTime(file)));
+        }
+        ordered.sort(Map.Entry.comparingByValue());
+
+        for (Map.Entry<Path, FileTime> entry : ordered) {
+            String name = entry.getKey().getFileName().toString();
+            long size = Files.size(entry.getKey());
+            index.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            currentBytes += size;
+        }
+        logger.info("Speech disk cache loaded {} entries ({} bytes) from {}", index.size(), currentBytes, directory);
+    }
+
+    byte[] get(String key) {
+        synchronized (this) {
+            // get, not containsKey: only get moves the entry to the tail of the access order
+            if (index.get(key) == null) {
+                return null;
+            }
+        }
+
+        Path file = fileFor(key);
+        try {
+            byte[] audio = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return audio;
+        } catch (NoSuchFileException e) {
+            forget(key);
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed to read cached speech {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the entry atomically and evicts least recently used files until the tier fits its budget.
+     *
+     * @return number of entries evicted to make room
+     */
+    int put(String key, byte[] audio) {
+        if (audio.length > maxBytes) {
+            return 0;
+        }
+
+        Path target = fileFor(key);
+        try {
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, audio);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write cached speech {}: {}", target, e.getMessage());
+            return 0;
+        }
+
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            Long previous = index.put(key, (long) audio.length);
+            if (previous != null) {
+                currentBytes -= previous;
+            }
+            currentBytes += audio.length;
+
+            Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                currentBytes -= eldest.getValue();
+                victims.add(eldest.getKey());
+                iterator.remove();
+            }
+        }
+
+        for (String victim : victims) {
+            try {
+                Files.deleteIfExists(fileFor(victim));
+            } catch (IOException e) {
+                logger.warn("Failed to delete evicted speech cache file for {}: {}", victim, e.getMessage());
+            }
+        }
+        return victims.size();
+    }
+
+    synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    synchronized int entryCount() {
+        return index.size();
+    }
+
+    private synchronized void forget(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            currentBytes -= size;
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
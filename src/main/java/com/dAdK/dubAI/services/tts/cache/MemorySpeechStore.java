@@ -0,0 +1,63 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-heap LRU tier of the speech cache, bounded by the total size of the stored audio.
+ */
+class MemorySpeechStore {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    MemorySpeechStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the entry and evicts least recently used entries until the tier fits its budget.
+     *
+     * @return number of entries evicted to make room
+     */
+    synchronized int put(String key, byte[] audio) {
+        if (audio.length > maxBytes) {
+            return 0;
+        }
+
+        byte[] previous = entries.put(key, audio);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += audio.length;
+
+        int evicted = 0;
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            currentBytes -= eldest.getValue().length;
+            iterator.remove();
+            evicted++;
+        }
+        return evicted;
+    }
+
+    synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Content-addressed cache for synthesized speech.
+ * Entries are keyed by a hash of the normalized TTS request and kept in an in-heap LRU tier
+ * backed by a write-through disk tier. A disk hit is promoted back into memory.
+ */
+@Service
+public class SpeechCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeechCache.class);
+
+    private final boolean enabled;
+    private final MemorySpeechStore memoryStore;
+    private final DiskSpeechStore diskStore;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+    private final Counter memoryEvictions;
+    private final Counter diskEvictions;
+
+    public SpeechCache(
+            @Value("${tts.cache.enabled:true}") boolean enabled,
+            @Value("${tts.cache.memory.max-bytes:67108864}") long memoryMaxBytes,
+            @Value("${tts.cache.disk.enabled:true}") boolean diskEnabled,
+            @Value("${tts.cache.disk.dir:${java.io.tmpdir}/dubai-tts-cache}") String diskDir,
+            @Value("${tts.cache.disk.max-bytes:1073741824}") long diskMaxBytes,
+            MeterRegistry meterRegistry) {
+
+        this.enabled = enabled;
+        this.memoryStore = new MemorySpeechStore(memoryMaxBytes);
+        this.diskStore = enabled && diskEnabled ? openDiskStore(Path.of(diskDir), diskMaxBytes) : null;
+
+        this.memoryHits = Counter.builder("tts.cache.hits").tag("tier", "memory")
+                .description("Speech cache hits").register(meterRegistry);
+        this.diskHits = Counter.builder("tts.cache.hits").tag("tier", "disk")
+                .description("Speech cache hits").register(meterRegistry);
+        this.misses = Counter.builder("tts.cache.misses")
+                .description("Speech cache misses").register(meterRegistry);
+        this.memoryEvictions = Counter.builder("tts.cache.evictions").tag("tier", "memory")
+                .description("Entries evicted from the speech cache").register(meterRegistry);
+        this.diskEvictions = Counter.builder("tts.cache.evictions").tag("tier", "disk")
+                .description("Entries evicted from the speech cache").register(meterRegistry);
+
+        Gauge.builder("tts.cache.size", memoryStore, MemorySpeechStore::sizeInBytes).tag("tier", "memory")
+                .baseUnit("bytes").register(meterRegistry);
+        if (diskStore != null) {
+            Gauge.builder("tts.cache.size", diskStore, DiskSpeechStore::sizeInBytes).tag("tier", "disk")
+                    .baseUnit("bytes").register(meterRegistry);
+        }
+    }
+
+    private DiskSpeechStore openDiskStore(Path directory, long maxBytes) {
+        try {
+            return new DiskSpeechStore(directory, maxBytes);
+        } catch (IOException e) {
+            logger.error("Failed to open speech disk cache at {}. Continuing with memory tier only.", directory, e);
+            return null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks the entry up in memory first, then on disk.
+     *
+     * @return cached audio, or null on a miss
+     */
+    public byte[] get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        byte[] audio = memoryStore.get(key);
+        if (audio != null) {
+            memoryHits.increment();
+            return audio;
+        }
+
+        if (diskStore != null) {
+            audio = diskStore.get(key);
+            if (audio != null) {
+                diskHits.increment();
+                memoryEvictions.increment(memoryStore.put(key, audio));
+                return audio;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, byte[] audio) {
+        if (!enabled || audio == null || audio.length == 0) {
+            return;
+        }
+
+        memoryEvictions.increment(memoryStore.put(key, audio));
+        if (diskStore != null) {
+            diskEvictions.increment(diskStore.put(key, audio));
+        }
+    }
+
+    /**
+     * Builds the cache key for a request: a SHA-256 over the fields that influence the synthesized audio.
+     * Text and prompts are trimmed and the language code is lower-cased so trivially different requests share an entry.
+     * The model identifier is part of the key so switching models never serves stale audio.
+     */
+    public static String keyFor(TtsRequest request, String modelId) {
+        return CacheKeys.sha256(
+                modelId,
+                request.voiceType() != null ? request.voiceType().getVoiceIdentifier() : null,
+                CacheKeys.normalize(request.text()),
+                CacheKeys.normalize(request.language()).toLowerCase(Locale.ROOT),
+                CacheKeys.normalize(request.emotion()),
+                CacheKeys.normalize(request.userPrompt()),
+                CacheKeys.normalize(request.translatedText()));
+    }
+}
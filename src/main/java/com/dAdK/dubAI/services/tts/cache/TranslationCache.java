@@ -0,0 +1,111 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded, TTL-evicting cache of LLM translation results.
+ * Shared by the /translate endpoint and both synthesis paths, so a translation produced
+ * for a preview is reused when the same text is synthesized afterwards.
+ */
+@Service
+public class TranslationCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private record Entry(String value, long expiresAt) {
+    }
+
+    public TranslationCache(
+            @Value("${tts.translation.cache.enabled:true}") boolean enabled,
+            @Value("${tts.translation.cache.max-entries:10000}") int maxEntries,
+            @Value("${tts.translation.cache.ttl-seconds:1800}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+
+        this.hits = Counter.builder("tts.translation.cache.hits")
+                .description("Translation cache hits").register(meterRegistry);
+        this.misses = Counter.builder("tts.translation.cache.misses")
+                .description("Translation cache misses").register(meterRegistry);
+        this.evictions = Counter.builder("tts.translation.cache.evictions")
+                .description("Translations evicted by size or expiry").register(meterRegistry);
+        Gauge.builder("tts.translation.cache.entries", this, TranslationCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the cached translation, or null if absent or expired
+     */
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, String translation) {
+        if (!enabled || translation == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        synchronized (this) {
+            entries.put(key, new Entry(translation, now + ttlMillis));
+
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                if (entries.size() <= maxEntries && eldest.getValue().expiresAt() > now) {
+                    break;
+                }
+                iterator.remove();
+                evicted++;
+            }
+        }
+        evictions.increment(evicted);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Builds the cache key: the prompt case and language stay readable, the source text and
+     * user prompt are hashed together with the model so a model switch never serves stale output.
+     */
+    public static String keyFor(String promptCase, String language, String sourceText, String userPrompt, String modelId) {
+        return promptCase + ":" + CacheKeys.normalize(language).toLowerCase(Locale.ROOT) + ":"
+                + CacheKeys.sha256(modelId, CacheKeys.normalize(sourceText), CacheKeys.normalize(userPrompt));
+    }
+}
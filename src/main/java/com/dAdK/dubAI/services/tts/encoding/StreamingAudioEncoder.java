@@ -0,0 +1,298 @@
+package com.dAdK.dubAI.services.tts.encoding;
+
+import com.dAdK.dubAI.util.PcmFormat;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ws.schild.jave.process.ffmpeg.DefaultFFMPEGLocator;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Encodes audio by piping it through ffmpeg's stdin/stdout.
+ * Unlike the JAVE path this never touches the disk: one process per encode, no temp files and no separate probe.
+ * Concurrent encodes are bounded so a burst of requests cannot fork an unbounded number of ffmpeg processes.
+ */
+@Service
+public class StreamingAudioEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingAudioEncoder.class);
+
+    private static final List<String> OPUS_HEAD = List.of("-c:a", "libopus");
+    private static final List<String> OPUS_TAIL = List.of("-ac", "1", "-ar", "48000", "-f", "opus");
+    private static final List<String> MP3_HEAD = List.of("-c:a", "libmp3lame");
+    private static final List<String> MP3_TAIL = List.of("-ac", "1", "-ar", "44100", "-f", "mp3");
+
+    private final boolean enabled;
+    private final String configuredFfmpegPath;
+    private final long timeoutSeconds;
+    private final Semaphore permits;
+    private final ExecutorService pipeExecutor;
+
+    private volatile String ffmpegPath;
+
+    public StreamingAudioEncoder(
+            @Value("${audio.encoder.streaming.enabled:true}") boolean enabled,
+            @Value("${audio.encoder.ffmpeg-path:}") String configuredFfmpegPath,
+            @Value("${audio.encoder.max-concurrent:8}") int maxConcurrent,
+            @Value("${audio.encoder.timeout-seconds:60}") long timeoutSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.enabled = enabled;
+        this.configuredFfmpegPath = configuredFfmpegPath;
+        this.timeoutSeconds = timeoutSeconds;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.pipeExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ffmpeg-pipe-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("ffmpeg-pipe-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeExecutor.shutdownNow();
+    }
+
+    /**
+     * @return true if streaming is enabled and an ffmpeg executable could be located
+     */
+    public boolean isAvailable() {
+        return enabled && resolveFfmpegPath() != null;
+    }
+
+    public byte[] encodeToOpus(byte[] input, String inputFormat, int bitrate) throws IOException {
+        return encode(List.of("-f", inputFormat), input, 0, input.length, output(OPUS_HEAD, bitrate, OPUS_TAIL));
+    }
+
+    public byte[] encodeToMp3(byte[] input, String inputFormat, int bitrate) throws IOException {
+        return encode(List.of("-f", inputFormat), input, 0, input.length, output(MP3_HEAD, bitrate, MP3_TAIL));
+    }
+
+    /**
+     * Encodes raw PCM to Ogg Opus with no container in between. ffmpeg is told the layout up front, so it
+     * skips probing and demuxing, and it resamples to Opus's 48 kHz as the samples stream through. The PCM
+     * goes to ffmpeg straight from {@code pcm[offset, offset + length)}, so the PCM inside a WAV needs no copy.
+     */
+    public byte[] encodePcmToOpus(byte[] pcm, int offset, int length, PcmFormat format, int bitrate) throws IOException {
+        return encode(rawInput(format), pcm, offset, length, output(OPUS_HEAD, bitrate, OPUS_TAIL));
+    }
+
+    /**
+     * Encodes raw PCM to MP3, like {@link #encodePcmToOpus} at 44.1 kHz.
+     */
+    public byte[] encodePcmToMp3(byte[] pcm, int offset, int length, PcmFormat format, int bitrate) throws IOException {
+        return encode(rawInput(format), pcm, offset, length, output(MP3_HEAD, bitrate, MP3_TAIL));
+    }
+
+    private static List<String> rawInput(PcmFormat format) {
+        // WAV's 8-bit PCM is unsigned, wider samples are signed
+        String sampleFormat = format.bitsPerSample() == 8 ? "u8" : "s" + format.bitsPerSample() + "le";
+        return List.of("-f", sampleFormat,
+                "-ar", String.valueOf(format.sampleRate()),
+                "-ac", String.valueOf(format.channels()));
+    }
+
+    private static List<String> output(List<String> codec, int bitrate, List<String> format) {
+        List<String> args = new ArrayList<>(codec);
+        args.add("-b:a");
+        args.add(String.valueOf(bitrate));
+        args.addAll(format);
+        return args;
+    }
+
+    /**
+     * Receives decoded PCM.
+     */
+    @FunctionalInterface
+    public interface PcmConsumer<T> {
+        T accept(InputStream pcm) throws IOException;
+    }
+
+    /**
+     * Decodes an audio file of any supported container to 16-bit, mono, little-endian PCM and hands it to the
+     * consumer as a stream, so long recordings are never held in memory whole.
+     * Reads from a file rather than stdin because mp4/m4a inputs need a seekable source. ffmpeg writes to a spool
+     * file under the encoder timeout, and its slot is released before the consumer runs: a consumer that takes
+     * minutes (long-form analysis) neither holds a slot encodes need nor outlives the timeout's reach.
+     */
+    public <T> T decodeToPcm(Path input, int sampleRate, PcmConsumer<T> consumer) throws IOException {
+        String executable = resolveFfmpegPath();
+        if (executable == null) {
+            throw new IOException("ffmpeg executable is not available for decoding");
+        }
+
+        List<String> command = List.of(
+                executable, "-hide_banner", "-nostdin", "-loglevel", "error",
+                "-i", input.toString(), "-vn",
+                "-ac", "1", "-ar", String.valueOf(sampleRate),
+                "-f", "s16le", "pipe:1");
+
+        Path spool = Files.createTempFile("ffmpeg-decode-", ".pcm");
+        try {
+            decodeTo(command, spool);
+            try (InputStream pcm = new BufferedInputStream(Files.newInputStream(spool))) {
+                return consumer.accept(pcm);
+            }
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private void decodeTo(List<String> command, Path spool) throws IOException {
+        acquireSlot();
+
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command).redirectOutput(spool.toFile()).start();
+            process.getOutputStream().close();
+            Process running = process;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+            Future<String> stderr = pipeExecutor.submit(() -> {
+                try (InputStream err = running.getErrorStream()) {
+                    return new String(err.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            });
+
+            if (!process.waitFor(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                throw new IOException("ffmpeg did not finish within " + timeoutSeconds + "s");
+            }
+
+            String errors = stderr.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg exited with code " + process.exitValue() + ": " + errors.trim());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during decode", e);
+        } catch (TimeoutException e) {
+            throw new IOException("ffmpeg did not finish within " + timeoutSeconds + "s", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to pump ffmpeg pipes: " + e.getMessage(), e);
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Pipes {@code input[offset, offset + length)} through ffmpeg, described by inputArgs, and returns its output.
+     */
+    private byte[] encode(List<String> inputArgs, byte[] input, int offset, int length, List<String> outputArgs)
+            throws IOException {
+        String executable = resolveFfmpegPath();
+        if (executable == null) {
+            throw new IOException("ffmpeg executable is not available for streaming encode");
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+                executable, "-hide_banner", "-nostdin", "-loglevel", "error"));
+        command.addAll(inputArgs);
+        command.addAll(List.of("-i", "pipe:0", "-vn"));
+        command.addAll(outputArgs);
+        command.add("pipe:1");
+
+        acquireSlot();
+
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command).start();
+            Process running = process;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+            // All three pipes are pumped on helper threads, so this thread only waits, and never past the deadline
+            Future<String> stderr = pipeExecutor.submit(() -> {
+                try (OutputStream stdin = running.getOutputStream()) {
+                    stdin.write(input, offset, length);
+                } catch (IOException e) {
+                    logger.debug("ffmpeg closed stdin early: {}", e.getMessage());
+                }
+                try (InputStream err = running.getErrorStream()) {
+                    return new String(err.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            });
+            Future<byte[]> stdout = pipeExecutor.submit(() -> {
+                try (InputStream out = running.getInputStream()) {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(1024, length / 4));
+                    out.transferTo(buffer);
+                    return buffer.toByteArray();
+                }
+            });
+
+            byte[] output = stdout.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            if (!process.waitFor(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                throw new IOException("ffmpeg did not finish within " + timeoutSeconds + "s");
+            }
+
+            String errors = stderr.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            if (process.exitValue() != 0 || output.length == 0) {
+                throw new IOException("ffmpeg exited with code " + process.exitValue() + ": " + errors.trim());
+            }
+            return output;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during streaming encode", e);
+        } catch (TimeoutException e) {
+            throw new IOException("ffmpeg did not finish within " + timeoutSeconds + "s", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to pump ffmpeg pipes: " + e.getMessage(), e);
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Waits at most the encode timeout for a slot, so a backlog of stuck processes turns into IOExceptions
+     * (and the JAVE fallback) instead of threads parked forever.
+     */
+    private void acquireSlot() throws IOException {
+        try {
+            if (!permits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException("No ffmpeg slot free within " + timeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an ffmpeg slot", e);
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private String resolveFfmpegPath() {
+        if (ffmpegPath == null && enabled) {
+            synchronized (this) {
+                if (ffmpegPath == null) {
+                    if (configuredFfmpegPath != null && !configuredFfmpegPath.isBlank()) {
+                        ffmpegPath = configuredFfmpegPath;
+                    } else {
+                        try {
+                            ffmpegPath = new DefaultFFMPEGLocator().getExecutablePath();
+                        } catch (Exception | LinkageError e) {
+                            logger.warn("Could not locate the ffmpeg executable bundled with JAVE: {}", e.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+        return ffmpegPath;
+    }
+}
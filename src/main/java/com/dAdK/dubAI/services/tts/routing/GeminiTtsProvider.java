@@ -0,0 +1,273 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
+import com.dAdK.dubAI.services.tts.SynthesisMetrics;
+import com.dAdK.dubAI.util.Languages;
+import com.google.genai.Client;
+import com.google.genai.errors.ClientException;
+import com.google.genai.types.*;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.dAdK.dubAI.util.WavConverter.convertPcmToWav;
+
+/**
+ * Gemini's prebuilt voices through the Gemini TTS model. Returns WAV only.
+ */
+@Component
+public class GeminiTtsProvider implements TtsProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(GeminiTtsProvider.class);
+
+    private final ProviderResilience providerResilience;
+    private final SynthesisMetrics synthesisMetrics;
+
+    private Client geminiClient;
+
+    @Value("${gemini.api.key}")
+    private String geminiApiKey;
+
+    @Value("${gemini.base-url:}")
+    private String geminiBaseUrl;
+
+    @Value("${gemini.tts.model}")
+    private String GEMINI_TTS_MODEL;
+
+    public GeminiTtsProvider(ProviderResilience providerResilience, SynthesisMetrics synthesisMetrics) {
+        this.providerResilience = providerResilience;
+        this.synthesisMetrics = synthesisMetrics;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (geminiApiKey != null && !geminiApiKey.isBlank()) {
+                Client.Builder builder = new Client.Builder().apiKey(geminiApiKey);
+                if (geminiBaseUrl != null && !geminiBaseUrl.isBlank()) {
+                    builder.httpOptions(HttpOptions.builder().baseUrl(geminiBaseUrl).build());
+                }
+                this.geminiClient = builder.build();
+                log.info("Gemini TTS client initialized successfully.");
+            } else {
+                log.warn("Gemini API key is not configured. Gemini TTS will not be available.");
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize Gemini TTS client.", e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "gemini";
+    }
+
+    @Override
+    public String model() {
+        return GEMINI_TTS_MODEL;
+    }
+
+    @Override
+    public boolean supports(VoiceType voiceType) {
+        return !WaveNetTtsProvider.isWaveNetVoice(voiceType);
+    }
+
+    @Override
+    public boolean speaks(VoiceType voiceType, String language) {
+        // Prebuilt voices are multilingual
+        return supports(voiceType);
+    }
+
+    @Override
+    public boolean produces(String format) {
+        return "wav".equals(format);
+    }
+
+    @Override
+    public byte[] synthesize(TtsRequest request, String text, String format) {
+        return generateGeminiSpeech(text, request.voiceType(), GEMINI_TTS_MODEL, request.language(),
+                request.userPrompt(), request.emotion());
+    }
+
+    /**
+     * Generates speech using Gemini TTS API and converts PCM to WAV format.
+     */
+    private byte[] generateGeminiSpeech(String textForTts, VoiceType voiceType, String modelId, String language, String userPrompt, String emotion) {
+        if (geminiClient == null) {
+            log.error("Gemini client is not initialized. Cannot generate Gemini speech.");
+            throw new TtsProcessingException("Gemini TTS service is not available. Please check API configuration.");
+        }
+
+        try {
+            GenerateContentResponse response = callGeminiTtsApi(textForTts, voiceType, modelId, language, userPrompt, emotion);
+            SynthesisMetrics.Stage extraction = SynthesisMetrics.Stage.of(SynthesisMetrics.PCM_EXTRACTION)
+                    .voice(voiceType).provider(name()).format("pcm");
+            byte[] pcmData = synthesisMetrics.time(extraction, () -> extractPcmDataFromResponse(response, voiceType));
+
+            if (pcmData == null) {
+                throw new TtsProcessingException("Failed to extract audio data from Gemini TTS response for voiceType: " + voiceType.name());
+            }
+            synthesisMetrics.payload(extraction, pcmData.length);
+
+            SynthesisMetrics.Stage conversion = SynthesisMetrics.Stage.of(SynthesisMetrics.WAV_CONVERSION)
+                    .voice(voiceType).provider(name()).format("wav");
+            byte[] wavData = synthesisMetrics.time(conversion, () -> convertPcmToWav(pcmData));
+            synthesisMetrics.payload(conversion, wavData.length);
+            log.info("Successfully generated {} bytes of Gemini WAV audio data for voiceType {}.",
+                    wavData.length, voiceType.name());
+            return wavData;
+
+        } catch (ClientException e) {
+            // Handle specific Gemini API errors
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "Unknown Gemini API error";
+            log.error("Gemini TTS API error for voiceType {}: {}", voiceType.name(), errorMessage, e);
+
+            if (errorMessage.contains("429") || errorMessage.contains("quota exceeded") || errorMessage.contains("RATE_LIMIT_EXCEEDED")) {
+                throw new TtsProcessingException("Gemini TTS quota exceeded. " +
+                        "Please check your billing plan or retry after the quota resets.", e);
+            } else if (errorMessage.contains("rate limit") || errorMessage.contains("QUOTA_EXCEEDED")) {
+                throw new TtsProcessingException("Gemini TTS rate limit exceeded. " +
+                        "Please reduce request frequency or upgrade your plan.", e);
+            } else if (errorMessage.contains("PERMISSION_DENIED") || errorMessage.contains("401")) {
+                throw new TtsProcessingException("Gemini TTS authentication failed. Please check your API key.", e);
+            } else if (errorMessage.contains("RESOURCE_EXHAUSTED")) {
+                throw new TtsProcessingException("Gemini TTS resources are currently unavailable. Please try again later.", e);
+            } else if (errorMessage.contains("INVALID_ARGUMENT") || errorMessage.contains("400")) {
+                throw new TtsProcessingException("Invalid request to Gemini TTS. Please check your input parameters.", e);
+            } else if (errorMessage.contains("INTERNAL") || errorMessage.contains("500")) {
+                throw new TtsProcessingException("Gemini TTS service internal error. Please try again later.", e);
+            } else {
+                throw new TtsProcessingException("Gemini TTS request failed: " + errorMessage, e);
+            }
+        } catch (TtsProcessingException | ProviderOverloadedException | ProviderUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error generating Gemini speech for voiceType {}: {}",
+                    voiceType.name(), e.getMessage(), e);
+            throw new TtsProcessingException("Unexpected error in Gemini TTS processing: " + e.getMessage(), e);
+        }
+    }
+
+    private GenerateContentResponse callGeminiTtsApi(
+            String textForTts,
+            VoiceType voiceType,
+            String modelId,
+            String language,
+            String userPrompt,
+            String emotion
+    ) {
+        // --- Configure the voiceType ---
+        PrebuiltVoiceConfig prebuiltVoiceConfig = PrebuiltVoiceConfig.builder()
+                .voiceName(voiceType.getVoiceIdentifier())
+                .build();
+
+        VoiceConfig voiceConfig = VoiceConfig.builder()
+                .prebuiltVoiceConfig(prebuiltVoiceConfig)
+                .build();
+
+        // --- Configure speech with optional language ---
+        SpeechConfig.Builder speechConfigBuilder = SpeechConfig.builder()
+                .voiceConfig(voiceConfig);
+
+        if (language != null && !language.isBlank()) {
+            // Crucial: Set the language code for the TTS engine configuration
+            speechConfigBuilder.languageCode(language);
+        }
+
+        SpeechConfig speechConfig = speechConfigBuilder.build();
+
+        // --- Build the generation config for audio output ---
+        GenerateContentConfig config = GenerateContentConfig.builder()
+                .responseModalities("AUDIO")
+                .speechConfig(speechConfig)
+                .build();
+
+        // --- Construct the prompt dynamically ---
+        StringBuilder promptBuilder = new StringBuilder();
+
+        // Note: The specific language instruction is less critical since the text is already translated,
+        // but it still serves as a reinforcement for the TTS model's accent/reading.
+        // Define the desired role and core task upfront
+        String basePrompt = "You are a professional Text-to-Speech (TTS) voice generator. Your task is to vocalize the provided text exactly, adhering to all style, emotion, and language instructions.";
+        promptBuilder.append(basePrompt);
+
+        // 1. Language Instruction (Highest Priority for correct pronunciation)
+        if (language != null && !language.isBlank()) {
+            String languageName = Languages.displayName(language);
+            promptBuilder.append(" Please generate the audio in **")
+                    .append(languageName)
+                    .append("**.")
+                    .append(" Speak naturally in this language.");
+        }
+
+        // 2. Emotion/Tone/Style Instructions (Combined for clarity)
+        boolean addedTone = false;
+        if (emotion != null && !emotion.isBlank()) {
+            promptBuilder.append(" Convey the **emotion** of '")
+                    .append(emotion)
+                    .append("' in your voice.");
+            addedTone = true;
+        }
+        if (userPrompt != null && !userPrompt.isBlank()) {
+            if (!addedTone) { // Add a separator only if emotion wasn't just added
+                promptBuilder.append(" Also,");
+            }
+            // UserPrompt gives the speaking style, tone, or delivery instruction
+            promptBuilder.append(" Read the text in a way that matches this **delivery instruction**: '")
+                    .append(userPrompt)
+                    .append("'.");
+        }
+
+        // 3. The Text to Be Read (Clear call-to-action)
+        promptBuilder.append(" Here is the text to convert into speech: \"")
+                .append(textForTts)
+                .append("\".");
+
+        // Add a final instruction for clarity/completion
+        promptBuilder.append(" Do not add any commentary or extra text.");
+
+        Content content = Content.builder()
+                .parts(Part.fromText(promptBuilder.toString()))
+                .build();
+
+        // --- Call the model --- (synthesis has no side effects, so a slow call may be hedged)
+        return providerResilience.callHedged("gemini", modelId,
+                () -> geminiClient.models.generateContent(modelId, List.of(content), config));
+    }
+
+    /**
+     * Extracts PCM audio data from Gemini API response.
+     */
+    private byte[] extractPcmDataFromResponse(GenerateContentResponse response, VoiceType voiceType) {
+        if (response.parts() == null || response.parts().isEmpty()) {
+            log.warn("No parts found in Gemini TTS response for voiceType {}", voiceType.name());
+            return null;
+        }
+
+        Part firstPart = response.parts().get(0);
+
+        if (firstPart.inlineData().isEmpty() || firstPart.inlineData().get().data().isEmpty()) {
+            log.warn("No inline data found in Gemini TTS response for voiceType {}", voiceType.name());
+            return null;
+        }
+
+        byte[] pcmData = firstPart.inlineData().get().data().get();
+
+        if (pcmData.length == 0) {
+            log.warn("Gemini TTS returned empty audio data for voiceType {}.", voiceType.name());
+            return null;
+        }
+
+        log.info("Extracted {} bytes of PCM data from Gemini response", pcmData.length);
+        return pcmData;
+    }
+}
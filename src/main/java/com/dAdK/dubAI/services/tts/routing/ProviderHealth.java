@@ -0,0 +1,77 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+/**
+ * Live latency and error rate of one TTS provider, as exponentially weighted moving averages.
+ * Statistics older than {@code recoveryMillis} are discarded, so a provider that was routed around is tried
+ * again once it has been left alone for that long.
+ */
+public class ProviderHealth {
+
+    // Samples needed before the averages are trusted
+    static final int MIN_SAMPLES = 5;
+    private static final double ALPHA = 0.2;
+    // A provider failing every call ranks like one taking this much longer
+    private static final double ERROR_PENALTY_MILLIS = 10_000;
+
+    private final long recoveryMillis;
+
+    // Guarded by this
+    private double latencyMillis;
+    private double errorRate;
+    private int samples;
+    private int successes;
+    private long lastSampleAt;
+
+    public ProviderHealth(long recoveryMillis) {
+        this.recoveryMillis = recoveryMillis;
+    }
+
+    /**
+     * Records one call. Latency is averaged over successful calls only, since failures are often fast.
+     */
+    public synchronized void record(long latencyMillis, boolean success, long nowMillis) {
+        if (nowMillis - lastSampleAt > recoveryMillis) {
+            samples = 0;
+            successes = 0;
+            this.latencyMillis = 0;
+            errorRate = 0;
+        }
+        lastSampleAt = nowMillis;
+
+        errorRate = samples == 0 ? (success ? 0 : 1) : errorRate + ALPHA * ((success ? 0 : 1) - errorRate);
+        samples++;
+        if (success) {
+            this.latencyMillis = successes == 0 ? latencyMillis
+                    : this.latencyMillis + ALPHA * (latencyMillis - this.latencyMillis);
+            successes++;
+        }
+    }
+
+    /**
+     * Healthy until enough recent samples show an error rate or latency above the limits.
+     */
+    public synchronized boolean isHealthy(double maxErrorRate, long maxLatencyMillis, long nowMillis) {
+        if (samples < MIN_SAMPLES || nowMillis - lastSampleAt > recoveryMillis) {
+            return true;
+        }
+        return errorRate <= maxErrorRate && (successes == 0 || latencyMillis <= maxLatencyMillis);
+    }
+
+    /**
+     * Ranking score, lower is better: average latency plus a penalty for the error rate. Unknown providers score 0.
+     */
+    public synchronized double score(long nowMillis) {
+        if (samples == 0 || nowMillis - lastSampleAt > recoveryMillis) {
+            return 0;
+        }
+        return latencyMillis + ERROR_PENALTY_MILLIS * errorRate;
+    }
+
+    public synchronized double latencyMillis() {
+        return latencyMillis;
+    }
+
+    public synchronized double errorRate() {
+        return errorRate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+
+/**
+ * A speech synthesis backend. {@link TtsRouter} picks one per request.
+ */
+public interface TtsProvider {
+
+    /**
+     * Provider name, as used in metrics and provider.resilience settings.
+     */
+    String name();
+
+    /**
+     * Model identifier, part of the speech cache key.
+     */
+    String model();
+
+    boolean supports(VoiceType voiceType);
+
+    /**
+     * Whether the voice can read text in the language; checked before a voice is substituted as a fallback.
+     */
+    boolean speaks(VoiceType voiceType, String language);
+
+    /**
+     * Whether audio can be returned as "wav" or "mp3".
+     */
+    boolean produces(String format);
+
+    /**
+     * Reads already translated text with the request's voice, delivery and emotion.
+     *
+     * @return audio in the given format, never empty
+     */
+    byte[] synthesize(TtsRequest request, String text, String format);
+}
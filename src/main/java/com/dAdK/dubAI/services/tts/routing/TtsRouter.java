@@ -0,0 +1,224 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.provider.CircuitBreaker;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
+import com.dAdK.dubAI.services.tts.SynthesisMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the TTS provider for each request and fails over between providers.
+ * <p>
+ * The requested voice's own provider is used while it is healthy. When its circuit breaker is open, or its
+ * recent error rate or latency is over the limits, the request goes to the healthiest other provider able to
+ * serve one of the voice's fallback voices in the same output format and language. A call that fails because
+ * the provider is down, overloaded or erroring moves on to the next candidate; any other failure, such as a
+ * refused request, is thrown at once and does not count against the provider's health. Fallback voices come from tts.routing.fallback.&lt;VOICE&gt; (comma separated VoiceType
+ * names), defaulting to tts.routing.fallback.&lt;gender&gt;.
+ * <p>
+ * Publishes tts.routing.requests (tagged by provider and route), tts.provider.latency and .error-rate gauges, and
+ * the synthesis stage of {@link SynthesisMetrics}.
+ */
+@Component
+@Slf4j
+public class TtsRouter {
+
+    public record Result(byte[] audio, String provider, VoiceType voiceType, boolean fallback) {
+    }
+
+    private record Candidate(TtsProvider provider, VoiceType voiceType, boolean fallback) {
+    }
+
+    private final List<TtsProvider> providers;
+    private final ProviderResilience providerResilience;
+    private final MeterRegistry meterRegistry;
+    private final SynthesisMetrics synthesisMetrics;
+    private final boolean failover;
+    private final double maxErrorRate;
+    private final long maxLatencyMillis;
+    private final Map<String, ProviderHealth> health;
+    private final Map<VoiceType, List<VoiceType>> fallbacks = new EnumMap<>(VoiceType.class);
+
+    public TtsRouter(List<TtsProvider> providers,
+                     ProviderResilience providerResilience,
+                     Environment environment,
+                     MeterRegistry meterRegistry,
+                     SynthesisMetrics synthesisMetrics,
+                     @Value("${tts.routing.failover:true}") boolean failover,
+                     @Value("${tts.routing.max-error-rate:0.5}") double maxErrorRate,
+                     @Value("${tts.routing.max-latency-ms:20000}") long maxLatencyMillis,
+                     @Value("${tts.routing.recovery-ms:30000}") long recoveryMillis) {
+        this.providers = List.copyOf(providers);
+        this.providerResilience = providerResilience;
+        this.meterRegistry = meterRegistry;
+        this.synthesisMetrics = synthesisMetrics;
+        this.failover = failover;
+        this.maxErrorRate = maxErrorRate;
+        this.maxLatencyMillis = maxLatencyMillis;
+
+        Map<String, ProviderHealth> health = new HashMap<>();
+        for (TtsProvider provider : this.providers) {
+            ProviderHealth providerHealth = new ProviderHealth(recoveryMillis);
+            health.put(provider.name(), providerHealth);
+            Gauge.builder("tts.provider.latency", providerHealth, ProviderHealth::latencyMillis)
+                    .tag("provider", provider.name()).baseUnit("milliseconds")
+                    .description("Moving average latency of successful syntheses").register(meterRegistry);
+            Gauge.builder("tts.provider.error-rate", providerHealth, ProviderHealth::errorRate)
+                    .tag("provider", provider.name())
+                    .description("Moving average share of failed syntheses").register(meterRegistry);
+        }
+        this.health = Map.copyOf(health);
+
+        for (VoiceType voiceType : VoiceType.values()) {
+            String configured = environment.getProperty("tts.routing.fallback." + voiceType.name(),
+                    environment.getProperty("tts.routing.fallback." + voiceType.getGender().toLowerCase(Locale.ROOT), ""));
+            List<VoiceType> voices = new ArrayList<>();
+            for (String name : configured.split(",")) {
+                if (!name.isBlank() && VoiceType.valueOf(name.trim()) != voiceType) {
+                    voices.add(VoiceType.valueOf(name.trim()));
+                }
+            }
+            fallbacks.put(voiceType, List.copyOf(voices));
+        }
+    }
+
+    /**
+     * The provider that owns the voice, whose model identifies the voice's audio in the speech cache.
+     */
+    public TtsProvider primary(VoiceType voiceType) {
+        for (TtsProvider provider : providers) {
+            if (provider.supports(voiceType)) {
+                return provider;
+            }
+        }
+        throw new TtsProcessingException("No TTS provider supports voiceType: " + voiceType.name());
+    }
+
+    /**
+     * Synthesizes already translated text, failing over to fallback voices when the voice's provider is unhealthy
+     * or fails.
+     *
+     * @param format the audio format the caller expects, "wav" or "mp3"
+     */
+    public Result synthesize(TtsRequest request, String text, String format) {
+        RuntimeException last = null;
+        Set<String> failed = new HashSet<>();
+        for (Candidate candidate : rank(candidates(request.voiceType(), request.language(), format))) {
+            TtsProvider provider = candidate.provider();
+            // A provider that just failed one voice will fail the next
+            if (failed.contains(provider.name())) {
+                continue;
+            }
+            TtsRequest routed = candidate.fallback() ? withVoice(request, candidate.voiceType()) : request;
+            SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.SYNTHESIS)
+                    .voice(candidate.voiceType()).provider(provider.name()).format(format);
+            long start = System.nanoTime();
+            try {
+                byte[] audio = synthesisMetrics.time(stage, () -> provider.synthesize(routed, text, format));
+                synthesisMetrics.payload(stage, audio.length);
+                health.get(provider.name()).record(elapsedMillis(start), true, System.currentTimeMillis());
+                count(provider.name(), candidate.fallback() ? "fallback" : "primary");
+                if (candidate.fallback()) {
+                    log.warn("Served voiceType {} with fallback voice {} on {}",
+                            request.voiceType().name(), candidate.voiceType().name(), provider.name());
+                }
+                return new Result(audio, provider.name(), candidate.voiceType(), candidate.fallback());
+            } catch (RuntimeException e) {
+                if (!isProviderFailure(e)) {
+                    throw e;
+                }
+                health.get(provider.name()).record(elapsedMillis(start), false, System.currentTimeMillis());
+                failed.add(provider.name());
+                last = e;
+                log.warn("{} failed for voiceType {}: {}", provider.name(), candidate.voiceType().name(), e.getMessage());
+            }
+        }
+        count("none", "failed");
+        throw last;
+    }
+
+    /**
+     * The voice itself on its own provider, then each fallback voice on every other provider that can serve it.
+     */
+    private List<Candidate> candidates(VoiceType voiceType, String language, String format) {
+        List<Candidate> candidates = new ArrayList<>();
+        TtsProvider primary = primary(voiceType);
+        if (primary.produces(format)) {
+            candidates.add(new Candidate(primary, voiceType, false));
+        }
+        if (failover) {
+            for (VoiceType fallback : fallbacks.get(voiceType)) {
+                for (TtsProvider provider : providers) {
+                    if (provider != primary && provider.supports(fallback) && provider.produces(format)
+                            && provider.speaks(fallback, language)) {
+                        candidates.add(new Candidate(provider, fallback, true));
+                    }
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new TtsProcessingException("No TTS provider can produce " + format + " for voiceType: " + voiceType.name());
+        }
+        return candidates;
+    }
+
+    /**
+     * Healthy candidates first; among them the requested voice, then the lowest scoring providers.
+     * Unhealthy candidates stay at the end as a last resort.
+     */
+    private List<Candidate> rank(List<Candidate> candidates) {
+        long now = System.currentTimeMillis();
+        List<Candidate> ranked = new ArrayList<>(candidates);
+        ranked.sort(Comparator.comparing((Candidate c) -> !isHealthy(c.provider(), now))
+                .thenComparing(Candidate::fallback)
+                .thenComparingDouble(c -> health.get(c.provider().name()).score(now)));
+        return ranked;
+    }
+
+    private boolean isHealthy(TtsProvider provider, long nowMillis) {
+        if (providerResilience.breaker(provider.name()).state() == CircuitBreaker.State.OPEN) {
+            return false;
+        }
+        return health.get(provider.name()).isHealthy(maxErrorRate, maxLatencyMillis, nowMillis);
+    }
+
+    /**
+     * Failures that another provider might not have, as opposed to ones the request would meet anywhere.
+     */
+    private static boolean isProviderFailure(RuntimeException e) {
+        return e instanceof ProviderUnavailableException || e instanceof ProviderOverloadedException
+                || ProviderResilience.isTransient(e);
+    }
+
+    private void count(String provider, String route) {
+        meterRegistry.counter("tts.routing.requests", "provider", provider, "route", route).increment();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static TtsRequest withVoice(TtsRequest request, VoiceType voiceType) {
+        return new TtsRequest(request.text(), voiceType, request.language(), request.userPrompt(), request.emotion(),
+                request.translatedText(), request.previewOnly(), request.bypassCache());
+    }
+}
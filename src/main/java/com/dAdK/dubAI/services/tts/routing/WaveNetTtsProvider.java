@@ -0,0 +1,219 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.texttospeech.v1.*;
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannelBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Google Cloud Text-to-Speech WaveNet voices. Returns MP3, or WAV when standing in for a Gemini voice.
+ */
+@Component
+public class WaveNetTtsProvider implements TtsProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(WaveNetTtsProvider.class);
+
+    // Matches the WAV Gemini returns, so a substitute voice needs no conversion downstream
+    private static final int WAV_SAMPLE_RATE = 24000;
+
+    private final ProviderResilience providerResilience;
+
+    private TextToSpeechClient gcTtsClient;
+
+    @Value("${gcp.credentials.path}")
+    private String gcpCredentialsPath;
+
+    // host:port of a plaintext, unauthenticated Cloud TTS stand-in such as the load-test stub; empty for Google
+    @Value("${wavenet.emulator-host:}")
+    private String emulatorHost;
+
+    public WaveNetTtsProvider(ProviderResilience providerResilience) {
+        this.providerResilience = providerResilience;
+    }
+
+    public static boolean isWaveNetVoice(VoiceType voiceType) {
+        return voiceType.getVoiceIdentifier().contains("Wavenet");
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            TextToSpeechSettings settings;
+            if (emulatorHost != null && !emulatorHost.isBlank()) {
+                settings = TextToSpeechSettings.newBuilder()
+                        .setTransportChannelProvider(InstantiatingGrpcChannelProvider.newBuilder()
+                                .setEndpoint(emulatorHost)
+                                .setChannelConfigurator(ManagedChannelBuilder::usePlaintext)
+                                .build())
+                        .setCredentialsProvider(NoCredentialsProvider.create())
+                        .build();
+                log.info("Google Cloud TextToSpeechClient using emulator at {}", emulatorHost);
+            } else {
+                GoogleCredentials credentials = GoogleCredentials.fromStream(new FileInputStream(gcpCredentialsPath));
+                settings = TextToSpeechSettings.newBuilder()
+                        .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
+                        .build();
+            }
+            this.gcTtsClient = TextToSpeechClient.create(settings);
+            log.info("Google Cloud TextToSpeechClient initialized successfully.");
+        } catch (IOException e) {
+            log.error("Failed to initialize Google Cloud TextToSpeechClient.", e);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (gcTtsClient != null) {
+            gcTtsClient.close();
+            log.info("Google Cloud TextToSpeechClient closed.");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "wavenet";
+    }
+
+    @Override
+    public String model() {
+        return "wavenet";
+    }
+
+    @Override
+    public boolean supports(VoiceType voiceType) {
+        return isWaveNetVoice(voiceType);
+    }
+
+    /**
+     * Each WaveNet voice speaks one language; it matches when the primary language subtags agree, e.g. en-in and en-US.
+     */
+    @Override
+    public boolean speaks(VoiceType voiceType, String language) {
+        if (!supports(voiceType)) {
+            return false;
+        }
+        if (language == null || language.isBlank()) {
+            return true;
+        }
+        return primarySubtag(language).equals(primarySubtag(getLanguageCode(voiceType)));
+    }
+
+    @Override
+    public boolean produces(String format) {
+        return "mp3".equals(format) || "wav".equals(format);
+    }
+
+    @Override
+    public byte[] synthesize(TtsRequest request, String text, String format) {
+        return generateWaveNetSpeech(text, request.voiceType(), format);
+    }
+
+    /**
+     * Generates speech using Google Cloud Text-to-Speech (WaveNet) API, as MP3 or as WAV in Gemini's output format.
+     */
+    private byte[] generateWaveNetSpeech(String textForTts, VoiceType voiceType, String format) {
+        if (gcTtsClient == null) {
+            throw new TtsProcessingException("WaveNet TTS service is not available. Please check GCP credentials.");
+        }
+
+        try {
+            SynthesisInput input = SynthesisInput.newBuilder().setText(textForTts).build();
+
+            VoiceSelectionParams voice = VoiceSelectionParams.newBuilder()
+                    .setLanguageCode(getLanguageCode(voiceType))
+                    .setName(voiceType.getVoiceIdentifier())
+                    .setSsmlGender(mapGender(voiceType.getGender()))
+                    .build();
+
+            AudioConfig.Builder audioConfigBuilder = AudioConfig.newBuilder();
+            if ("wav".equals(format)) {
+                // LINEAR16 responses carry a WAV header
+                audioConfigBuilder.setAudioEncoding(AudioEncoding.LINEAR16).setSampleRateHertz(WAV_SAMPLE_RATE);
+            } else {
+                audioConfigBuilder.setAudioEncoding(AudioEncoding.MP3);
+            }
+            AudioConfig audioConfig = audioConfigBuilder.build();
+
+            com.google.cloud.texttospeech.v1.SynthesizeSpeechResponse response = providerResilience.call(
+                    "wavenet", "wavenet", () -> gcTtsClient.synthesizeSpeech(input, voice, audioConfig));
+
+            ByteString audioContents = response.getAudioContent();
+            byte[] audioData = audioContents.toByteArray();
+
+            if (audioData.length == 0) {
+                throw new TtsProcessingException("WaveNet TTS returned empty audio data for voiceType: " + voiceType.name());
+            }
+
+            log.info("Successfully generated {} bytes of WaveNet audio data for voiceType {}.",
+                    audioData.length, voiceType.name());
+            return audioData;
+
+        } catch (TtsProcessingException | ProviderOverloadedException | ProviderUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error generating WaveNet speech for voiceType {}: {}",
+                    voiceType.name(), e.getMessage(), e);
+            throw new TtsProcessingException("WaveNet TTS request failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Maps gender string to Google Cloud TTS gender enum.
+     */
+    private static SsmlVoiceGender mapGender(String gender) {
+        return switch (gender.toUpperCase()) {
+            case "MALE" -> SsmlVoiceGender.MALE;
+            case "FEMALE" -> SsmlVoiceGender.FEMALE;
+            default -> SsmlVoiceGender.NEUTRAL;
+        };
+    }
+
+    /**
+     * Extracts language code from voiceType type identifier.
+     */
+    private static String getLanguageCode(VoiceType voiceType) {
+        String id = voiceType.getVoiceIdentifier();
+
+        // Parse WaveNet voiceType IDs (e.g., "en-US-Wavenet-D" -> "en-US")
+        if (id.contains("Wavenet")) {
+            int secondDashIndex = id.indexOf('-');
+            int thirdDashIndex = id.indexOf('-', secondDashIndex + 1);
+            if (thirdDashIndex > 0) {
+                return id.substring(0, thirdDashIndex);
+            }
+        }
+
+        // Fallback for specific voiceType types
+        return switch (voiceType) {
+            case EN_US_MALE, EN_US_FEMALE -> "en-US";
+            case EN_GB_FEMALE -> "en-GB";
+            case ES_ES_MALE -> "es-ES";
+            case JA_JP_FEMALE -> "ja-JP";
+            default -> "en-US";
+        };
+    }
+
+    private static String primarySubtag(String language) {
+        int dash = language.indexOf('-');
+        return (dash > 0 ? language.substring(0, dash) : language).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dAdK.dubAI.services.userservice;
 
+import com.dAdK.dubAI.config.security.PrincipalCache;
 import com.dAdK.dubAI.dto.userdto.UserRequestDTO;
 import com.dAdK.dubAI.dto.userdto.UserResponseDTO;
 import com.dAdK.dubAI.models.User;
@@ -24,6 +25,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     private static final Pattern EMAIL_PATTERN =
             Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
@@ -105,7 +107,9 @@ public class UserServiceImpl implements UserService {
                     user.setEmail(updateUserDTO.getEmail());
                     user.setContactNumber(updateUserDTO.getContactNumber());
                     user.setAddress(updateUserDTO.getAddress());
-                    return convertToUserResponseDTO(userRepository.save(user));
+                    User saved = userRepository.save(user);
+                    principalCache.invalidate(saved.getId());
+                    return convertToUserResponseDTO(saved);
                 });
     }
 
@@ -212,6 +216,7 @@ public class UserServiceImpl implements UserService {
     public void saveUser(User user) {
         log.info("Saving user with ID: {}", user.getId());
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
     }
 
     @Override
@@ -219,6 +224,7 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(String userId) {
         log.info("Deleting user with ID: {}", userId);
         userRepository.deleteById(userId);
+        principalCache.invalidate(userId);
     }
 
     @Override
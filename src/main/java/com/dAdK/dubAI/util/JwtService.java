@@ -1,53 +1,100 @@
 package com.dAdK.dubAI.util;
 
 import com.dAdK.dubAI.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
-    @Value("${app.jwt.secret}")
-    private String SECRET;
-    @Value("${app.jwt.expirationSeconds}")
-    private int EXPIRATION;
+
+    private final int expirationSeconds;
+    private final int cacheMaxEntries;
+
+    // Built once: the key and parser are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Verified tokens until they expire, so a client's repeated requests skip signature checks
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * The claims the application uses from a token whose signature and expiry have been checked.
+     */
+    public record VerifiedToken(String userId, String username, long expiresAtMillis) {
+        public boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    public JwtService(@Value("${app.jwt.secret}") String secret,
+                      @Value("${app.jwt.expirationSeconds}") int expirationSeconds,
+                      @Value("${app.jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        this.expirationSeconds = expirationSeconds;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
 
     public String generateToken(User user) {
-        Date tokenExpiryInterval = new Date(System.currentTimeMillis() + (EXPIRATION * 1000L));
+        Date tokenExpiryInterval = new Date(System.currentTimeMillis() + (expirationSeconds * 1000L));
 
         return Jwts.builder()
                 .setSubject(user.getId())
                 .claim("username", user.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(tokenExpiryInterval)
-                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUserId(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Checks the token's signature and expiry, parsing it at most once while it is valid.
+     *
+     * @return the token's claims, or null if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
 
-    public boolean isTokenValid(String token, User user) {
-        return extractUserId(token).equals(user.getId()) && !isExpired(token);
-    }
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(token);
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
 
-    private boolean isExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(), claims.get("username", String.class), claims.getExpiration().getTime());
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+        }
+        // A flood of distinct tokens beyond the bound is verified on every request rather than growing the heap
+        if (verifiedTokens.size() < cacheMaxEntries) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
-}
\ No newline at end of file
+}
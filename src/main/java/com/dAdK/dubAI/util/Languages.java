@@ -0,0 +1,51 @@
+package com.dAdK.dubAI.util;
+
+/**
+ * Language names used in Gemini translation and speech prompts.
+ */
+public final class Languages {
+
+    private Languages() {
+    }
+
+    /**
+     * Maps language code to human-readable language name for prompts.
+     */
+    public static String displayName(String languageCode) {
+        if (languageCode == null) {
+            return "English";
+        }
+        return switch (languageCode.toLowerCase()) {
+            case "en-in" -> "English (India)";
+            case "en-us" -> "English (United States)";
+            case "en" -> "English";
+            case "es" -> "Spanish";
+            case "fr" -> "French";
+            case "de" -> "German";
+            case "zh" -> "Chinese";
+            case "hi", "hin" -> "Hindi";
+            case "ja", "jp" -> "Japanese";
+            case "ko" -> "Korean";
+            case "gu-in" -> "Gujarati (India)";
+            case "kn-in" -> "Kannada (India)";
+            case "kok-in" -> "Konkani (India)";
+            case "mai-in" -> "Maithili (India)";
+            case "ml-in" -> "Malayalam (India)";
+            case "or-in" -> "Odia (India)";
+            case "pa-in" -> "Punjabi (India)";
+            case "sd-in" -> "Sindhi (India)";
+
+            // Fallback for short codes without region
+            case "gu" -> "Gujarati (India)";
+            case "kn" -> "Kannada (India)";
+            case "kok" -> "Konkani (India)";
+            case "mai" -> "Maithili (India)";
+            case "ml" -> "Malayalam (India)";
+            case "or" -> "Odia (India)";
+            case "pa" -> "Punjabi (India)";
+            case "sd" -> "Sindhi (India)";
+
+            default -> "English";
+        };
+    }
+}
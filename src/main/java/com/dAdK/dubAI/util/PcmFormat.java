@@ -0,0 +1,39 @@
+package com.dAdK.dubAI.util;
+
+/**
+ * The layout of raw little-endian PCM: samples per second, bits per sample and interleaved channels.
+ */
+public record PcmFormat(int sampleRate, int bitsPerSample, int channels) {
+
+    /**
+     * What Gemini TTS returns: 24 kHz, 16-bit, mono.
+     */
+    public static final PcmFormat GEMINI = mono16(24000);
+
+    public PcmFormat {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+        if (bitsPerSample <= 0 || bitsPerSample > 32 || bitsPerSample % 8 != 0) {
+            throw new IllegalArgumentException("Bits per sample must be 8, 16, 24 or 32: " + bitsPerSample);
+        }
+        if (channels <= 0 || channels > 0xFFFF) {
+            throw new IllegalArgumentException("Channel count out of range: " + channels);
+        }
+    }
+
+    public static PcmFormat mono16(int sampleRate) {
+        return new PcmFormat(sampleRate, 16, 1);
+    }
+
+    /**
+     * Bytes per sample frame, one sample for every channel.
+     */
+    public int frameSize() {
+        return channels * bitsPerSample / 8;
+    }
+
+    public int byteRate() {
+        return sampleRate * frameSize();
+    }
+}
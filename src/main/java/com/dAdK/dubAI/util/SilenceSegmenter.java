@@ -0,0 +1,96 @@
+package com.dAdK.dubAI.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a stream of 16-bit, mono, little-endian PCM into chunks of bounded length.
+ * Once a chunk reaches the target length it ends at the next run of silence, so words are not cut in half;
+ * a chunk that finds no silence is cut hard at the maximum length.
+ */
+public class SilenceSegmenter {
+
+    private static final int FRAME_MILLIS = 20;
+    private static final int BYTES_PER_SAMPLE = 2;
+
+    /**
+     * @param startSeconds offset of the chunk's first sample in the whole recording
+     * @param endSeconds   offset just past the chunk's last sample
+     */
+    public record Chunk(double startSeconds, double endSeconds, byte[] pcm) {
+    }
+
+    private final int sampleRate;
+    private final int frameBytes;
+    private final int targetBytes;
+    private final int maxBytes;
+    private final int minSilenceFrames;
+    private final int silenceThreshold;
+
+    private long samplesEmitted;
+
+    /**
+     * @param silenceThreshold RMS amplitude (0-32767) below which a 20 ms frame counts as silence
+     */
+    public SilenceSegmenter(int sampleRate, int targetMillis, int maxMillis, int minSilenceMillis, int silenceThreshold) {
+        if (targetMillis <= 0 || maxMillis < targetMillis) {
+            throw new IllegalArgumentException("Chunk length must be positive and no longer than the maximum");
+        }
+        this.sampleRate = sampleRate;
+        this.frameBytes = sampleRate * FRAME_MILLIS / 1000 * BYTES_PER_SAMPLE;
+        this.targetBytes = bytesFor(targetMillis);
+        this.maxBytes = bytesFor(maxMillis);
+        this.minSilenceFrames = Math.max(1, minSilenceMillis / FRAME_MILLIS);
+        this.silenceThreshold = silenceThreshold;
+    }
+
+    /**
+     * Reads the next chunk from the stream.
+     *
+     * @return the chunk, or null once the stream is exhausted
+     */
+    public Chunk next(InputStream pcm) throws IOException {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(targetBytes);
+        byte[] frame = new byte[frameBytes];
+        int silentFrames = 0;
+
+        while (chunk.size() < maxBytes) {
+            int read = pcm.readNBytes(frame, 0, frameBytes);
+            if (read == 0) {
+                break;
+            }
+            chunk.write(frame, 0, read);
+            silentFrames = isSilent(frame, read) ? silentFrames + 1 : 0;
+            if (chunk.size() >= targetBytes && silentFrames >= minSilenceFrames) {
+                break;
+            }
+        }
+
+        if (chunk.size() == 0) {
+            return null;
+        }
+
+        byte[] data = chunk.toByteArray();
+        long startSample = samplesEmitted;
+        samplesEmitted += data.length / BYTES_PER_SAMPLE;
+        return new Chunk((double) startSample / sampleRate, (double) samplesEmitted / sampleRate, data);
+    }
+
+    private boolean isSilent(byte[] frame, int length) {
+        int samples = length / BYTES_PER_SAMPLE;
+        if (samples == 0) {
+            return true;
+        }
+        long sumOfSquares = 0;
+        for (int i = 0; i < samples * BYTES_PER_SAMPLE; i += BYTES_PER_SAMPLE) {
+            int sample = (short) ((frame[i] & 0xFF) | (frame[i + 1] << 8));
+            sumOfSquares += (long) sample * sample;
+        }
+        return Math.sqrt((double) sumOfSquares / samples) < silenceThreshold;
+    }
+
+    private int bytesFor(int millis) {
+        return (int) ((long) sampleRate * millis / 1000) * BYTES_PER_SAMPLE;
+    }
+}
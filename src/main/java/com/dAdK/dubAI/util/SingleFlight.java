@@ -0,0 +1,69 @@
+package com.dAdK.dubAI.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one execution.
+ * The first caller runs the call; callers arriving while it is in flight wait for and share its outcome,
+ * including its exception. Nothing is kept once the call completes, so this is not a cache.
+ * Publishes tts.singleflight.calls (tagged leader/collapsed) and tts.singleflight.in-flight, tagged by stage.
+ */
+public class SingleFlight<T> {
+
+    private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter collapsed;
+
+    public SingleFlight(String stage, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("tts.singleflight.calls").tag("stage", stage).tag("role", "leader")
+                .description("Calls that ran the underlying operation").register(meterRegistry);
+        this.collapsed = Counter.builder("tts.singleflight.calls").tag("stage", stage).tag("role", "collapsed")
+                .description("Calls that shared an identical in-flight operation").register(meterRegistry);
+        Gauge.builder("tts.singleflight.in-flight", inFlight, Map::size).tag("stage", stage)
+                .description("Distinct operations currently in flight").register(meterRegistry);
+    }
+
+    public T execute(String key, Supplier<T> call) {
+        CompletableFuture<T> own = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so followers see the same error type
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
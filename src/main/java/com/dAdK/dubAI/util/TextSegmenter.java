@@ -0,0 +1,59 @@
+package com.dAdK.dubAI.util;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class TextSegmenter {
+
+    /**
+     * Splits text into sentence-aligned segments of at most maxChars characters.
+     * Short sentences are merged into one segment; a sentence longer than maxChars
+     * is split at the last whitespace that fits.
+     */
+    public static List<String> splitIntoSegments(String text, int maxChars) {
+        List<String> segments = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return segments;
+        }
+
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+
+        StringBuilder current = new StringBuilder();
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            String sentence = text.substring(start, end).strip();
+            if (sentence.isEmpty()) {
+                continue;
+            }
+
+            if (current.length() > 0 && current.length() + 1 + sentence.length() > maxChars) {
+                segments.add(current.toString());
+                current.setLength(0);
+            }
+
+            while (sentence.length() > maxChars) {
+                int cut = sentence.lastIndexOf(' ', maxChars);
+                if (cut <= 0) {
+                    cut = maxChars;
+                }
+                segments.add(sentence.substring(0, cut).strip());
+                sentence = sentence.substring(cut).strip();
+            }
+
+            if (!sentence.isEmpty()) {
+                if (current.length() > 0) {
+                    current.append(' ');
+                }
+                current.append(sentence);
+            }
+        }
+
+        if (current.length() > 0) {
+            segments.add(current.toString());
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dAdK.dubAI.util;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A WAV file as a 44-byte header in front of the caller's PCM. The PCM is referenced, not copied, so the
+ * array must not change while the body is in use.
+ * <p>
+ * The body can be written to a stream, which also makes it a {@link StreamingResponseBody}. It can also be
+ * written to a gathering channel, or read as an InputStream. {@link #toByteArray()} flattens it with a single
+ * copy for callers that need a byte[].
+ */
+public final class WavBody implements StreamingResponseBody {
+
+    public static final int HEADER_BYTES = 44;
+
+    private final byte[] header;
+    private final byte[] pcm;
+    private final int offset;
+    private final int length;
+
+    private WavBody(byte[] header, byte[] pcm, int offset, int length) {
+        this.header = header;
+        this.pcm = pcm;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static WavBody of(byte[] pcm, PcmFormat format) {
+        return of(pcm, 0, pcm.length, format);
+    }
+
+    /**
+     * Wraps part of an array of PCM. A trailing partial frame is left out, as AudioSystem does.
+     */
+    public static WavBody of(byte[] pcm, int offset, int length, PcmFormat format) {
+        Objects.checkFromIndexSize(offset, length, pcm.length);
+        int whole = length - length % format.frameSize();
+        return new WavBody(header(format, whole), pcm, offset, whole);
+    }
+
+    /**
+     * A header for PCM of unknown length. The RIFF and data sizes are at their maximum, which players read as
+     * "until end of stream".
+     */
+    public static byte[] streamingHeader(PcmFormat format) {
+        return header(format, 0xFFFFFFFFL - 36);
+    }
+
+    private static byte[] header(PcmFormat format, long dataBytes) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII));
+        header.putInt((int) (36 + dataBytes));
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII));
+        header.putInt(16);
+        header.putShort((short) 1); // PCM
+        header.putShort((short) format.channels());
+        header.putInt(format.sampleRate());
+        header.putInt(format.byteRate());
+        header.putShort((short) format.frameSize());
+        header.putShort((short) format.bitsPerSample());
+        header.put("data".getBytes(StandardCharsets.US_ASCII));
+        header.putInt((int) dataBytes);
+        return header.array();
+    }
+
+    /**
+     * Header plus PCM, the value for Content-Length.
+     */
+    public long contentLength() {
+        return HEADER_BYTES + (long) length;
+    }
+
+    /**
+     * The header and the PCM as two read-only buffers over the original arrays, for gathering writes.
+     */
+    public ByteBuffer[] buffers() {
+        return new ByteBuffer[]{
+                ByteBuffer.wrap(header).asReadOnlyBuffer(),
+                ByteBuffer.wrap(pcm, offset, length).asReadOnlyBuffer()
+        };
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(header);
+        out.write(pcm, offset, length);
+    }
+
+    /**
+     * Writes the whole body, with as few channel writes as the channel allows.
+     */
+    public void writeTo(GatheringByteChannel channel) throws IOException {
+        ByteBuffer[] buffers = buffers();
+        while (buffers[0].hasRemaining() || buffers[1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    public InputStream inputStream() {
+        return new SequenceInputStream(new ByteArrayInputStream(header), new ByteArrayInputStream(pcm, offset, length));
+    }
+
+    public byte[] toByteArray() {
+        byte[] wav = new byte[HEADER_BYTES + length];
+        System.arraycopy(header, 0, wav, 0, HEADER_BYTES);
+        System.arraycopy(pcm, offset, wav, HEADER_BYTES, length);
+        return wav;
+    }
+}
@@ -3,51 +3,115 @@ package com.dAdK.dubAI.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.sound.sampled.AudioFileFormat;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 
 public class WavConverter {
 
     private static final Logger log = LoggerFactory.getLogger(WavConverter.class);
 
-    // Audio format constants for Gemini TTS
-    private static final int SAMPLE_RATE = 24000;
-    private static final int BITS_PER_SAMPLE = 16;
-    private static final int CHANNELS = 1;
-    private static final int FRAME_SIZE = 2; // 2 bytes for 16-bit mono
+    /**
+     * Converts raw Gemini PCM (24000 Hz, 16-bit, mono, little-endian) to WAV.
+     */
+    public static byte[] convertPcmToWav(byte[] pcmData) {
+        return convertPcmToWav(pcmData, PcmFormat.GEMINI);
+    }
+
+    /**
+     * Converts raw 16-bit, mono, little-endian PCM at the given sample rate to WAV format.
+     */
+    public static byte[] convertPcmToWav(byte[] pcmData, int sampleRate) {
+        return convertPcmToWav(pcmData, PcmFormat.mono16(sampleRate));
+    }
 
     /**
-     * Converts raw PCM audio data to WAV format using Java Sound API.
-     * Gemini returns: 24000 Hz, 16-bit, mono, little-endian PCM
+     * Converts raw PCM to a WAV byte[], copying it once behind the header. Synthesized speech needs this one
+     * array: it is what the speech cache stores (memory and disk), what coalesced callers share, and what the
+     * encoders slice the PCM back out of. Where a WAV is only written out, {@link WavBody} avoids the copy.
      */
-    public static byte[] convertPcmToWav(byte[] pcmData) throws Exception {
-        AudioFormat audioFormat = new AudioFormat(
-                AudioFormat.Encoding.PCM_SIGNED,
-                SAMPLE_RATE,
-                BITS_PER_SAMPLE,
-                CHANNELS,
-                FRAME_SIZE,
-                SAMPLE_RATE,
-                false // little-endian
-        );
-
-        ByteArrayInputStream bais = new ByteArrayInputStream(pcmData);
-        AudioInputStream audioInputStream = new AudioInputStream(
-                bais,
-                audioFormat,
-                pcmData.length / audioFormat.getFrameSize()
-        );
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        AudioSystem.write(audioInputStream, AudioFileFormat.Type.WAVE, baos);
-        audioInputStream.close();
-
-        byte[] wavData = baos.toByteArray();
+    public static byte[] convertPcmToWav(byte[] pcmData, PcmFormat format) {
+        byte[] wavData = WavBody.of(pcmData, format).toByteArray();
         log.debug("Converted {} bytes PCM to {} bytes WAV", pcmData.length, wavData.length);
         return wavData;
     }
+
+    /**
+     * Builds a 44-byte WAV header for an open-ended stream of Gemini PCM.
+     * The RIFF and data sizes are set to their maximum, which players treat as "read until end of stream".
+     */
+    public static byte[] createStreamingWavHeader() {
+        return WavBody.streamingHeader(PcmFormat.GEMINI);
+    }
+
+    /**
+     * Where a WAV's samples are and how they are laid out.
+     */
+    public record PcmData(PcmFormat format, int offset, int length) {
+    }
+
+    /**
+     * Reads the fmt and data chunks of a plain PCM WAV, without copying the samples.
+     *
+     * @return null if this is not a RIFF/WAVE with PCM samples (format tag 1) and a data chunk
+     */
+    public static PcmData pcmData(byte[] wavData) {
+        if (wavData.length < 12
+                || !"RIFF".equals(new String(wavData, 0, 4, StandardCharsets.US_ASCII))
+                || !"WAVE".equals(new String(wavData, 8, 4, StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        ByteBuffer chunk = ByteBuffer.wrap(wavData).order(ByteOrder.LITTLE_ENDIAN);
+        PcmFormat format = null;
+        int offset = 12;
+        while (offset + 8 <= wavData.length) {
+            String chunkId = new String(wavData, offset, 4, StandardCharsets.US_ASCII);
+            int chunkSize = chunk.getInt(offset + 4);
+            if ("fmt ".equals(chunkId) && chunkSize >= 16 && offset + 24 <= wavData.length) {
+                if (chunk.getShort(offset + 8) != 1) {
+                    return null;
+                }
+                try {
+                    format = new PcmFormat(chunk.getInt(offset + 12), chunk.getShort(offset + 22), chunk.getShort(offset + 10));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            } else if ("data".equals(chunkId)) {
+                if (format == null) {
+                    return null;
+                }
+                int start = offset + 8;
+                // Streamed WAVs declare the maximum size; the samples end with the array
+                long declared = chunkSize & 0xFFFFFFFFL;
+                int length = (int) Math.min(declared, wavData.length - start);
+                return new PcmData(format, start, length - length % format.frameSize());
+            }
+            long next = offset + 8L + (chunkSize & 0xFFFFFFFFL) + (chunkSize & 1);
+            if (next > wavData.length) {
+                break;
+            }
+            offset = (int) next;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the offset at which the PCM payload of a WAV file starts, by walking its chunks to "data".
+     * Falls back to the canonical 44-byte header if no data chunk is found.
+     */
+    public static int findPcmDataOffset(byte[] wavData) {
+        int offset = 12; // skip "RIFF", size, "WAVE"
+        while (offset + 8 <= wavData.length) {
+            String chunkId = new String(wavData, offset, 4, StandardCharsets.US_ASCII);
+            int chunkSize = ByteBuffer.wrap(wavData, offset + 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if ("data".equals(chunkId)) {
+                return offset + 8;
+            }
+            if (chunkSize < 0) {
+                break;
+            }
+            offset += 8 + chunkSize + (chunkSize & 1);
+        }
+        return Math.min(44, wavData.length);
+    }
 }
@@ -0,0 +1,190 @@
+package com.dAdK.dubAI.config;
+
+import com.dAdK.dubAI.DubAiApplication;
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.services.tts.TextToSpeechService;
+import com.dAdK.dubAI.util.WavConverter;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application twice, with spring.threads.virtual.enabled off and on, and offers the same burst of
+ * /generate/speech requests over HTTP to each. The provider is replaced by a fixed sleep that records how many
+ * calls are in flight and which kind of thread makes them.
+ * <p>
+ * On platform threads Tomcat's request pool (server.tomcat.threads.max) caps the calls in flight; on virtual
+ * threads each request parks in the provider call and the next one is accepted, so the cap no longer applies.
+ * Uses an embedded MongoDB unless -Dmongo.url is set. Only runs on request:
+ * mvn test -Dtest=VirtualThreadLoadTest -Dload-tests=true
+ */
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int REQUEST_THREADS = 20;
+    private static final int OFFERED_REQUESTS = 5 * REQUEST_THREADS;
+    private static final long PROVIDER_LATENCY_MILLIS = 500;
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static String mongoUri;
+
+    @BeforeAll
+    static void startMongo() {
+        String url = System.getProperty("mongo.url");
+        if (url == null) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            url = "mongodb://" + mongod.current().getServerAddress().getHost()
+                    + ":" + mongod.current().getServerAddress().getPort();
+        }
+        mongoUri = url + "/dubai-virtual-thread-test";
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @Test
+    void platformThreads_capInFlightRequestsAtTheRequestPool() throws Exception {
+        Result platform = run(false);
+
+        assertEquals(OFFERED_REQUESTS, platform.succeeded());
+        assertFalse(platform.sawVirtualThread());
+        assertTrue(platform.peakInFlight() <= REQUEST_THREADS,
+                "peak in flight " + platform.peakInFlight() + " with " + REQUEST_THREADS + " request threads");
+    }
+
+    @Test
+    void virtualThreads_holdMoreRequestsInFlightThanThePoolAllows() throws Exception {
+        Result virtual = run(true);
+
+        assertEquals(OFFERED_REQUESTS, virtual.succeeded());
+        assertTrue(virtual.sawVirtualThread());
+        assertTrue(virtual.peakInFlight() > REQUEST_THREADS,
+                "peak in flight " + virtual.peakInFlight() + " with " + REQUEST_THREADS + " request threads");
+    }
+
+    private record Result(int succeeded, int peakInFlight, boolean sawVirtualThread) {
+    }
+
+    /**
+     * Boots the application with the given thread model and sends every offered request at once.
+     */
+    private Result run(boolean virtualThreads) throws Exception {
+        SleepingTextToSpeechService provider = new SleepingTextToSpeechService();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(DubAiApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        TextToSpeechService.class, () -> provider, bean -> bean.setPrimary(true)))
+                .run(arguments(virtualThreads));
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build();
+
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(OFFERED_REQUESTS);
+            for (int i = 0; i < OFFERED_REQUESTS; i++) {
+                // Distinct texts, so identical-request coalescing does not fold the burst into one call
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/v1/tts/generate/speech?mode=original"))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(60))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"text\":\"Hello number " + i + "\",\"voiceType\":\"KORE\",\"bypassCache\":true}"))
+                        .build();
+                responses.add(http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+
+            int succeeded = 0;
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                if (response.get().statusCode() == 200) {
+                    succeeded++;
+                }
+            }
+            return new Result(succeeded, provider.peakInFlight.get(), provider.sawVirtualThread.get());
+        }
+    }
+
+    /**
+     * Passed as command-line arguments, which take precedence over application.properties.
+     */
+    private static String[] arguments(boolean virtualThreads) {
+        return Stream.of(
+                "server.port=0",
+                "management.server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + REQUEST_THREADS,
+                "spring.data.mongodb.uri=" + mongoUri,
+                "app.jwt.secret=virtual-thread-test-signing-key-that-is-at-least-256-bits",
+                "app.google.client-id=virtual-thread-test",
+                "gemini.api.key=virtual-thread-test",
+                "openai.api.key=virtual-thread-test",
+                "sendgrid.api.key=virtual-thread-test",
+                "app.email.sender=virtual-thread-test@dubai.local",
+                "gcp.credentials.path=",
+                "tts.cache.enabled=false",
+                // Quotas sized for real users would answer most of the burst with 429
+                "admission.enabled=false",
+                "tracing.log-exporter.enabled=false"
+        ).map(property -> "--" + property).toArray(String[]::new);
+    }
+
+    /**
+     * Stands in for a blocking provider call: parks the calling thread and tracks concurrent callers.
+     */
+    private static class SleepingTextToSpeechService implements TextToSpeechService {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final AtomicBoolean sawVirtualThread = new AtomicBoolean();
+
+        @Override
+        public byte[] generateSpeech(TtsRequest request) {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            if (Thread.currentThread().isVirtual()) {
+                sawVirtualThread.set(true);
+            }
+            try {
+                Thread.sleep(PROVIDER_LATENCY_MILLIS);
+                return WavConverter.convertPcmToWav(new byte[4800]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public String translateText(TranslateRequest translateRequest) {
+            return translateRequest.text();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dAdK.dubAI.config.security;
+
+import com.dAdK.dubAI.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final User user = User.builder().id("user-1").username("alice").build();
+
+    @Test
+    void get_returnsCachedUserUntilInvalidated() {
+        PrincipalCache cache = new PrincipalCache(30, 10, new SimpleMeterRegistry());
+
+        assertNull(cache.get("user-1"));
+        cache.put(user);
+        assertSame(user, cache.get("user-1"));
+
+        cache.invalidate("user-1");
+        assertNull(cache.get("user-1"));
+    }
+
+    @Test
+    void put_staysWithinMaxEntries() {
+        PrincipalCache cache = new PrincipalCache(30, 1, new SimpleMeterRegistry());
+
+        cache.put(user);
+        cache.put(User.builder().id("user-2").username("bob").build());
+
+        assertSame(user, cache.get("user-1"));
+        assertNull(cache.get("user-2"));
+    }
+
+    @Test
+    void zeroTtlDisablesCache() {
+        PrincipalCache cache = new PrincipalCache(0, 10, new SimpleMeterRegistry());
+
+        cache.put(user);
+        assertNull(cache.get("user-1"));
+    }
+}
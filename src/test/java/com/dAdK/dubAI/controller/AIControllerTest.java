@@ -1,6 +1,7 @@
 package com.dAdK.dubAI.controller;
 
 import com.dAdK.dubAI.dto.TranslationRequestDto;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.theokanning.openai.OpenAiService;
@@ -8,12 +9,12 @@ import com.theokanning.openai.completion.chat.ChatCompletionChoice;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +28,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,14 +45,34 @@ class AIControllerTest {
     @Mock
     private OpenAiService openAiService;
 
+    @Mock
+    private CloseableHttpClient httpClient;
+
+    @Mock
+    private ProviderResilience providerResilience;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         ReflectionTestUtils.setField(aiController, "openAiApiKey", "test-openai-key");
         ReflectionTestUtils.setField(aiController, "geminiApiKey", null); // Default to OpenAI for most tests
         ReflectionTestUtils.setField(aiController, "openAiService", openAiService);
         ReflectionTestUtils.setField(aiController, "mapper", objectMapper);
+
+        // Provider calls run once, on the test thread, so static mocks of EntityUtils still apply
+        lenient().when(providerResilience.callChecked(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2, Callable.class).call());
+        lenient().when(providerResilience.call(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2, Supplier.class).get());
+    }
+
+    /**
+     * Runs the controller's response handler against the given response, as the pooled client does.
+     */
+    private void respondWith(ClassicHttpResponse response) throws Exception {
+        when(httpClient.execute(any(HttpPost.class), any(HttpClientResponseHandler.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1, HttpClientResponseHandler.class).handleResponse(response));
     }
 
     @Test
@@ -72,15 +95,12 @@ class AIControllerTest {
         when(mockMessage.getContent()).thenReturn(analysisJson);
 
         // Mock CloseableHttpClient for transcribeWithOpenAI
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
             mockedEntityUtils.when(() -> EntityUtils.toString(mockHttpEntity))
                     .thenReturn("{\"text\":\"" + transcriptionText + "\"}");
@@ -94,7 +114,7 @@ class AIControllerTest {
             assertEquals("positive", ((JsonNode) response.get("analysis")).path("sentiment").asText());
 
             verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
-            verify(mockHttpClient, times(1)).execute(any(HttpPost.class));
+            verify(httpClient, times(1)).execute(any(HttpPost.class), any(HttpClientResponseHandler.class));
         }
     }
 
@@ -109,15 +129,12 @@ class AIControllerTest {
         String escapedAnalysisJson = analysisJson.replace("\"", "\\\"");
 
         // Mock CloseableHttpClient for transcribeWithGemini and analyzeWithGemini
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
 
             // First call for transcribeWithGemini
@@ -133,7 +150,7 @@ class AIControllerTest {
             assertNotNull(response.get("analysis"));
             assertEquals("neutral", ((JsonNode) response.get("analysis")).path("sentiment").asText());
 
-            verify(mockHttpClient, times(2)).execute(any(HttpPost.class)); // One for transcribe, one for analyze
+            verify(httpClient, times(2)).execute(any(HttpPost.class), any(HttpClientResponseHandler.class)); // One for transcribe, one for analyze
         }
     }
 
@@ -182,15 +199,12 @@ class AIControllerTest {
         String escapedAnalysisJson = analysisJson.replace("\"", "\\\"");
 
         // Mock CloseableHttpClient for translateWithGemini and analyzeWithGemini
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
 
             // First call for translateWithGemini
@@ -206,7 +220,7 @@ class AIControllerTest {
             assertNotNull(response.get("analysis"));
             assertEquals("neutral", ((JsonNode) response.get("analysis")).path("sentiment").asText());
 
-            verify(mockHttpClient, times(2)).execute(any(HttpPost.class)); // One for translate, one for analyze
+            verify(httpClient, times(2)).execute(any(HttpPost.class), any(HttpClientResponseHandler.class)); // One for translate, one for analyze
         }
     }
 
@@ -229,15 +243,12 @@ class AIControllerTest {
         when(mockMessage.getContent()).thenReturn(analysisJson);
 
         // Mock CloseableHttpClient for transcribeWithOpenAI to return empty text
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
             mockedEntityUtils.when(() -> EntityUtils.toString(mockHttpEntity))
                     .thenReturn("{\"error\":\"some error\"}"); // No "text" field
@@ -262,15 +273,12 @@ class AIControllerTest {
         String escapedAnalysisJson = analysisJson.replace("\"", "\\\"");
 
         // Mock CloseableHttpClient for translateWithGemini and analyzeWithGemini
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
 
             // First call for translateWithGemini returns no candidates
@@ -299,15 +307,12 @@ class AIControllerTest {
         String escapedAnalysisJson = analysisJson.replace("\"", "\\\"");
 
         // Mock CloseableHttpClient for translateWithGemini and analyzeWithGemini
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
 
             // First call for translateWithGemini
@@ -344,14 +349,10 @@ class AIControllerTest {
         MockMultipartFile mockFile = new MockMultipartFile(
                 "file", "audio.mp3", MediaType.MULTIPART_FORM_DATA_VALUE, "audio data".getBytes());
 
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class)) {
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenThrow(new IOException("Network error"));
+        when(httpClient.execute(any(HttpPost.class), any(HttpClientResponseHandler.class))).thenThrow(new IOException("Network error"));
 
-            Exception exception = assertThrows(Exception.class, () -> aiController.transcribeAudio(mockFile));
-            assertTrue(exception.getMessage().contains("Network error"));
-        }
+        Exception exception = assertThrows(Exception.class, () -> aiController.transcribeAudio(mockFile));
+        assertTrue(exception.getMessage().contains("Network error"));
     }
 
     @Test
@@ -374,14 +375,10 @@ class AIControllerTest {
         requestDto.setText("Hello");
         requestDto.setTargetLanguage("French");
 
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class)) {
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenThrow(new IOException("Gemini API error"));
+        when(httpClient.execute(any(HttpPost.class), any(HttpClientResponseHandler.class))).thenThrow(new IOException("Gemini API error"));
 
-            Exception exception = assertThrows(Exception.class, () -> aiController.translateText(requestDto));
-            assertTrue(exception.getMessage().contains("Gemini API error"));
-        }
+        Exception exception = assertThrows(Exception.class, () -> aiController.translateText(requestDto));
+        assertTrue(exception.getMessage().contains("Gemini API error"));
     }
 
     @Test
@@ -484,15 +481,12 @@ class AIControllerTest {
         when(mockChoice.getMessage()).thenReturn(mockMessage);
         when(mockMessage.getContent()).thenReturn(analysisJson);
 
-        try (MockedStatic<HttpClients> mockedHttpClients = Mockito.mockStatic(HttpClients.class);
-             MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
+        try (MockedStatic<EntityUtils> mockedEntityUtils = Mockito.mockStatic(EntityUtils.class)) {
 
-            CloseableHttpClient mockHttpClient = mock(CloseableHttpClient.class);
-            CloseableHttpResponse mockHttpResponse = mock(CloseableHttpResponse.class);
+            ClassicHttpResponse mockHttpResponse = mock(ClassicHttpResponse.class);
             HttpEntity mockHttpEntity = mock(HttpEntity.class);
 
-            mockedHttpClients.when(HttpClients::createDefault).thenReturn(mockHttpClient);
-            when(mockHttpClient.execute(any(HttpPost.class))).thenReturn(mockHttpResponse);
+            respondWith(mockHttpResponse);
             when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
             mockedEntityUtils.when(() -> EntityUtils.toString(mockHttpEntity))
                     .thenReturn("{\"text\":\"Transcription unavailable\"}"); // Simulate API response for empty file
@@ -2,6 +2,8 @@ package com.dAdK.dubAI.controller;
 
 import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
 import com.dAdK.dubAI.services.audioanalysisservice.AudioAnalysisService;
+import com.dAdK.dubAI.services.audioanalysisservice.LongAudioAnalysisService;
+import com.dAdK.dubAI.services.RateLimiting.AdmissionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
@@ -25,9 +27,15 @@ public class SpeechToTextControllerTest {
     @MockBean
     private AudioAnalysisService audioAnalysisService;
 
+    @MockBean
+    private LongAudioAnalysisService longAudioAnalysisService;
+
     @MockBean
     private JwtAuthFilter jwtAuthFilter;
 
+    @MockBean
+    private AdmissionService admissionService;
+
     @Test
     public void analyzeAudio_whenValidFile_shouldReturnOk() throws Exception {
         // Given
@@ -41,7 +49,7 @@ public class SpeechToTextControllerTest {
         AnalyzeAudioResponse mockResponse = new AnalyzeAudioResponse();
         // Populate mockResponse with some data if necessary
 
-        when(audioAnalysisService.analyzeAudio(any())).thenReturn(mockResponse);
+        when(audioAnalysisService.analyzeAudio(any(), any())).thenReturn(mockResponse);
 
         // When & Then
         mockMvc.perform(multipart("/api/v1/audio/analyze").file(file))
@@ -93,4 +101,21 @@ public class SpeechToTextControllerTest {
         mockMvc.perform(multipart("/api/v1/audio/analyze").file(file))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    public void analyzeLongAudio_whenLargerThanStandardLimit_shouldReturnOk() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+                "audioFile",
+                "podcast.mp3",
+                "audio/mpeg",
+                new byte[6 * 1024 * 1024]
+        );
+
+        when(longAudioAnalysisService.analyzeLongAudio(any())).thenReturn(new AnalyzeAudioResponse());
+
+        // When & Then
+        mockMvc.perform(multipart("/api/v1/audio/analyze/long").file(file))
+                .andExpect(status().isOk());
+    }
 }
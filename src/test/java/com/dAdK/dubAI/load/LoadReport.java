@@ -0,0 +1,90 @@
+package com.dAdK.dubAI.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response times and status codes per endpoint over one run, summarized as throughput and latency percentiles.
+ */
+class LoadReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static class Endpoint {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        synchronized void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized int errors() {
+            int errors = 0;
+            for (Map.Entry<Integer, Integer> status : statuses.entrySet()) {
+                if (status.getKey() < 200 || status.getKey() >= 300) {
+                    errors += status.getValue();
+                }
+            }
+            return errors;
+        }
+
+        synchronized String statuses() {
+            return statuses.toString();
+        }
+    }
+
+    /**
+     * @param status the HTTP status, or 0 when the request failed without a response
+     */
+    void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).record(nanos, status);
+    }
+
+    int errors() {
+        return endpoints.values().stream().mapToInt(Endpoint::errors).sum();
+    }
+
+    int requests() {
+        return endpoints.values().stream().mapToInt(endpoint -> endpoint.sorted().length).sum();
+    }
+
+    String format(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%-28s %8s %8s %8s %8s %8s %8s %7s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors", "statuses"));
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            report.append(String.format("%-28s %8d %8.1f %8.1f %8.1f %8.1f %8.1f %7d  %s%n",
+                    entry.getKey(), sorted.length, sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 1.0), entry.getValue().errors(), entry.getValue().statuses()));
+        }
+        report.append(String.format("%d requests in %.1f s, %.1f req/s, %d errors%n",
+                requests(), seconds, requests() / seconds, errors()));
+        return report.toString();
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds.
+     */
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
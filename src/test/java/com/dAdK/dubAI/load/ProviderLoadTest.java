@@ -0,0 +1,353 @@
+package com.dAdK.dubAI.load;
+
+import com.dAdK.dubAI.util.PcmFormat;
+import com.dAdK.dubAI.util.WavBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the whole application against local provider stand-ins (Gemini, Cloud TTS, OpenAI and SendGrid, see
+ * {@link ProviderStubServer} and {@link WaveNetStubServer}) and an embedded MongoDB, then has virtual users drive a
+ * weighted mix of TTS, translation, analysis and auth traffic for a fixed time. Prints throughput and latency
+ * percentiles per endpoint, also written to target/load-report.txt.
+ * <p>
+ * Each virtual user registers, verifies its OTP and logs in first, and keeps its own X-Forwarded-For address.
+ * Stub latency and failures are set per provider (gemini-tts, gemini, wavenet, openai, sendgrid), see
+ * {@link StubProfile}. Only runs on request:
+ * mvn test -Dtest=ProviderLoadTest -Dload-tests=true [-Dload.users=50] [-Dload.duration-seconds=60]
+ * [-Dload.think-ms=0] [-Dload.mix=tts-gemini=40,tts-wavenet=15,translate=15,analyze=15,login=10,register=5]
+ * [-Dload.tts.mode=original] [-Dload.gemini-tts.error-rate=0.05] [-Dload.max-error-rate=0.01]
+ * [-Dmongo.url=mongodb://localhost:27017]
+ */
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class ProviderLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 60));
+    private static final long THINK_MILLIS = Long.getLong("load.think-ms", 0);
+    private static final int AUDIO_SECONDS = Integer.getInteger("load.audio-seconds", 3);
+    private static final String TTS_MODE = System.getProperty("load.tts.mode", "original");
+    private static final String MIX = System.getProperty("load.mix",
+            "tts-gemini=40,tts-wavenet=15,translate=15,analyze=15,login=10,register=5");
+
+    private static final String PASSWORD = "LoadTest123";
+    private static final String[] GEMINI_VOICES = {"KORE", "PUCK", "CHARON", "AOEDE", "FENRIR"};
+    private static final String[] WAVENET_VOICES = {"EN_US_MALE", "EN_US_FEMALE", "EN_GB_FEMALE"};
+    private static final String[] PHRASES = {
+            "Welcome back to the show, today we are talking about the weather.",
+            "Please keep your seatbelt fastened until the aircraft has come to a complete stop.",
+            "The quick brown fox jumps over the lazy dog.",
+            "Thank you for calling, your order has been shipped and will arrive on Tuesday.",
+            "In the beginning the universe was created, which many regard as a bad move."
+    };
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static ProviderStubServer providers;
+    private static WaveNetStubServer wavenet;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LoadReport report = new LoadReport();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final byte[] analysisUpload = wav(2);
+
+    @LocalServerPort
+    private int port;
+
+    private HttpClient http;
+
+    @DynamicPropertySource
+    static void providers(DynamicPropertyRegistry registry) throws IOException {
+        String url = System.getProperty("mongo.url");
+        if (url == null) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            url = "mongodb://" + mongod.current().getServerAddress().getHost()
+                    + ":" + mongod.current().getServerAddress().getPort();
+        }
+        String mongoUri = url + "/dubai-load-test";
+        providers = new ProviderStubServer(Map.of(
+                "gemini-tts", StubProfile.of("gemini-tts", 1500, 0.4),
+                "gemini", StubProfile.of("gemini", 400, 0.5),
+                "openai", StubProfile.of("openai", 600, 0.5),
+                "sendgrid", StubProfile.of("sendgrid", 80, 0.3)), AUDIO_SECONDS);
+        wavenet = new WaveNetStubServer(StubProfile.of("wavenet", 300, 0.4), AUDIO_SECONDS);
+
+        registry.add("spring.data.mongodb.uri", () -> mongoUri);
+        registry.add("app.jwt.secret", () -> "load-test-signing-key-that-is-at-least-256-bits-long");
+        registry.add("app.google.client-id", () -> "load-test");
+        registry.add("gemini.api.key", () -> "load-test");
+        registry.add("gemini.base-url", providers::baseUrl);
+        registry.add("google.ai.api.url",
+                () -> providers.baseUrl() + "/v1beta/models/gemini-2.0-flash-exp:generateContent");
+        registry.add("openai.api.key", () -> "load-test");
+        registry.add("openai.base-url", providers::baseUrl);
+        registry.add("sendgrid.api.key", () -> "load-test");
+        registry.add("sendgrid.host", providers::hostAndPort);
+        registry.add("app.email.sender", () -> "load-test@dubai.local");
+        registry.add("gcp.credentials.path", () -> "");
+        registry.add("wavenet.emulator-host", wavenet::hostAndPort);
+        // Quotas sized for real users would turn the run into a 429 benchmark
+        registry.add("admission.user.limit", () -> "100000000");
+        registry.add("admission.ip.limit", () -> "100000000");
+        registry.add("admission.max-request-cost", () -> "100000000");
+        registry.add("tracing.log-exporter.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopProviders() throws InterruptedException {
+        providers.close();
+        wavenet.close();
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    private record Scenario(String name, int weight) {
+    }
+
+    private record VirtualUser(String ip, String identifier, String token) {
+    }
+
+    @Test
+    void trafficMixAgainstStubbedProviders() throws Exception {
+        List<Scenario> mix = mix();
+        int totalWeight = mix.stream().mapToInt(Scenario::weight).sum();
+
+        long start;
+        long elapsed;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            http = HttpClient.newBuilder().executor(users).connectTimeout(Duration.ofSeconds(10)).build();
+            long deadline = System.nanoTime() + DURATION.toNanos();
+            start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                running.add(users.submit(() -> {
+                    VirtualUser user = signUp();
+                    while (System.nanoTime() < deadline) {
+                        run(pick(mix, totalWeight), user);
+                        if (THINK_MILLIS > 0) {
+                            Thread.sleep(THINK_MILLIS);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+            elapsed = System.nanoTime() - start;
+        }
+
+        StringBuilder summary = new StringBuilder()
+                .append(String.format("%d virtual users for %d s, mix %s, tts mode %s%n",
+                        USERS, DURATION.toSeconds(), MIX, TTS_MODE))
+                .append(report.format(elapsed))
+                .append("provider calls: ").append(providers.calls()).append(' ').append(wavenet.calls())
+                .append(System.lineSeparator());
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        Files.writeString(target.resolve("load-report.txt"), summary);
+        log.info("Load report, also written to target/load-report.txt:{}{}", System.lineSeparator(), summary);
+
+        assertTrue(report.requests() > 0);
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "1.0"));
+        assertTrue((double) report.errors() / report.requests() <= maxErrorRate,
+                "error rate over " + maxErrorRate);
+    }
+
+    private List<Scenario> mix() {
+        List<Scenario> mix = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] weighted = entry.trim().split("=");
+            mix.add(new Scenario(weighted[0], Integer.parseInt(weighted[1])));
+        }
+        return mix;
+    }
+
+    private static Scenario pick(List<Scenario> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : mix) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return mix.getLast();
+    }
+
+    private void run(Scenario scenario, VirtualUser user) throws Exception {
+        switch (scenario.name()) {
+            case "tts-gemini" -> send("tts " + TTS_MODE + " gemini", user,
+                    post("/api/v1/tts/generate/speech?mode=" + TTS_MODE, speechRequest(pickOf(GEMINI_VOICES), "es")));
+            case "tts-wavenet" -> send("tts " + TTS_MODE + " wavenet", user,
+                    post("/api/v1/tts/generate/speech?mode=" + TTS_MODE, speechRequest(pickOf(WAVENET_VOICES), "en-US")));
+            case "translate" -> send("translate", user, post("/api/v1/tts/translate", json(Map.of(
+                    "text", phrase(), "language", "es", "userPrompt", "", "translatedText", "", "previewOnly", false))));
+            case "analyze" -> send("analyze", user, multipart("/api/v1/audio/analyze", "audioFile", "clip.wav",
+                    "audio/wav", analysisUpload));
+            case "login" -> send("login", user, post("/api/auth/login",
+                    json(Map.of("identifier", user.identifier(), "password", PASSWORD))));
+            case "register" -> register();
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario.name());
+        }
+    }
+
+    /**
+     * Registers a fresh account, verifies it with the OTP the SendGrid stub captured and logs in.
+     */
+    private VirtualUser signUp() throws Exception {
+        VirtualUser account = register();
+        if (account == null) {
+            return new VirtualUser(nextIp(), "unregistered", null);
+        }
+        HttpResponse<String> login = send("login", account, post("/api/auth/login",
+                json(Map.of("identifier", account.identifier(), "password", PASSWORD))));
+        String token = login != null ? mapper.readTree(login.body()).path("data").path("token").asText(null) : null;
+        return new VirtualUser(account.ip(), account.identifier(), token);
+    }
+
+    private VirtualUser register() throws Exception {
+        // Registration is limited per address, so every attempt comes from a new one
+        VirtualUser anonymous = new VirtualUser(nextIp(), null, null);
+        String username = "load_" + UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+        String email = username + "@dubai.local";
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("fullName", "Load Test");
+        body.put("email", email);
+        body.put("password", PASSWORD);
+        HttpResponse<String> registered = send("register", anonymous, post("/api/auth/register", json(body)));
+        if (registered == null || registered.statusCode() >= 300) {
+            return null;
+        }
+        String userId = mapper.readTree(registered.body()).path("data").path("userId").asText();
+        HttpResponse<String> verified = send("verify-otp", anonymous, post("/api/auth/verify-otp",
+                json(Map.of("userId", userId, "otp", String.valueOf(providers.otpFor(email))))));
+        if (verified == null || verified.statusCode() >= 300) {
+            return null;
+        }
+        return new VirtualUser(anonymous.ip(), username, null);
+    }
+
+    /**
+     * Sends the request as the user and records its latency under the endpoint name.
+     *
+     * @return the response, or null if none was received
+     */
+    private HttpResponse<String> send(String endpoint, VirtualUser user, HttpRequest.Builder request) {
+        request.header("X-Forwarded-For", user.ip()).timeout(Duration.ofMinutes(2));
+        if (user.token() != null) {
+            request.header("Authorization", "Bearer " + user.token());
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, 0);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder multipart(String path, String field, String filename, String contentType,
+                                          byte[] content) {
+        String boundary = "load-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field
+                + "\"; filename=\"" + filename + "\"\r\nContent-Type: " + contentType + "\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    private String speechRequest(String voiceType, String language) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("text", phrase());
+        body.put("voiceType", voiceType);
+        body.put("language", language);
+        body.put("userPrompt", "");
+        body.put("emotion", "");
+        body.put("translatedText", "");
+        body.put("previewOnly", false);
+        body.put("bypassCache", false);
+        return json(body);
+    }
+
+    /**
+     * A common phrase, made unique four times out of five so most requests miss the caches.
+     */
+    private static String phrase() {
+        String phrase = pickOf(PHRASES);
+        return ThreadLocalRandom.current().nextInt(5) == 0 ? phrase : phrase + " Reference " + UUID.randomUUID() + ".";
+    }
+
+    private static String pickOf(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private String nextIp() {
+        int n = registrations.incrementAndGet();
+        return "10." + ((n >> 16) & 0xFF) + "." + ((n >> 8) & 0xFF) + "." + (n & 0xFF);
+    }
+
+    private String json(Object body) throws IOException {
+        return mapper.writeValueAsString(body);
+    }
+
+    private static byte[] wav(int seconds) {
+        PcmFormat format = PcmFormat.mono16(16_000);
+        return WavBody.of(new byte[seconds * format.byteRate()], format).toByteArray();
+    }
+}
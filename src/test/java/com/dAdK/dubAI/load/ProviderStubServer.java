@@ -0,0 +1,196 @@
+package com.dAdK.dubAI.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-ins for the HTTP providers, on one port:
+ * <ul>
+ *     <li>Gemini generateContent: AUDIO modality requests get inline 24 kHz PCM, requests with inline audio get an
+ *     analysis, text requests get a translation (or sentiment JSON when the prompt asks for JSON)</li>
+ *     <li>Gemini :transcribe and OpenAI audio/transcriptions and chat/completions, as called by /v3/ai</li>
+ *     <li>SendGrid mail/send, keeping the OTP of each mail so the auth flow can be completed</li>
+ * </ul>
+ * Each provider answers after a latency and with an outcome drawn from its {@link StubProfile}.
+ */
+class ProviderStubServer implements AutoCloseable {
+
+    private static final Pattern OTP = Pattern.compile("\\b(\\d{6})\\b");
+    private static final int PCM_BYTES_PER_SECOND = 24_000 * 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, StubProfile> profiles;
+    private final Map<String, String> otps = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final String pcmBase64;
+
+    ProviderStubServer(Map<String, StubProfile> profiles, int audioSeconds) throws IOException {
+        this.profiles = profiles;
+        // Quiet audio rather than silence, so nothing downstream treats it as empty
+        byte[] pcm = new byte[audioSeconds * PCM_BYTES_PER_SECOND];
+        for (int i = 0; i < pcm.length; i += 2) {
+            short sample = (short) (800 * Math.sin(2 * Math.PI * 220 * (i / 2) / 24_000.0));
+            pcm[i] = (byte) sample;
+            pcm[i + 1] = (byte) (sample >> 8);
+        }
+        this.pcmBase64 = Base64.getEncoder().encodeToString(pcm);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v1beta/models/", this::gemini);
+        server.createContext("/v1/audio/transcriptions", exchange -> serve(exchange, "openai", "transcriptions",
+                body -> "{\"text\":\"This is a stubbed transcription.\"}"));
+        server.createContext("/v1/chat/completions", exchange -> serve(exchange, "openai", "chat",
+                body -> chatCompletion()));
+        server.createContext("/v3/mail/send", exchange -> serve(exchange, "sendgrid", "mail", this::mail));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + hostAndPort();
+    }
+
+    String hostAndPort() {
+        return server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * The last OTP mailed to the address, or null.
+     */
+    String otpFor(String email) {
+        return otps.get(email);
+    }
+
+    /**
+     * Calls served so far, by provider, route and outcome.
+     */
+    Map<String, Long> calls() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    @FunctionalInterface
+    private interface Responder {
+        String respond(byte[] body) throws IOException;
+    }
+
+    private void gemini(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith(":transcribe")) {
+            serve(exchange, "gemini", "transcribe", body -> "{\"text\":\"This is a stubbed transcription.\"}");
+            return;
+        }
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        JsonNode request = mapper.readTree(body);
+        JsonNode modalities = request.path("generationConfig").path("responseModalities");
+        if (modalities.toString().contains("AUDIO")) {
+            respond(exchange, "gemini-tts", "speech", body, ignored -> speech());
+        } else if (request.path("contents").toString().contains("inlineData")) {
+            respond(exchange, "gemini", "analysis", body, ignored -> analysis());
+        } else {
+            respond(exchange, "gemini", "text", body, ignored -> text(request));
+        }
+    }
+
+    private void serve(HttpExchange exchange, String provider, String route, Responder responder) throws IOException {
+        respond(exchange, provider, route, exchange.getRequestBody().readAllBytes(), responder);
+    }
+
+    private void respond(HttpExchange exchange, String provider, String route, byte[] body, Responder responder)
+            throws IOException {
+        try (exchange) {
+            StubProfile.Outcome outcome = profiles.get(provider).await();
+            calls.computeIfAbsent(provider + " " + route + " " + outcome.name().toLowerCase(), key -> new LongAdder())
+                    .increment();
+            switch (outcome) {
+                case ERROR -> send(exchange, 503, error(503, "UNAVAILABLE", "The model is overloaded."));
+                case THROTTLED -> send(exchange, 429, error(429, "RESOURCE_EXHAUSTED", "Quota exceeded."));
+                default -> send(exchange, "sendgrid".equals(provider) ? 202 : 200, responder.respond(body));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        // -1: no body rather than a chunked one
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String speech() {
+        return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"inlineData\":"
+                + "{\"mimeType\":\"audio/L16;codec=pcm;rate=24000\",\"data\":\"" + pcmBase64 + "\"}}]},"
+                + "\"finishReason\":\"STOP\"}]}";
+    }
+
+    private String analysis() throws IOException {
+        String result = "```json\n{\"transcription\":\"This is a stubbed transcription.\",\"sentiment\":\"Neutral\","
+                + "\"tone\":\"Calm\",\"pitch\":\"Medium\",\"emotion\":\"Calm\",\"voiceType\":\"CHARON\"}\n```";
+        return candidate(result);
+    }
+
+    private String text(JsonNode request) throws IOException {
+        String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+        if (prompt.contains("return JSON")) {
+            return candidate("{\"sentiment\":\"neutral\",\"emotion\":\"calm\"}");
+        }
+        return candidate("Este es un texto traducido por el stub de carga.");
+    }
+
+    private String candidate(String text) throws IOException {
+        return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":"
+                + mapper.writeValueAsString(text) + "}]},\"finishReason\":\"STOP\"}]}";
+    }
+
+    private static String chatCompletion() {
+        return "{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"created\":0,\"model\":\"gpt-3.5-turbo\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\","
+                + "\"content\":\"{\\\"sentiment\\\":\\\"neutral\\\",\\\"emotion\\\":\\\"calm\\\"}\"},"
+                + "\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":0,\"completion_tokens\":0,\"total_tokens\":0}}";
+    }
+
+    private String mail(byte[] body) throws IOException {
+        JsonNode mail = mapper.readTree(body);
+        String to = mail.path("personalizations").path(0).path("to").path(0).path("email").asText();
+        Matcher otp = OTP.matcher(mail.path("content").path(0).path("value").asText());
+        if (otp.find()) {
+            otps.put(to, otp.group(1));
+        }
+        return "";
+    }
+
+    private static String error(int code, String status, String message) {
+        return "{\"error\":{\"code\":" + code + ",\"message\":\"" + message + "\",\"status\":\"" + status + "\"}}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.dAdK.dubAI.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a stubbed provider behaves: log-normal latency around a median, and shares of calls failing with 503 or
+ * throttled with 429. Each field can be overridden per provider with load.&lt;provider&gt;.median-ms, .sigma,
+ * .error-rate and .throttle-rate, e.g. -Dload.gemini.error-rate=0.05.
+ */
+record StubProfile(long medianMillis, double sigma, double errorRate, double throttleRate) {
+
+    enum Outcome {OK, ERROR, THROTTLED}
+
+    static StubProfile of(String provider, long medianMillis, double sigma) {
+        return new StubProfile(
+                Long.getLong("load." + provider + ".median-ms", medianMillis),
+                doubleProperty("load." + provider + ".sigma", sigma),
+                doubleProperty("load." + provider + ".error-rate", 0.0),
+                doubleProperty("load." + provider + ".throttle-rate", 0.0));
+    }
+
+    long sampleLatencyMillis() {
+        if (medianMillis <= 0) {
+            return 0;
+        }
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    Outcome sampleOutcome() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < errorRate) {
+            return Outcome.ERROR;
+        }
+        return roll < errorRate + throttleRate ? Outcome.THROTTLED : Outcome.OK;
+    }
+
+    /**
+     * Sleeps for one sampled latency and returns the outcome the call should have.
+     */
+    Outcome await() throws InterruptedException {
+        Thread.sleep(sampleLatencyMillis());
+        return sampleOutcome();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("median %d ms, sigma %.2f, %.1f%% errors, %.1f%% throttled",
+                medianMillis, sigma, errorRate * 100, throttleRate * 100);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dAdK.dubAI.load;
+
+import com.dAdK.dubAI.util.PcmFormat;
+import com.dAdK.dubAI.util.WavBody;
+import com.google.cloud.texttospeech.v1.AudioEncoding;
+import com.google.cloud.texttospeech.v1.SynthesizeSpeechRequest;
+import com.google.cloud.texttospeech.v1.SynthesizeSpeechResponse;
+import com.google.cloud.texttospeech.v1.TextToSpeechGrpc;
+import com.google.protobuf.ByteString;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A plaintext gRPC stand-in for Cloud Text-to-Speech. SynthesizeSpeech returns MP3 frames, or a 24 kHz WAV for
+ * LINEAR16, after a latency and with an outcome drawn from the wavenet {@link StubProfile}: UNAVAILABLE for errors,
+ * RESOURCE_EXHAUSTED when throttled.
+ */
+class WaveNetStubServer implements AutoCloseable {
+
+    // One silent MPEG-1 Layer III frame: 128 kbps, 44.1 kHz, 417 bytes
+    private static final int MP3_FRAME_BYTES = 417;
+
+    private final Server server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final ByteString mp3;
+    private final ByteString wav;
+
+    WaveNetStubServer(StubProfile profile, int audioSeconds) throws IOException {
+        this.mp3 = ByteString.copyFrom(mp3(audioSeconds));
+        this.wav = ByteString.copyFrom(wav(audioSeconds));
+        this.server = ServerBuilder.forPort(0)
+                .executor(executor)
+                .addService(new TextToSpeechGrpc.TextToSpeechImplBase() {
+                    @Override
+                    public void synthesizeSpeech(SynthesizeSpeechRequest request,
+                                                 StreamObserver<SynthesizeSpeechResponse> response) {
+                        synthesize(profile, request, response);
+                    }
+                })
+                .build()
+                .start();
+    }
+
+    String hostAndPort() {
+        return "localhost:" + server.getPort();
+    }
+
+    Map<String, Long> calls() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        executor.close();
+    }
+
+    private void synthesize(StubProfile profile, SynthesizeSpeechRequest request,
+                            StreamObserver<SynthesizeSpeechResponse> response) {
+        StubProfile.Outcome outcome;
+        try {
+            outcome = profile.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.onError(Status.CANCELLED.asRuntimeException());
+            return;
+        }
+        calls.computeIfAbsent("wavenet synthesize " + outcome.name().toLowerCase(), key -> new LongAdder()).increment();
+        switch (outcome) {
+            case ERROR -> response.onError(Status.UNAVAILABLE.withDescription("stub overloaded").asRuntimeException());
+            case THROTTLED -> response.onError(Status.RESOURCE_EXHAUSTED.withDescription("quota exceeded").asRuntimeException());
+            default -> {
+                boolean linear = request.getAudioConfig().getAudioEncoding() == AudioEncoding.LINEAR16;
+                response.onNext(SynthesizeSpeechResponse.newBuilder().setAudioContent(linear ? wav : mp3).build());
+                response.onCompleted();
+            }
+        }
+    }
+
+    private static byte[] mp3(int seconds) {
+        // 44100 / 1152 frames a second
+        int frames = seconds * 39;
+        byte[] audio = new byte[frames * MP3_FRAME_BYTES];
+        for (int frame = 0; frame < frames; frame++) {
+            int offset = frame * MP3_FRAME_BYTES;
+            audio[offset] = (byte) 0xFF;
+            audio[offset + 1] = (byte) 0xFB;
+            audio[offset + 2] = (byte) 0x90;
+            audio[offset + 3] = (byte) 0x64;
+        }
+        return audio;
+    }
+
+    private static byte[] wav(int seconds) {
+        return WavBody.of(new byte[seconds * PcmFormat.GEMINI.byteRate()], PcmFormat.GEMINI).toByteArray();
+    }
+}
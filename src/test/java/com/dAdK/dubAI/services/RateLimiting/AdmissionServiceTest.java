@@ -0,0 +1,78 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import com.dAdK.dubAI.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionServiceTest {
+
+    private AdmissionService admissionService(boolean enabled, int userLimit, int ipLimit) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimitService rateLimitService = new RateLimitService(new LocalRateLimitBackend(1024, registry), Optional.empty(), 5000);
+        return new AdmissionService(rateLimitService, enabled, 60, userLimit, ipLimit, 500, 262144, 60, registry);
+    }
+
+    @Test
+    void costGrowsWithPayloadUpToTheCap() {
+        AdmissionService admission = admissionService(true, 120, 240);
+
+        assertEquals(1, admission.cost(false, 0));
+        assertEquals(1, admission.cost(false, 499));
+        assertEquals(5, admission.cost(false, 2000));
+        assertEquals(21, admission.cost(true, 5 * 1024 * 1024));
+        assertEquals(60, admission.cost(true, 200L * 1024 * 1024));
+        assertEquals(60, admission.cost(false, -1));
+    }
+
+    @Test
+    void batchesPayForEachVariant() {
+        AdmissionService admission = admissionService(true, 120, 240);
+
+        assertEquals(5, admission.cost(false, 2000, 1));
+        assertEquals(20, admission.cost(false, 2000, 4));
+        assertEquals(60, admission.cost(false, 2000, 50));
+
+        AdmissionService small = admissionService(true, 1000, 10);
+        small.admit(null, "10.0.0.1", false, 100, 8);
+        assertThrows(RateLimitExceededException.class, () -> small.admit(null, "10.0.0.1", false, 100, 3));
+    }
+
+    @Test
+    void userQuotaIsChargedByCost() {
+        AdmissionService admission = admissionService(true, 10, 1000);
+
+        admission.admit("user-1", "10.0.0.1", false, 3000);   // 7 units
+        admission.admit("user-1", "10.0.0.1", false, 1000);   // 3 units
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> admission.admit("user-1", "10.0.0.1", false, 0));
+        assertEquals(6, ex.getRetryAfterSeconds());
+
+        // Another account on the same address has its own quota
+        admission.admit("user-2", "10.0.0.1", false, 0);
+    }
+
+    @Test
+    void anonymousRequestsAreLimitedByAddress() {
+        AdmissionService admission = admissionService(true, 1000, 3);
+
+        for (int i = 0; i < 3; i++) {
+            admission.admit(null, "10.0.0.1", false, 100);
+        }
+        assertThrows(RateLimitExceededException.class, () -> admission.admit(null, "10.0.0.1", false, 100));
+        admission.admit(null, "10.0.0.2", false, 100);
+    }
+
+    @Test
+    void disabledAdmissionChargesNothing() {
+        AdmissionService admission = admissionService(false, 1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            admission.admit("user-1", "10.0.0.1", true, 10_000_000);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import com.dAdK.dubAI.models.RateLimitBucket;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs MongoRateLimitBackend against a real mongod: an embedded one, or a local server given by -Dmongo.url.
+ * Only runs on request:
+ * mvn test -Dtest=MongoRateLimitBackendTest -Dmongo-tests=true [-Dmongo.url=mongodb://localhost:27017]
+ */
+@EnabledIfSystemProperty(named = "mongo-tests", matches = "true")
+class MongoRateLimitBackendTest {
+
+    private static final long WINDOW = 3_600_000;
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        String url = System.getProperty("mongo.url");
+        if (url == null) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            url = "mongodb://" + mongod.current().getServerAddress().getHost()
+                    + ":" + mongod.current().getServerAddress().getPort();
+        }
+        client = MongoClients.create(url);
+        mongoTemplate = new MongoTemplate(client, "ratelimit-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.dropCollection(RateLimitBucket.class);
+    }
+
+    @Test
+    void replicasShareOneLimit() {
+        // A tenth of a limit of 10 is under one request, so every decision is made against MongoDB
+        MongoRateLimitBackend first = backend(new SimpleMeterRegistry(), 0.1);
+        MongoRateLimitBackend second = backend(new SimpleMeterRegistry(), 0.1);
+
+        int admitted = 0;
+        for (int i = 0; i < 30; i++) {
+            MongoRateLimitBackend replica = i % 2 == 0 ? first : second;
+            if (replica.tryAcquire("register", "10.0.0.1", 10, WINDOW, 1)) {
+                admitted++;
+            }
+        }
+
+        assertEquals(10, admitted);
+    }
+
+    @Test
+    void keysFarBelowTheLimitAreAdmittedWithoutARoundTrip() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MongoRateLimitBackend backend = backend(registry, 0.5);
+
+        for (int i = 0; i < 11; i++) {
+            assertTrue(backend.tryAcquire("tts", "user-1", 1000, WINDOW, 1));
+        }
+
+        assertEquals(1.0, registry.get("ratelimit.mongo.decisions").tag("path", "remote").counter().count());
+        assertEquals(10.0, registry.get("ratelimit.mongo.decisions").tag("path", "local").counter().count());
+
+        // Hits admitted locally become visible cluster-wide on the next flush
+        backend.flushPending();
+        List<RateLimitBucket> buckets = mongoTemplate.findAll(RateLimitBucket.class);
+        assertEquals(1, buckets.size());
+        assertEquals(11, buckets.get(0).getCount());
+        assertNotNull(buckets.get(0).getExpiresAt());
+    }
+
+    @Test
+    void bucketsAreCoveredByATtlIndex() {
+        backend(new SimpleMeterRegistry(), 0.1).tryAcquire("register", "10.0.0.1", 5, WINDOW, 1);
+
+        assertTrue(mongoTemplate.indexOps(RateLimitBucket.class).getIndexInfo().stream()
+                .anyMatch(index -> index.getExpireAfter().isPresent()));
+    }
+
+    private static MongoRateLimitBackend backend(SimpleMeterRegistry registry, double localShare) {
+        MongoRateLimitBackend backend = new MongoRateLimitBackend(client, "ratelimit-test", localShare, 60_000, 1000, registry);
+        backend.ensureTtlIndex();
+        return backend;
+    }
+}
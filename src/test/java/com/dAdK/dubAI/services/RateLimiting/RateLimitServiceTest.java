@@ -0,0 +1,34 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitServiceTest {
+
+    @Test
+    void unreachableMongoIsTriedOnceThenSkippedForTheRetryPeriod() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Nothing listens on port 1, so the first decision fails after the backend's short timeout
+        MongoRateLimitBackend unreachable =
+                new MongoRateLimitBackend("mongodb://127.0.0.1:1/ratelimit", 200, 0.1, 1000, 100, registry);
+        RateLimitService rateLimitService =
+                new RateLimitService(new LocalRateLimitBackend(1024, registry), Optional.of(unreachable), 60_000);
+        try {
+            int admitted = 0;
+            for (int i = 0; i < 5; i++) {
+                if (rateLimitService.tryAcquire("register", "10.0.0.1", 3, 60_000, 1)) {
+                    admitted++;
+                }
+            }
+
+            assertEquals(3, admitted);
+            assertEquals(1.0, registry.get("ratelimit.mongo.decisions").tag("path", "remote").counter().count());
+        } finally {
+            unreachable.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.dAdK.dubAI.services.RateLimiting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCountersTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void admitsUpToTheLimitWithinAWindow() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1024);
+        long now = 10 * WINDOW;
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(counters.tryAcquire("register", "10.0.0.1", 5, WINDOW, 1, now + i));
+        }
+        assertFalse(counters.tryAcquire("register", "10.0.0.1", 5, WINDOW, 1, now + 10));
+        assertTrue(counters.tryAcquire("register", "10.0.0.2", 5, WINDOW, 1, now + 10));
+        assertTrue(counters.tryAcquire("login", "10.0.0.1", 5, WINDOW, 1, now + 10));
+    }
+
+    @Test
+    void previousWindowIsWeightedByTheUnelapsedShare() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1024);
+        long start = 10 * WINDOW;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(counters.tryAcquire("register", "ip", 4, WINDOW, 1, start));
+        }
+
+        // A quarter into the next window, 3 of the 4 previous hits still count
+        long quarter = 11 * WINDOW + WINDOW / 4;
+        assertEquals(3.0, counters.estimate("register", "ip", WINDOW, quarter), 1e-9);
+        assertTrue(counters.tryAcquire("register", "ip", 4, WINDOW, 1, quarter));
+        assertFalse(counters.tryAcquire("register", "ip", 4, WINDOW, 1, quarter));
+
+        // Two windows later everything has slid out
+        assertEquals(0.0, counters.estimate("register", "ip", WINDOW, 13 * WINDOW), 1e-9);
+        assertTrue(counters.tryAcquire("register", "ip", 4, WINDOW, 4, 13 * WINDOW));
+    }
+
+    @Test
+    void permitsAreCountedAsAWhole() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1024);
+        long now = 10 * WINDOW;
+
+        assertTrue(counters.tryAcquire("tts", "user", 10, WINDOW, 7, now));
+        assertFalse(counters.tryAcquire("tts", "user", 10, WINDOW, 4, now));
+        assertTrue(counters.tryAcquire("tts", "user", 10, WINDOW, 3, now));
+    }
+
+    @Test
+    void idleKeysAreEvicted() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1024);
+        long now = 10 * WINDOW;
+        for (int i = 0; i < 100; i++) {
+            counters.tryAcquire("register", "10.0.0." + i, 5, WINDOW, 1, now);
+        }
+        assertEquals(100, counters.size());
+
+        assertEquals(0, counters.evictIdle(now + WINDOW));
+        assertEquals(100, counters.evictIdle(now + 2 * WINDOW));
+        assertEquals(0, counters.size());
+    }
+
+    @Test
+    void memoryStaysFixedUnderScanningTraffic() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(256);
+        long now = 10 * WINDOW;
+        for (int i = 0; i < 10_000; i++) {
+            counters.tryAcquire("register", "scan-" + i, 5, WINDOW, 1, now);
+        }
+
+        assertEquals(256, counters.capacity());
+        assertEquals(256, counters.size());
+        assertTrue(counters.saturatedLookups() > 0);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws Exception {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1024);
+        long now = 10 * WINDOW;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (counters.tryAcquire("register", "hot", 500, WINDOW, 1, now)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, admitted.get());
+    }
+}
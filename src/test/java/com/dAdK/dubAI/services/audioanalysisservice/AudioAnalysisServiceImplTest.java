@@ -0,0 +1,58 @@
+package com.dAdK.dubAI.services.audioanalysisservice;
+
+import com.dAdK.dubAI.dto.audioanalysis.AnalyzeAudioResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AudioAnalysisServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void analyzeAudio_streamsBase64AudioIntoRequestBody() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        AudioAnalysisServiceImpl service = new AudioAnalysisServiceImpl(restTemplate, objectMapper, ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(service, "apiKey", "key");
+        ReflectionTestUtils.setField(service, "apiUrl", "http://gemini.test/generate");
+
+        byte[] audio = new byte[10_000];
+        for (int i = 0; i < audio.length; i++) {
+            audio[i] = (byte) i;
+        }
+        String analysis = "{\\\"transcription\\\":\\\"hello\\\",\\\"emotion\\\":\\\"Calm\\\"}";
+
+        server.expect(requestTo("http://gemini.test/generate?key=key"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> {
+                    JsonNode body = objectMapper.readTree(((MockClientHttpRequest) request).getBodyAsString());
+                    JsonNode parts = body.path("contents").get(0).path("parts");
+                    assertEquals("audio/wav", parts.get(1).path("inlineData").path("mimeType").asText());
+                    assertEquals(Base64.getEncoder().encodeToString(audio), parts.get(1).path("inlineData").path("data").asText());
+                })
+                .andRespond(withSuccess("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + analysis + "\"}]}}]}",
+                        MediaType.APPLICATION_JSON));
+
+        AnalyzeAudioResponse response = service.analyzeAudio(new ByteArrayInputStream(audio), "audio/wav");
+
+        assertEquals("hello", response.getTranscription());
+        assertEquals("Calm", response.getEmotion());
+        server.verify();
+    }
+}
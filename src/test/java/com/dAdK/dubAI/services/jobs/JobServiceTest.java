@@ -0,0 +1,135 @@
+package com.dAdK.dubAI.services.jobs;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.JobStatus;
+import com.dAdK.dubAI.enums.JobType;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.JobQueueFullException;
+import com.dAdK.dubAI.models.Job;
+import com.dAdK.dubAI.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JobServiceTest {
+
+    @TempDir
+    Path inputDir;
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final BlockingTtsHandler handler = new BlockingTtsHandler();
+    private JobService jobService;
+
+    /**
+     * Holds every job until released, so tests can observe queued and running states.
+     */
+    private static class BlockingTtsHandler implements JobHandler {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+
+        @Override
+        public JobType jobType() {
+            return JobType.TTS;
+        }
+
+        @Override
+        public void runJob(Job job) throws Exception {
+            runs.incrementAndGet();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                job.setResultAudio(new byte[]{1, 2, 3});
+                job.setResultContentType("audio/wav");
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    private JobService newService(int workers, int queueCapacity) throws Exception {
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        jobService = new JobService(jobRepository, List.of(handler), workers, queueCapacity,
+                inputDir.toString(), 24, 1000, 60, false);
+        return jobService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.release.countDown();
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    private static TtsRequest request(String text) {
+        return new TtsRequest(text, VoiceType.KORE, "en", "", "", "", false, false);
+    }
+
+    @Test
+    void submitTts_identicalInFlightSubmissionsShareOneJob() throws Exception {
+        JobService service = newService(2, 10);
+
+        Job first = service.submitTts(request("Hello"), "user-1");
+        Job second = service.submitTts(request("Hello"), "user-1");
+        Job otherUser = service.submitTts(request("Hello"), "user-2");
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), otherUser.getId());
+
+        handler.release.countDown();
+        assertTrue(handler.finished.await(5, TimeUnit.SECONDS));
+        verify(jobRepository, timeout(5000).atLeast(1)).save(argThat(job ->
+                job.getId().equals(first.getId()) && job.getStatus() == JobStatus.SUCCEEDED));
+        assertEquals(2, handler.runs.get());
+    }
+
+    @Test
+    void submitTts_fullQueueIsRejected() throws Exception {
+        JobService service = newService(1, 1);
+
+        service.submitTts(request("one"), null);
+        service.submitTts(request("two"), null);
+
+        assertThrows(JobQueueFullException.class, () -> service.submitTts(request("three"), null));
+        verify(jobRepository).deleteById(any());
+    }
+
+    @Test
+    void heartbeat_refreshesJobsHeldByThisInstance() throws Exception {
+        JobService service = newService(1, 10);
+        Job running = service.submitTts(request("one"), null);
+        Job queued = service.submitTts(request("two"), null);
+
+        service.heartbeat();
+
+        verify(jobRepository).updateHeartbeatAtByIdIn(argThat(ids ->
+                ids.size() == 2 && ids.contains(running.getId()) && ids.contains(queued.getId())), any());
+    }
+
+    @Test
+    void failAbandonedJobs_failsStaleJobsAndDeletesTheirInput() throws Exception {
+        JobService service = newService(1, 10);
+        Path input = Files.createFile(inputDir.resolve("upload"));
+        Job abandoned = Job.builder().id("lost").type(JobType.AUDIO_ANALYSIS).status(JobStatus.RUNNING)
+                .inputPath(input.toString()).heartbeatAt(LocalDateTime.now().minusHours(1)).build();
+        when(jobRepository.findAbandoned(any(), any())).thenReturn(List.of(abandoned));
+
+        service.failAbandonedJobs();
+
+        verify(jobRepository).save(argThat(job -> job.getId().equals("lost")
+                && job.getStatus() == JobStatus.FAILED && job.getError() != null && job.getCompletedAt() != null));
+        assertFalse(Files.exists(input));
+    }
+}
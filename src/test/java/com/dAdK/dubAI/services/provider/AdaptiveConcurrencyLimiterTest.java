@@ -0,0 +1,175 @@
+package com.dAdK.dubAI.services.provider;
+
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueue, long maxWaitMillis, long cooldownMillis) {
+        return limiter(initialLimit, 64, maxQueue, maxWaitMillis, cooldownMillis);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int maxQueue, long maxWaitMillis,
+                                                      long cooldownMillis) {
+        return new AdaptiveConcurrencyLimiter("gemini/test", new AdaptiveConcurrencyLimiter.Settings(
+                initialLimit, 1, maxLimit, maxQueue, maxWaitMillis, 0.5, 3.0, 0.9, cooldownMillis));
+    }
+
+    @Test
+    void concurrentCallsNeverExceedTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 3, 100, 10_000, 0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(12);
+
+        for (int i = 0; i < 12; i++) {
+            pool.submit(() -> limiter.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                return null;
+            }, e -> false));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, peak.get());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void callsBeyondTheQueueAreShedWithoutRunning() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0, 10_000, 0);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> holder = pool.submit(() -> limiter.execute(() -> {
+            blocking.countDown();
+            await(release);
+            return null;
+        }, e -> false));
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(ProviderOverloadedException.class, () -> limiter.execute(calls::incrementAndGet, e -> false));
+        assertEquals(0, calls.get());
+        assertEquals(1, limiter.shed());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    @Test
+    void queuedCallsTimeOut() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10, 50, 0);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.submit(() -> limiter.execute(() -> {
+            blocking.countDown();
+            await(release);
+            return null;
+        }, e -> false));
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ProviderOverloadedException.class, () -> limiter.execute(() -> null, e -> false));
+        assertEquals(0, limiter.queued());
+
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    void overloadErrorsHalveTheLimitOncePerCooldown() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16, 100, 1000, 60_000);
+        RuntimeException quota = new UncheckedIOException(new ProviderHttpException(429));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RuntimeException.class, () -> limiter.execute(() -> {
+                throw quota;
+            }, ProviderLimiters::isOverload));
+        }
+
+        assertEquals(8, limiter.limit());
+        assertEquals(3, limiter.overloads());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void otherErrorsLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16, 100, 1000, 0);
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("INVALID_ARGUMENT");
+        }, ProviderLimiters::isOverload));
+        // A status-like number in a message is not a status
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("Invoice 429 not found");
+        }, ProviderLimiters::isOverload));
+        assertThrows(UncheckedIOException.class, () -> limiter.execute(() -> {
+            throw new UncheckedIOException(new ProviderHttpException(503));
+        }, ProviderLimiters::isOverload));
+
+        assertEquals(16, limiter.limit());
+    }
+
+    @Test
+    void fullyUsedLimitGrowsWithFastSuccesses() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 100, 1000, 0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(() -> {
+                sleep(5);
+                return null;
+            }, e -> false);
+        }
+
+        assertTrue(limiter.limit() > 1);
+    }
+
+    @Test
+    void latencySpikeReducesTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 100, 1000, 0);
+        for (int i = 0; i < 5; i++) {
+            limiter.execute(() -> {
+                sleep(5);
+                return null;
+            }, e -> false);
+        }
+        int before = limiter.limit();
+
+        limiter.execute(() -> {
+            sleep(100);
+            return null;
+        }, e -> false);
+
+        assertTrue(limiter.limit() < before);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dAdK.dubAI.services.provider;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensOnceTheFailureRateIsReachedOverEnoughCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 60_000);
+
+        // Three failures are below min-calls
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.recordFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 60_000);
+        breaker.recordFailure();
+        for (int i = 0; i < 6; i++) {
+            breaker.recordSuccess();
+        }
+        breaker.recordFailure();
+
+        assertEquals(0.25, breaker.failureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpenAdmitsOneProbeThatDecidesTheState() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 0.5, 20);
+        breaker.recordFailure();
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(30);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        // A failed probe opens the circuit again
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(30);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.failureRate());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void releasingAProbeLetsAnotherOneThrough() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 0.5, 20);
+        breaker.recordFailure();
+        Thread.sleep(30);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        assertTrue(breaker.tryAcquire());
+    }
+}
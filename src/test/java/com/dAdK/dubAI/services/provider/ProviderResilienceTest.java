@@ -0,0 +1,250 @@
+package com.dAdK.dubAI.services.provider;
+
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderResilienceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("provider.resilience.max-attempts", "3")
+            .withProperty("provider.resilience.base-backoff-ms", "5")
+            .withProperty("provider.resilience.max-backoff-ms", "20")
+            .withProperty("provider.resilience.deadline-ms", "5000")
+            .withProperty("provider.resilience.breaker.window-size", "10")
+            .withProperty("provider.resilience.breaker.min-calls", "4")
+            .withProperty("provider.resilience.breaker.failure-rate", "50")
+            .withProperty("provider.resilience.breaker.open-ms", "60000");
+    private ProviderResilience resilience;
+
+    @AfterEach
+    void shutdown() {
+        if (resilience != null) {
+            resilience.shutdown();
+        }
+    }
+
+    private ProviderResilience resilience() {
+        return resilience(ObservationRegistry.NOOP);
+    }
+
+    private ProviderResilience resilience(ObservationRegistry observations) {
+        ProviderLimiters limiters = new ProviderLimiters(registry, true, 8, 1, 64, 100, 10_000, 0.5, 3.0, 0.9, 1000);
+        resilience = new ProviderResilience(limiters, environment, registry, observations);
+        return resilience;
+    }
+
+    @Test
+    void transientFailuresAreRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience().call("gemini", "flash", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw serverError(500);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, registry.get("provider.retries").tag("provider", "gemini").counter().count());
+    }
+
+    @Test
+    void retriesStopAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> resilience().call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            throw serverError(503);
+        }));
+
+        assertEquals(503, ((ProviderHttpException) error.getCause()).statusCode());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void clientErrorsAndShedCallsAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        ProviderResilience resilience = resilience();
+
+        assertThrows(UncheckedIOException.class, () -> resilience.call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            throw new UncheckedIOException(new ProviderHttpException(400));
+        }));
+        // Status-like text in a message is not a status
+        assertThrows(IllegalStateException.class, () -> resilience.call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Voice INTERNAL-500 is UNAVAILABLE in this region");
+        }));
+        assertThrows(ProviderOverloadedException.class, () -> resilience.call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            throw new ProviderOverloadedException("busy");
+        }));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void checkedExceptionsAreRethrownUnwrapped() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        IOException error = assertThrows(IOException.class, () -> resilience().callChecked("openai", "whisper-1", () -> {
+            attempts.incrementAndGet();
+            throw new ProviderHttpException(502);
+        }));
+
+        assertEquals("HTTP 502 from provider", error.getMessage());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void callsOverTheDeadlineFailWithoutWaitingForTheProvider() {
+        environment.setProperty("provider.resilience.wavenet.deadline-ms", "100");
+        long start = System.nanoTime();
+
+        assertThrows(ProviderUnavailableException.class, () -> resilience().call("wavenet", "wavenet", () -> {
+            sleep(5_000);
+            return "late";
+        }));
+
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    }
+
+    @Test
+    void slowCallsAreHedgedAndTheFirstAnswerWins() {
+        environment.setProperty("provider.resilience.gemini.hedge-after-ms", "50");
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience().callHedged("gemini", "flash", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(5_000);
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(1.0, registry.get("provider.hedges").tag("provider", "gemini").counter().count());
+    }
+
+    @Test
+    void onlyHedgedCallsAreHedged() {
+        environment.setProperty("provider.resilience.gemini.hedge-after-ms", "50");
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience().call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            sleep(200);
+            return "once";
+        });
+
+        assertEquals("once", result);
+        assertEquals(1, attempts.get());
+        assertNull(registry.find("provider.hedges").counter());
+    }
+
+    @Test
+    void aHedgeThatFailsAtOnceLeavesThePrimaryRunning() {
+        environment.setProperty("provider.resilience.gemini.hedge-after-ms", "50");
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience().callHedged("gemini", "flash", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(300);
+                return "primary";
+            }
+            throw serverError(429);
+        });
+
+        assertEquals("primary", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, registry.get("provider.hedges").tag("provider", "gemini").counter().count());
+    }
+
+    @Test
+    void anOpenCircuitFailsFastUntilItProbesAgain() {
+        ProviderResilience resilience = resilience();
+        AtomicInteger attempts = new AtomicInteger();
+        environment.setProperty("provider.resilience.gemini.max-attempts", "1");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> resilience.call("gemini", "flash", () -> {
+                attempts.incrementAndGet();
+                throw serverError(500);
+            }));
+        }
+        assertThrows(ProviderUnavailableException.class, () -> resilience.call("gemini", "flash", () -> {
+            attempts.incrementAndGet();
+            return "never";
+        }));
+
+        assertEquals(4, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.breaker("gemini").state());
+        // Breakers are per provider
+        assertEquals("ok", resilience.call("wavenet", "wavenet", () -> "ok"));
+    }
+
+    private static UncheckedIOException serverError(int status) {
+        return new UncheckedIOException(new ProviderHttpException(status));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void eachProviderRequestIsTracedUnderItsCall() {
+        ObservationRegistry observations = ObservationRegistry.create();
+        List<Observation.Context> started = new CopyOnWriteArrayList<>();
+        observations.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStart(Observation.Context context) {
+                started.add(context);
+            }
+        });
+        AtomicInteger attempts = new AtomicInteger();
+
+        resilience(observations).call("gemini", "flash", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw serverError(503);
+            }
+            return "ok";
+        });
+
+        // Requests run on the executor's threads, so their parent is only known if the context followed them there
+        Observation.Context call = started.stream()
+                .filter(context -> context.getName().equals("provider.call")).findFirst().orElseThrow();
+        List<Observation.Context> requests = started.stream()
+                .filter(context -> context.getName().equals("provider.request")).toList();
+        assertEquals(2, requests.size());
+        for (Observation.Context request : requests) {
+            assertSame(call, request.getParentObservation().getContextView());
+            assertEquals("gemini", request.getLowCardinalityKeyValue("provider").getValue());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsBatchRequest;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.dto.TtsVariant;
+import com.dAdK.dubAI.dto.TtsVariantResult;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.InvalidInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeechBatchServiceTest {
+
+    private static class CountingTextToSpeechService implements TextToSpeechService {
+        final AtomicInteger syntheses = new AtomicInteger();
+        final AtomicInteger translations = new AtomicInteger();
+
+        @Override
+        public byte[] generateSpeech(TtsRequest request) {
+            syntheses.incrementAndGet();
+            if (request.voiceType() == VoiceType.PUCK) {
+                return null;
+            }
+            return new byte[]{1, 2, 3};
+        }
+
+        @Override
+        public String translateText(TranslateRequest translateRequest) {
+            translations.incrementAndGet();
+            return translateRequest.text();
+        }
+    }
+
+    private SpeechBatchService newService(TextToSpeechService tts) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AudioCompressionService compressionService = new AudioCompressionService(
+                tts, null, registry, new SynthesisMetrics(registry, ObservationRegistry.NOOP));
+        SpeechBatchService service = new SpeechBatchService(tts, compressionService, Executors.newFixedThreadPool(2));
+        ReflectionTestUtils.setField(service, "maxVariants", 4);
+        ReflectionTestUtils.setField(service, "maxParallel", 2);
+        return service;
+    }
+
+    private static TtsBatchRequest batch(TtsVariant... variants) {
+        return new TtsBatchRequest("Hello", "hi", null, null, null, false, List.of(variants));
+    }
+
+    @Test
+    void generate_translatesOnceAndSynthesizesEachVoiceOnce() {
+        CountingTextToSpeechService tts = new CountingTextToSpeechService();
+
+        List<TtsVariantResult> results = newService(tts).generate(batch(
+                new TtsVariant(VoiceType.KORE, "original", null, null, null),
+                new TtsVariant(VoiceType.KORE, "original", null, null, null),
+                new TtsVariant(VoiceType.AOEDE, "original", null, null, null)));
+
+        assertEquals(1, tts.translations.get());
+        assertEquals(2, tts.syntheses.get());
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(TtsVariantResult::success));
+        assertEquals("wav", results.get(2).audio().getMetadata().getFormat());
+    }
+
+    @Test
+    void generate_failedVoiceDoesNotFailOtherVariants() {
+        List<TtsVariantResult> results = newService(new CountingTextToSpeechService()).generate(batch(
+                new TtsVariant(VoiceType.PUCK, "original", null, null, null),
+                new TtsVariant(VoiceType.KORE, "original", null, null, null)));
+
+        assertFalse(results.get(0).success());
+        assertNull(results.get(0).audio());
+        assertEquals(VoiceType.PUCK, results.get(0).variant().voiceType());
+        assertTrue(results.get(1).success());
+    }
+
+    @Test
+    void generate_rejectsOversizedBatch() {
+        TtsVariant variant = new TtsVariant(VoiceType.KORE, "original", null, null, null);
+        SpeechBatchService service = newService(new CountingTextToSpeechService());
+
+        assertThrows(InvalidInputException.class,
+                () -> service.generate(batch(variant, variant, variant, variant, variant)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.ProviderOverloadedException;
+import com.dAdK.dubAI.util.WavConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeechStreamingServiceTest {
+
+    private static final TtsRequest REQUEST = new TtsRequest(
+            "First sentence here. Second sentence here. Third sentence here.",
+            VoiceType.KORE, null, null, null, null, false, null);
+
+    private static class CountingTextToSpeechService implements TextToSpeechService {
+        final AtomicInteger syntheses = new AtomicInteger();
+
+        @Override
+        public byte[] generateSpeech(TtsRequest request) {
+            syntheses.incrementAndGet();
+            return WavConverter.convertPcmToWav(new byte[480]);
+        }
+
+        @Override
+        public String translateText(TranslateRequest translateRequest) {
+            return translateRequest.text();
+        }
+    }
+
+    /**
+     * Runs the first task inline and holds the rest until {@link #drain()}.
+     */
+    private static class HeldExecutor implements Executor {
+        final List<Runnable> held = new ArrayList<>();
+        boolean first = true;
+
+        @Override
+        public void execute(Runnable task) {
+            if (first) {
+                first = false;
+                task.run();
+            } else {
+                held.add(task);
+            }
+        }
+
+        void drain() {
+            held.forEach(Runnable::run);
+        }
+    }
+
+    private static SpeechStreamingService newService(TextToSpeechService tts, Executor executor) {
+        SpeechStreamingService service = new SpeechStreamingService(tts, executor);
+        ReflectionTestUtils.setField(service, "segmentMaxChars", 25);
+        ReflectionTestUtils.setField(service, "maxParallelSegments", 2);
+        return service;
+    }
+
+    @Test
+    void streamSpeech_skipsQueuedSegmentsOnceTheClientIsGone() {
+        CountingTextToSpeechService tts = new CountingTextToSpeechService();
+        HeldExecutor executor = new HeldExecutor();
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> newService(tts, executor).streamSpeech(REQUEST, disconnected));
+        executor.drain();
+
+        assertEquals(1, executor.held.size());
+        assertEquals(1, tts.syntheses.get());
+    }
+
+    @Test
+    void streamSpeech_saturatedExecutorIsAnOverloadBeforeAnythingIsWritten() {
+        CountingTextToSpeechService tts = new CountingTextToSpeechService();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+
+        assertThrows(ProviderOverloadedException.class, () -> newService(tts, saturated).streamSpeech(REQUEST, out));
+        assertEquals(0, out.size());
+        assertEquals(0, tts.syntheses.get());
+    }
+}
@@ -0,0 +1,53 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.enums.VoiceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SynthesisMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SynthesisMetrics metrics = new SynthesisMetrics(registry, ObservationRegistry.NOOP);
+
+    @Test
+    void timesEachCallByOutcome() throws IOException {
+        SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.ENCODE).format("opus").quality("VOICE_HIGH");
+
+        assertEquals("ok", metrics.time(stage, () -> "ok"));
+        assertThrows(IOException.class, () -> metrics.time(stage, () -> {
+            throw new IOException("ffmpeg exited");
+        }));
+
+        assertEquals(1, registry.get("tts.stage.duration").tag("stage", "encode").tag("quality", "VOICE_HIGH")
+                .tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("tts.stage.duration").tag("stage", "encode").tag("quality", "VOICE_HIGH")
+                .tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void recordsPayloadSizes() {
+        SynthesisMetrics.Stage stage = SynthesisMetrics.Stage.of(SynthesisMetrics.SYNTHESIS)
+                .voice(VoiceType.EN_US_FEMALE).provider("gemini").format("wav");
+
+        metrics.payload(stage, 48_000);
+        metrics.payload(stage, 16_000);
+
+        assertEquals(2, registry.get("tts.stage.payload").tag("voice", "EN_US_FEMALE").tag("provider", "gemini")
+                .summary().count());
+        assertEquals(64_000, registry.get("tts.stage.payload").tag("voice", "EN_US_FEMALE").summary().totalAmount());
+    }
+
+    @Test
+    void tagsAStageDoesNotKnowAsNone() {
+        // Every meter of a name has the same tag keys, as Prometheus requires
+        metrics.payload(SynthesisMetrics.Stage.of(SynthesisMetrics.RESPONSE_WRITE).format("MP3"), 1024);
+
+        assertEquals(1, registry.get("tts.stage.payload").tag("stage", "response-write").tag("voice", "none")
+                .tag("provider", "none").tag("format", "mp3").tag("quality", "none").summary().count());
+    }
+}
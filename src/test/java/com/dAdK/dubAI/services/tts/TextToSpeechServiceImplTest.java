@@ -0,0 +1,93 @@
+package com.dAdK.dubAI.services.tts;
+
+import com.dAdK.dubAI.dto.TranslateRequest;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.tts.cache.TranslationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextToSpeechServiceImplTest {
+
+    /**
+     * Answers translation prompts locally and records each one, so every entry is one LLM call.
+     */
+    private static class CountingTextToSpeechService extends TextToSpeechServiceImpl {
+        final List<String> prompts = new CopyOnWriteArrayList<>();
+        int failuresLeft;
+
+        CountingTextToSpeechService(TranslationCache translationCache) {
+            super(null, translationCache, new SimpleMeterRegistry(),
+                    new SynthesisMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP), null, null);
+            ReflectionTestUtils.setField(this, "GEMINI_TRANSLATION_MODEL", "gemini-test");
+        }
+
+        @Override
+        String callGeminiAPI(String prompt, String modelId) {
+            prompts.add(prompt);
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new TtsProcessingException("Translation failed: 503");
+            }
+            if (prompt.contains("expert translator")) {
+                return "नमस्ते";
+            }
+            return prompt.contains("नमस्ते") ? "namaste" : "namaste (translated)";
+        }
+    }
+
+    private static CountingTextToSpeechService newService() {
+        return new CountingTextToSpeechService(new TranslationCache(true, 100, 60, new SimpleMeterRegistry()));
+    }
+
+    private static TranslateRequest preview(String translatedText) {
+        return new TranslateRequest("Hello", "hi", "", translatedText, true);
+    }
+
+    private static TranslateRequest synthesis(String translatedText) {
+        return new TranslateRequest("Hello", "hi", "", translatedText, false);
+    }
+
+    @Test
+    void translateText_romanizesACachedPreviewAndReusesItForRepeats() {
+        CountingTextToSpeechService service = newService();
+
+        assertEquals("नमस्ते", service.translateText(preview("")));
+        assertEquals("namaste", service.translateText(synthesis("")));
+        assertEquals("namaste", service.translateText(synthesis("")));
+        // A client sending the preview back as translatedText shares the romanization
+        assertEquals("namaste", service.translateText(synthesis("नमस्ते")));
+
+        assertEquals(2, service.prompts.size());
+        assertTrue(service.prompts.get(1).contains("Roman (English) alphabet"), service.prompts.get(1));
+        assertTrue(service.prompts.get(1).contains("नमस्ते"), service.prompts.get(1));
+    }
+
+    @Test
+    void translateText_translatesOnceWithoutAPreview() {
+        CountingTextToSpeechService service = newService();
+
+        assertEquals("namaste (translated)", service.translateText(synthesis("")));
+        assertEquals("namaste (translated)", service.translateText(synthesis("")));
+
+        assertEquals(1, service.prompts.size());
+    }
+
+    @Test
+    void translateText_doesNotCacheFailures() {
+        CountingTextToSpeechService service = newService();
+        service.failuresLeft = 1;
+
+        assertThrows(TtsProcessingException.class, () -> service.translateText(synthesis("")));
+        assertEquals("namaste (translated)", service.translateText(synthesis("")));
+        assertEquals("namaste (translated)", service.translateText(synthesis("")));
+
+        assertEquals(2, service.prompts.size());
+    }
+}
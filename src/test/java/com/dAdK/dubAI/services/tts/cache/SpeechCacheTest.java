@@ -0,0 +1,101 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeechCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private SpeechCache newCache(long memoryBytes, long diskBytes, SimpleMeterRegistry registry) {
+        return new SpeechCache(true, memoryBytes, true, cacheDir.toString(), diskBytes, registry);
+    }
+
+    @Test
+    void keyFor_normalizesWhitespaceAndLanguageCase() {
+        TtsRequest a = new TtsRequest("Hello world", VoiceType.KORE, "hi", null, "calm", null, false, null);
+        TtsRequest b = new TtsRequest("  Hello world ", VoiceType.KORE, "HI", "", "calm ", "", true, true);
+
+        assertEquals(SpeechCache.keyFor(a, "model"), SpeechCache.keyFor(b, "model"));
+    }
+
+    @Test
+    void keyFor_differsByVoiceAndModel() {
+        TtsRequest kore = new TtsRequest("Hello", VoiceType.KORE, "en", null, null, null, false, null);
+        TtsRequest puck = new TtsRequest("Hello", VoiceType.PUCK, "en", null, null, null, false, null);
+
+        assertNotEquals(SpeechCache.keyFor(kore, "model"), SpeechCache.keyFor(puck, "model"));
+        assertNotEquals(SpeechCache.keyFor(kore, "model-a"), SpeechCache.keyFor(kore, "model-b"));
+    }
+
+    @Test
+    void get_countsMemoryHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpeechCache cache = newCache(1024, 4096, registry);
+
+        assertNull(cache.get("a"));
+        cache.put("a", new byte[]{1, 2, 3});
+        assertArrayEquals(new byte[]{1, 2, 3}, cache.get("a"));
+
+        assertEquals(1.0, registry.get("tts.cache.misses").counter().count());
+        assertEquals(1.0, registry.get("tts.cache.hits").tag("tier", "memory").counter().count());
+    }
+
+    @Test
+    void get_fallsBackToDiskAfterMemoryEviction() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpeechCache cache = newCache(10, 4096, registry);
+
+        cache.put("a", new byte[8]);
+        cache.put("b", new byte[8]);
+
+        assertNotNull(cache.get("a"));
+        assertEquals(1.0, registry.get("tts.cache.hits").tag("tier", "disk").counter().count());
+        assertTrue(registry.get("tts.cache.evictions").tag("tier", "memory").counter().count() >= 1.0);
+    }
+
+    @Test
+    void diskTier_survivesRestart() {
+        newCache(1024, 4096, new SimpleMeterRegistry()).put("a", new byte[]{7});
+
+        SpeechCache reopened = newCache(1024, 4096, new SimpleMeterRegistry());
+
+        assertArrayEquals(new byte[]{7}, reopened.get("a"));
+    }
+
+    @Test
+    void diskTier_evictsLeastRecentlyUsed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpeechCache cache = newCache(1, 16, registry);
+
+        cache.put("a", new byte[8]);
+        cache.put("b", new byte[8]);
+        cache.put("c", new byte[8]);
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1.0, registry.get("tts.cache.evictions").tag("tier", "disk").counter().count());
+    }
+
+    @Test
+    void diskTier_readRefreshesRecency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpeechCache cache = newCache(1, 16, registry);
+
+        cache.put("a", new byte[8]);
+        cache.put("b", new byte[8]);
+        assertNotNull(cache.get("a"));
+        cache.put("c", new byte[8]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+}
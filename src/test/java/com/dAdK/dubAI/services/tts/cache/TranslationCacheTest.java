@@ -0,0 +1,75 @@
+package com.dAdK.dubAI.services.tts.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslationCacheTest {
+
+    @Test
+    void keyFor_normalizesWhitespaceAndLanguageCase() {
+        assertEquals(TranslationCache.keyFor("PREVIEW_TRANSLATE", "hi", "Hello world", "", "model"),
+                TranslationCache.keyFor("PREVIEW_TRANSLATE", "HI", "  Hello world ", null, "model"));
+    }
+
+    @Test
+    void keyFor_differsByPromptCaseAndModel() {
+        String key = TranslationCache.keyFor("PREVIEW_TRANSLATE", "hi", "Hello", "", "model-a");
+
+        assertNotEquals(key, TranslationCache.keyFor("TRANSLATE_AND_ROMANIZE", "hi", "Hello", "", "model-a"));
+        assertNotEquals(key, TranslationCache.keyFor("PREVIEW_TRANSLATE", "hi", "Hello", "", "model-b"));
+    }
+
+    @Test
+    void get_returnsTranslationUntilItExpires() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TranslationCache cache = new TranslationCache(true, 10, 1, registry);
+
+        cache.put("a", "namaste");
+        assertEquals("namaste", cache.get("a"));
+
+        Thread.sleep(1_100);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, registry.get("tts.translation.cache.hits").counter().count());
+        assertEquals(1.0, registry.get("tts.translation.cache.evictions").counter().count());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedBeyondMaxEntries() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TranslationCache cache = new TranslationCache(true, 2, 60, registry);
+
+        cache.put("a", "one");
+        cache.put("b", "two");
+        cache.get("a");
+        cache.put("c", "three");
+
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("three", cache.get("c"));
+        assertEquals(1.0, registry.get("tts.translation.cache.evictions").counter().count());
+    }
+
+    @Test
+    void put_ignoresMissingTranslations() {
+        TranslationCache cache = new TranslationCache(true, 10, 60, new SimpleMeterRegistry());
+
+        cache.put("a", null);
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        TranslationCache cache = new TranslationCache(false, 10, 60, new SimpleMeterRegistry());
+
+        cache.put("a", "namaste");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.dAdK.dubAI.services.tts.encoding;
+
+import com.dAdK.dubAI.util.WavConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the encoder against stand-in "ffmpeg" scripts, and against the real one where it is installed.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class StreamingAudioEncoderTest {
+
+    @TempDir
+    Path dir;
+
+    private StreamingAudioEncoder encoder;
+
+    private StreamingAudioEncoder encoder(String script, int maxConcurrent) throws IOException {
+        Path ffmpeg = dir.resolve("ffmpeg");
+        Files.writeString(ffmpeg, "#!/bin/sh\n" + script + "\n");
+        assertTrue(ffmpeg.toFile().setExecutable(true));
+        encoder = new StreamingAudioEncoder(true, ffmpeg.toString(), maxConcurrent, 1, false);
+        return encoder;
+    }
+
+    /**
+     * Never writes or exits.
+     */
+    private StreamingAudioEncoder hangingEncoder(int maxConcurrent) throws IOException {
+        return encoder("exec sleep 30", maxConcurrent);
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encode_failsAtTheTimeoutWhenFfmpegHangs() throws IOException {
+        StreamingAudioEncoder hanging = hangingEncoder(1);
+
+        long start = System.nanoTime();
+        IOException e = assertThrows(IOException.class, () -> hanging.encodeToOpus(new byte[1024], "wav", 64000));
+        long seconds = (System.nanoTime() - start) / 1_000_000_000;
+
+        assertTrue(e.getMessage().contains("did not finish"), e.getMessage());
+        assertTrue(seconds < 10, "took " + seconds + "s");
+    }
+
+    @Test
+    void encode_releasesItsSlotAfterATimeout() throws IOException {
+        StreamingAudioEncoder hanging = hangingEncoder(1);
+
+        assertThrows(IOException.class, () -> hanging.encodeToOpus(new byte[16], "wav", 64000));
+        IOException second = assertThrows(IOException.class, () -> hanging.encodeToMp3(new byte[16], "wav", 64000));
+
+        assertTrue(second.getMessage().contains("did not finish"), second.getMessage());
+    }
+
+    @Test
+    void decode_failsAtTheTimeoutWhenFfmpegHangs() throws IOException {
+        StreamingAudioEncoder hanging = hangingEncoder(1);
+
+        IOException e = assertThrows(IOException.class,
+                () -> hanging.decodeToPcm(dir.resolve("in.m4a"), 16000, pcm -> pcm.readAllBytes()));
+
+        assertTrue(e.getMessage().contains("did not finish"), e.getMessage());
+    }
+
+    @Test
+    void decode_releasesItsSlotBeforeTheConsumerRuns() throws IOException {
+        StreamingAudioEncoder decoder = encoder("printf pcm", 1);
+        Path input = dir.resolve("in.m4a");
+
+        // With one slot, the nested decode only gets one if the outer decode has given its slot back
+        String decoded = decoder.decodeToPcm(input, 16000, outer -> new String(outer.readAllBytes())
+                + decoder.decodeToPcm(input, 16000, inner -> new String(inner.readAllBytes())));
+
+        assertEquals("pcmpcm", decoded);
+    }
+
+    @Test
+    void encodePcmToOpus_writesOggWithARealFfmpeg() throws IOException {
+        encoder = new StreamingAudioEncoder(true, System.getProperty("audio.encoder.ffmpeg-path", ""), 1, 60, false);
+        assumeTrue(encoder.isAvailable(), "ffmpeg executable not available");
+        byte[] wav = WavConverter.convertPcmToWav(new byte[48_000]);
+        WavConverter.PcmData pcm = WavConverter.pcmData(wav);
+
+        byte[] opus = encoder.encodePcmToOpus(wav, pcm.offset(), pcm.length(), pcm.format(), 64_000);
+
+        assertEquals("OggS", new String(opus, 0, 4, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,200 @@
+package com.dAdK.dubAI.services.tts.routing;
+
+import com.dAdK.dubAI.dto.TtsRequest;
+import com.dAdK.dubAI.enums.VoiceType;
+import com.dAdK.dubAI.exceptions.ProviderUnavailableException;
+import com.dAdK.dubAI.exceptions.TtsProcessingException;
+import com.dAdK.dubAI.services.provider.ProviderHttpException;
+import com.dAdK.dubAI.services.provider.ProviderLimiters;
+import com.dAdK.dubAI.services.provider.ProviderResilience;
+import com.dAdK.dubAI.services.tts.SynthesisMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtsRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("provider.resilience.breaker.min-calls", "2")
+            .withProperty("tts.routing.fallback.female", "EN_US_FEMALE,JA_JP_FEMALE");
+    private final FakeProvider gemini = new FakeProvider("gemini", false, "wav");
+    private final FakeProvider wavenet = new FakeProvider("wavenet", true, "wav", "mp3");
+    private ProviderResilience resilience;
+
+    @AfterEach
+    void shutdown() {
+        resilience.shutdown();
+    }
+
+    private TtsRouter router(long maxLatencyMillis) {
+        ProviderLimiters limiters = new ProviderLimiters(registry, true, 8, 1, 64, 100, 10_000, 0.5, 3.0, 0.9, 1000);
+        resilience = new ProviderResilience(limiters, environment, registry, ObservationRegistry.NOOP);
+        return new TtsRouter(List.of(gemini, wavenet), resilience, environment, registry,
+                new SynthesisMetrics(registry, ObservationRegistry.NOOP),
+                true, 0.5, maxLatencyMillis, 60_000);
+    }
+
+    private static TtsRequest request(VoiceType voiceType, String language) {
+        return new TtsRequest("Hello there", voiceType, language, "", "", "", false, false);
+    }
+
+    @Test
+    void aHealthyVoiceIsServedByItsOwnProvider() {
+        TtsRouter.Result result = router(20_000).synthesize(request(VoiceType.KORE, "en-US"), "Hello there", "wav");
+
+        assertEquals("gemini", result.provider());
+        assertEquals(VoiceType.KORE, result.voiceType());
+        assertFalse(result.fallback());
+        assertEquals(0, wavenet.calls.get());
+    }
+
+    @Test
+    void aFailedCallFailsOverToAFallbackVoiceOnAnotherProvider() {
+        gemini.behavior = () -> {
+            throw new TtsProcessingException("Gemini TTS service internal error", new ProviderHttpException(500));
+        };
+
+        TtsRouter.Result result = router(20_000).synthesize(request(VoiceType.KORE, "en-in"), "Hello there", "wav");
+
+        assertEquals("wavenet", result.provider());
+        assertEquals(VoiceType.EN_US_FEMALE, result.voiceType());
+        assertTrue(result.fallback());
+        assertEquals("wav", wavenet.lastFormat);
+        assertEquals(1.0, registry.get("tts.routing.requests").tag("route", "fallback").counter().count());
+    }
+
+    @Test
+    void aSlowProviderIsRoutedAroundWithoutBeingCalled() {
+        TtsRouter router = router(10);
+        gemini.behavior = () -> {
+            sleep(20);
+            return new byte[]{1};
+        };
+        for (int i = 0; i < ProviderHealth.MIN_SAMPLES; i++) {
+            assertEquals("gemini", router.synthesize(request(VoiceType.KORE, ""), "Hello", "wav").provider());
+        }
+
+        TtsRouter.Result result = router.synthesize(request(VoiceType.KORE, ""), "Hello", "wav");
+
+        assertEquals("wavenet", result.provider());
+        assertEquals(ProviderHealth.MIN_SAMPLES, gemini.calls.get());
+    }
+
+    @Test
+    void anOpenCircuitIsSkipped() {
+        TtsRouter router = router(20_000);
+        resilience.breaker("gemini").recordFailure();
+        resilience.breaker("gemini").recordFailure();
+
+        TtsRouter.Result result = router.synthesize(request(VoiceType.KORE, "en"), "Hello", "wav");
+
+        assertEquals("wavenet", result.provider());
+        assertEquals(0, gemini.calls.get());
+    }
+
+    @Test
+    void fallbackVoicesMustSpeakTheRequestedLanguage() {
+        gemini.behavior = () -> {
+            throw new TtsProcessingException("Gemini TTS service internal error", new ProviderHttpException(500));
+        };
+
+        TtsRouter router = router(20_000);
+        assertEquals(VoiceType.JA_JP_FEMALE, router.synthesize(request(VoiceType.KORE, "ja"), "Konnichiwa", "wav").voiceType());
+        TtsProcessingException error = assertThrows(TtsProcessingException.class,
+                () -> router.synthesize(request(VoiceType.KORE, "hi"), "Namaste", "wav"));
+        assertEquals("Gemini TTS service internal error", error.getMessage());
+    }
+
+    @Test
+    void waveNetVoicesHaveNoFallbackTheyCouldBeServedIn() {
+        wavenet.behavior = () -> {
+            throw new ProviderUnavailableException("wavenet is failing, calls are paused (circuit open)");
+        };
+
+        assertThrows(ProviderUnavailableException.class,
+                () -> router(20_000).synthesize(request(VoiceType.EN_US_MALE, "en-US"), "Hello", "mp3"));
+        assertEquals(0, gemini.calls.get());
+    }
+
+    @Test
+    void refusedRequestsAreNotFailedOverOrHeldAgainstTheProvider() {
+        gemini.behavior = () -> {
+            throw new TtsProcessingException("Invalid request to Gemini TTS", new ProviderHttpException(400));
+        };
+        TtsRouter router = router(20_000);
+
+        TtsProcessingException error = assertThrows(TtsProcessingException.class,
+                () -> router.synthesize(request(VoiceType.KORE, "en-US"), "Hello", "wav"));
+
+        assertEquals("Invalid request to Gemini TTS", error.getMessage());
+        assertEquals(0, wavenet.calls.get());
+        assertEquals(0.0, registry.get("tts.provider.error-rate").tag("provider", "gemini").gauge().value());
+    }
+
+    private static final class FakeProvider implements TtsProvider {
+        private final String name;
+        private final boolean waveNet;
+        private final List<String> formats;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Supplier<byte[]> behavior = () -> new byte[]{1, 2, 3};
+        private volatile String lastFormat;
+
+        FakeProvider(String name, boolean waveNet, String... formats) {
+            this.name = name;
+            this.waveNet = waveNet;
+            this.formats = List.of(formats);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String model() {
+            return name;
+        }
+
+        @Override
+        public boolean supports(VoiceType voiceType) {
+            return WaveNetTtsProvider.isWaveNetVoice(voiceType) == waveNet;
+        }
+
+        @Override
+        public boolean speaks(VoiceType voiceType, String language) {
+            if (!waveNet || language == null || language.isBlank()) {
+                return supports(voiceType);
+            }
+            return supports(voiceType) && voiceType.getVoiceIdentifier().substring(0, 2).equalsIgnoreCase(language.substring(0, 2));
+        }
+
+        @Override
+        public boolean produces(String format) {
+            return formats.contains(format);
+        }
+
+        @Override
+        public byte[] synthesize(TtsRequest request, String text, String format) {
+            calls.incrementAndGet();
+            lastFormat = format;
+            return behavior.get();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dAdK.dubAI.util;
+
+import com.dAdK.dubAI.models.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final JwtService jwtService = new JwtService(SECRET, 3600, 100);
+    private final User user = User.builder().id("user-1").username("alice").build();
+
+    @Test
+    void verify_returnsClaimsOfGeneratedToken() {
+        JwtService.VerifiedToken verified = jwtService.verify(jwtService.generateToken(user));
+
+        assertNotNull(verified);
+        assertEquals("user-1", verified.userId());
+        assertEquals("alice", verified.username());
+        assertFalse(verified.isExpired(System.currentTimeMillis()));
+    }
+
+    @Test
+    void verify_cachesVerifiedToken() {
+        String token = jwtService.generateToken(user);
+
+        assertSame(jwtService.verify(token), jwtService.verify(token));
+    }
+
+    @Test
+    void verify_rejectsForgedMalformedAndExpiredTokens() {
+        String forged = new JwtService("ffffffffffffffffffffffffffffffff", 3600, 100).generateToken(user);
+        String expired = Jwts.builder()
+                .setSubject("user-1")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertNull(jwtService.verify(forged));
+        assertNull(jwtService.verify("not-a-token"));
+        assertNull(jwtService.verify(expired));
+    }
+}
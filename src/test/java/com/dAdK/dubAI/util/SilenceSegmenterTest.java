@@ -0,0 +1,74 @@
+package com.dAdK.dubAI.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SilenceSegmenterTest {
+
+    private static final int SAMPLE_RATE = 1000;
+
+    private static byte[] tone(int millis) {
+        byte[] pcm = new byte[SAMPLE_RATE * millis / 1000 * 2];
+        for (int i = 0; i < pcm.length; i += 2) {
+            short sample = (short) ((i / 2) % 2 == 0 ? 10_000 : -10_000);
+            pcm[i] = (byte) sample;
+            pcm[i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    private static byte[] silence(int millis) {
+        return new byte[SAMPLE_RATE * millis / 1000 * 2];
+    }
+
+    private static InputStream concat(byte[]... parts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Test
+    void next_cutsAtFirstSilenceAfterTargetLength() throws IOException {
+        SilenceSegmenter segmenter = new SilenceSegmenter(SAMPLE_RATE, 1000, 5000, 100, 500);
+        InputStream pcm = concat(tone(600), silence(200), tone(800), silence(200), tone(400));
+
+        SilenceSegmenter.Chunk first = segmenter.next(pcm);
+        SilenceSegmenter.Chunk second = segmenter.next(pcm);
+
+        assertEquals(0.0, first.startSeconds());
+        // 1.6 s of audio passes the target, then the cut lands 100 ms into the second silence
+        assertEquals(1.7, first.endSeconds(), 0.001);
+        assertEquals(1.7, second.startSeconds(), 0.001);
+        assertEquals(2.2, second.endSeconds(), 0.001);
+        assertNull(segmenter.next(pcm));
+    }
+
+    @Test
+    void next_cutsHardAtMaxLengthWithoutSilence() throws IOException {
+        SilenceSegmenter segmenter = new SilenceSegmenter(SAMPLE_RATE, 1000, 2000, 100, 500);
+        InputStream pcm = concat(tone(5000));
+
+        SilenceSegmenter.Chunk chunk;
+        int chunks = 0;
+        while ((chunk = segmenter.next(pcm)) != null) {
+            assertTrue(chunk.endSeconds() - chunk.startSeconds() <= 2.0);
+            chunks++;
+        }
+        assertEquals(3, chunks);
+    }
+
+    @Test
+    void next_emptyStreamYieldsNoChunks() throws IOException {
+        SilenceSegmenter segmenter = new SilenceSegmenter(SAMPLE_RATE, 1000, 2000, 100, 500);
+
+        assertNull(segmenter.next(new ByteArrayInputStream(new byte[0])));
+    }
+}
@@ -0,0 +1,88 @@
+package com.dAdK.dubAI.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String> singleFlight = new SingleFlight<>("test", registry);
+
+    private double calls(String role) {
+        return registry.get("tts.singleflight.calls").tag("role", role).counter().count();
+    }
+
+    @Test
+    void execute_concurrentIdenticalCallsRunOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "audio";
+                })));
+            }
+
+            // Let every caller reach the in-flight call before it completes
+            while (calls("leader") + calls("collapsed") < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("audio", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(callers - 1, calls("collapsed"));
+    }
+
+    @Test
+    void execute_completedCallIsNotReused() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("key", () -> "first " + executions.incrementAndGet());
+        String second = singleFlight.execute("key", () -> "second " + executions.incrementAndGet());
+
+        assertEquals("second 2", second);
+        assertEquals(0, calls("collapsed"));
+    }
+
+    @Test
+    void execute_leaderExceptionPropagatesToCaller() {
+        IllegalStateException failure = new IllegalStateException("provider down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.dAdK.dubAI.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSegmenterTest {
+
+    @Test
+    void splitIntoSegments_mergesShortSentences() {
+        List<String> segments = TextSegmenter.splitIntoSegments("One. Two. Three.", 100);
+
+        assertEquals(List.of("One. Two. Three."), segments);
+    }
+
+    @Test
+    void splitIntoSegments_breaksAtSentenceBoundaries() {
+        List<String> segments = TextSegmenter.splitIntoSegments("First sentence here. Second sentence here.", 25);
+
+        assertEquals(List.of("First sentence here.", "Second sentence here."), segments);
+    }
+
+    @Test
+    void splitIntoSegments_splitsOverlongSentenceAtWhitespace() {
+        List<String> segments = TextSegmenter.splitIntoSegments("alpha beta gamma delta epsilon", 12);
+
+        assertEquals(List.of("alpha beta", "gamma delta", "epsilon"), segments);
+        segments.forEach(segment -> assertTrue(segment.length() <= 12));
+    }
+
+    @Test
+    void splitIntoSegments_blankTextYieldsNoSegments() {
+        assertTrue(TextSegmenter.splitIntoSegments("   ", 100).isEmpty());
+        assertTrue(TextSegmenter.splitIntoSegments(null, 100).isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package com.dAdK.dubAI.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavBodyTest {
+
+    private static byte[] pcm(int bytes) {
+        byte[] pcm = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            pcm[i] = (byte) (i * 31);
+        }
+        return pcm;
+    }
+
+    @Test
+    void matchesWhatJavaSoundWrites() throws Exception {
+        byte[] pcm = pcm(4800);
+        AudioFormat format = new AudioFormat(24000, 16, 1, true, false);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, pcm.length / 2),
+                AudioFileFormat.Type.WAVE, expected);
+
+        assertArrayEquals(expected.toByteArray(), WavBody.of(pcm, PcmFormat.GEMINI).toByteArray());
+    }
+
+    @Test
+    void describesAnyPcmLayout() throws Exception {
+        byte[] pcm = pcm(44100 * 6);
+        WavBody body = WavBody.of(pcm, new PcmFormat(44100, 24, 2));
+
+        try (AudioInputStream wav = AudioSystem.getAudioInputStream(new BufferedInputStream(body.inputStream()))) {
+            AudioFormat format = wav.getFormat();
+            assertEquals(44100, format.getSampleRate());
+            assertEquals(24, format.getSampleSizeInBits());
+            assertEquals(2, format.getChannels());
+            assertEquals(44100, wav.getFrameLength());
+            assertArrayEquals(pcm, wav.readAllBytes());
+        }
+    }
+
+    @Test
+    void referencesThePcmInsteadOfCopyingIt() throws IOException {
+        byte[] pcm = pcm(1000);
+        WavBody body = WavBody.of(pcm, 100, 800, PcmFormat.GEMINI);
+        pcm[100] = 42;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        assertEquals(844, body.contentLength());
+        assertEquals(844, out.size());
+        assertEquals(42, out.toByteArray()[WavBody.HEADER_BYTES]);
+    }
+
+    @Test
+    void gatheringWriteMatchesStreamWrite(@TempDir Path dir) throws IOException {
+        WavBody body = WavBody.of(pcm(48000), PcmFormat.GEMINI);
+        Path file = dir.resolve("speech.wav");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            body.writeTo(channel);
+        }
+
+        assertArrayEquals(body.toByteArray(), Files.readAllBytes(file));
+    }
+
+    @Test
+    void dropsATrailingPartialFrame() {
+        WavBody body = WavBody.of(pcm(1001), PcmFormat.GEMINI);
+
+        assertEquals(WavBody.HEADER_BYTES + 1000, body.contentLength());
+        assertEquals(WavBody.HEADER_BYTES + 1000, body.toByteArray().length);
+    }
+
+    @Test
+    void streamingHeaderIsOpenEnded() {
+        byte[] header = WavBody.streamingHeader(PcmFormat.GEMINI);
+
+        assertEquals(WavBody.HEADER_BYTES, header.length);
+        assertEquals(WavBody.HEADER_BYTES, WavConverter.findPcmDataOffset(header));
+        for (int i = 4; i < 8; i++) {
+            assertEquals((byte) 0xFF, header[i]);
+        }
+    }
+}
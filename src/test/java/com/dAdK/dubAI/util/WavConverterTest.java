@@ -0,0 +1,66 @@
+package com.dAdK.dubAI.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavConverterTest {
+
+    @Test
+    void locatesThePcmOfAGeminiWav() {
+        byte[] wav = WavConverter.convertPcmToWav(new byte[4800]);
+
+        WavConverter.PcmData pcm = WavConverter.pcmData(wav);
+
+        assertEquals(PcmFormat.GEMINI, pcm.format());
+        assertEquals(44, pcm.offset());
+        assertEquals(4800, pcm.length());
+    }
+
+    @Test
+    void skipsChunksBeforeTheSamples() {
+        ByteArrayOutputStream wav = new ByteArrayOutputStream();
+        wav.writeBytes(ascii("RIFF"));
+        wav.writeBytes(le(0));
+        wav.writeBytes(ascii("WAVE"));
+        wav.writeBytes(ascii("fmt "));
+        wav.writeBytes(le(16));
+        wav.writeBytes(ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putShort((short) 1).putShort((short) 2).putInt(48000).putInt(192000)
+                .putShort((short) 4).putShort((short) 16).array());
+        wav.writeBytes(ascii("LIST"));
+        wav.writeBytes(le(5));
+        wav.writeBytes(new byte[6]); // odd chunk, padded
+        wav.writeBytes(ascii("data"));
+        wav.writeBytes(le(-1)); // streamed: size unknown
+        wav.writeBytes(new byte[402]);
+
+        WavConverter.PcmData pcm = WavConverter.pcmData(wav.toByteArray());
+
+        assertEquals(new PcmFormat(48000, 16, 2), pcm.format());
+        assertEquals(58, pcm.offset());
+        assertEquals(400, pcm.length());
+    }
+
+    @Test
+    void rejectsWhatIsNotPlainPcm() {
+        byte[] wav = WavConverter.convertPcmToWav(new byte[100]);
+        wav[20] = 3; // IEEE float
+
+        assertNull(WavConverter.pcmData(wav));
+        assertNull(WavConverter.pcmData("ID3 this is an mp3".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] le(int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+}